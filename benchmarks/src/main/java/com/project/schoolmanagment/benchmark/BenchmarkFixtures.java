@@ -0,0 +1,142 @@
+package com.project.schoolmanagment.benchmark;
+
+import com.project.schoolmanagment.entity.concretes.business.EducationTerm;
+import com.project.schoolmanagment.entity.concretes.business.Lesson;
+import com.project.schoolmanagment.entity.concretes.business.LessonProgram;
+import com.project.schoolmanagment.entity.concretes.business.Meet;
+import com.project.schoolmanagment.entity.concretes.business.StudentInfo;
+import com.project.schoolmanagment.entity.concretes.user.User;
+import com.project.schoolmanagment.entity.enums.Day;
+import com.project.schoolmanagment.entity.enums.Gender;
+import com.project.schoolmanagment.entity.enums.Note;
+import com.project.schoolmanagment.entity.enums.Term;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Deterministic in-memory objects shaped like the ones loaded from DB.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static void setField(Object target, String name, Object value){
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e){
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static EducationTerm educationTerm(){
+        return EducationTerm.builder()
+                .id(1L)
+                .term(Term.FALL_SEMESTER)
+                .startDate(LocalDate.of(2024, 9, 16))
+                .endDate(LocalDate.of(2025, 1, 24))
+                .lastRegistrationDate(LocalDate.of(2024, 9, 6))
+                .build();
+    }
+
+    static Lesson lesson(long id){
+        return Lesson.builder()
+                .lessonId(id)
+                .lessonName("Lesson " + id)
+                .creditScore(3 + (int) (id % 4))
+                .isCompulsory(id % 2 == 0)
+                .build();
+    }
+
+    /**
+     * non overlapping programs spread over the week. checkDuplicateLessonProgram compares the times
+     * of a program with the programs of every day seen so far, so every program gets its own time
+     */
+    static Set<LessonProgram> lessonPrograms(int count){
+        Set<LessonProgram> lessonPrograms = new LinkedHashSet<>();
+        Day[] days = Day.values();
+        EducationTerm educationTerm = educationTerm();
+        for (int i = 0; i < count; i++) {
+            LocalTime start = LocalTime.of(7, 0).plusMinutes(9L * i);
+            lessonPrograms.add(LessonProgram.builder()
+                    .id((long) i)
+                    .day(days[i % days.length])
+                    .startTime(start)
+                    .stopTime(start.plusMinutes(8))
+                    .lessons(Collections.singleton(lesson(i % 20)))
+                    .educationTerm(educationTerm)
+                    .build());
+        }
+        return lessonPrograms;
+    }
+
+    /**
+     * meetings one per day, none of them on the checked date
+     */
+    static List<Meet> meetings(int count){
+        List<Meet> meets = new ArrayList<>(count);
+        LocalDate date = LocalDate.of(2024, 10, 1);
+        for (int i = 0; i < count; i++) {
+            meets.add(Meet.builder()
+                    .id((long) i)
+                    .description("Meeting " + i)
+                    .date(date.plusDays(i + 1))
+                    .startTime(LocalTime.of(10, 0))
+                    .stopTime(LocalTime.of(11, 0))
+                    .build());
+        }
+        return meets;
+    }
+
+    static User student(long id, Set<LessonProgram> lessonPrograms){
+        return User.builder()
+                .id(id)
+                .username("student" + id)
+                .ssn(String.format("%03d-%02d-%04d", id % 1000, id % 100, id % 10000))
+                .name("Name" + id)
+                .surname("Surname" + id)
+                .birthDay(LocalDate.of(2005, 1, 1).plusDays(id))
+                .birthPlace("Istanbul")
+                .phoneNumber(String.format("555-%03d-%04d", id % 1000, id % 10000))
+                .email("student" + id + "@school.com")
+                .motherName("Mother" + id)
+                .fatherName("Father" + id)
+                .studentNumber(1000 + (int) id)
+                .isActive(true)
+                .gender(id % 2 == 0 ? Gender.FEMALE : Gender.MALE)
+                .lessonProgramList(lessonPrograms)
+                .build();
+    }
+
+    static StudentInfo studentInfo(long id, User student){
+        return StudentInfo.builder()
+                .id(id)
+                .absentee(2)
+                .midtermExam(72.0)
+                .finalExam(84.0)
+                .examAverage(79.2)
+                .infoNote("benchmark")
+                .letterGrade(Note.BA)
+                .student(student)
+                .lesson(lesson(id))
+                .educationTerm(educationTerm())
+                .build();
+    }
+
+    /**
+     * exam scores spread over [0, 100]
+     */
+    static double[] scores(int count, long seed){
+        Random random = new Random(seed);
+        double[] scores = new double[count];
+        for (int i = 0; i < count; i++) {
+            scores[i] = Math.round(random.nextDouble() * 1000) / 10.0;
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,46 @@
+package com.project.schoolmanagment.benchmark;
+
+import com.project.schoolmanagment.entity.concretes.business.LessonProgram;
+import com.project.schoolmanagment.entity.concretes.business.Meet;
+import com.project.schoolmanagment.service.validator.DateTimeValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lesson program and meeting conflict checks, inputs never conflict so every check runs to the end.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DateTimeValidatorBenchmark {
+
+    //programs of a student or teacher
+    @Param({"10", "50", "90"})
+    private int size;
+
+    private final DateTimeValidator dateTimeValidator = new DateTimeValidator();
+    private Set<LessonProgram> lessonPrograms;
+    private List<Meet> meets;
+
+    @Setup
+    public void setUp(){
+        lessonPrograms = BenchmarkFixtures.lessonPrograms(size);
+        meets = BenchmarkFixtures.meetings(size);
+    }
+
+    @Benchmark
+    public void checkDuplicateLessonProgram(){
+        dateTimeValidator.checkDuplicateLessonProgram(lessonPrograms);
+    }
+
+    @Benchmark
+    public void checkMeetingConflicts(){
+        dateTimeValidator.checkMeetingConflicts(meets, LocalDate.of(2024, 10, 1),
+                LocalTime.of(10, 0), LocalTime.of(11, 0));
+    }
+}
@@ -0,0 +1,85 @@
+package com.project.schoolmanagment.benchmark;
+
+import com.project.schoolmanagment.entity.enums.Note;
+import com.project.schoolmanagment.service.helper.GradeCalculator;
+import com.project.schoolmanagment.service.helper.GradeTable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 100k grade evaluations per invocation, results are reported per evaluation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GradeBenchmark {
+
+    private static final int EVALUATIONS = 100_000;
+
+    private final GradeCalculator gradeCalculator = new GradeCalculator();
+    private GradeTable fullTable;
+    private double[] midtermExams;
+    private double[] finalExams;
+    private double[] averages;
+
+    @Setup
+    public void setUp(){
+        midtermExams = BenchmarkFixtures.scores(EVALUATIONS, 1);
+        finalExams = BenchmarkFixtures.scores(EVALUATIONS, 2);
+        averages = BenchmarkFixtures.scores(EVALUATIONS, 3);
+        //a scheme using every note
+        Map<Note, Double> lowerBounds = new EnumMap<>(Note.class);
+        lowerBounds.put(Note.AA, 90.0);
+        lowerBounds.put(Note.BA, 85.0);
+        lowerBounds.put(Note.BB, 80.0);
+        lowerBounds.put(Note.CB, 75.0);
+        lowerBounds.put(Note.CC, 70.0);
+        lowerBounds.put(Note.DC, 65.0);
+        lowerBounds.put(Note.DD, 60.0);
+        lowerBounds.put(Note.DZ, 50.0);
+        fullTable = new GradeTable(lowerBounds);
+    }
+
+    //average and letter grade as StudentInfoService computes them on save
+    @Benchmark
+    @OperationsPerInvocation(EVALUATIONS)
+    public void averageAndLetterGrade(Blackhole blackhole){
+        for (int i = 0; i < EVALUATIONS; i++) {
+            Double average = gradeCalculator.calculateAverageNote(midtermExams[i], finalExams[i], 0.4, 0.6);
+            blackhole.consume(gradeCalculator.checkLetterGrade(average));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVALUATIONS)
+    public void absoluteLookup(Blackhole blackhole){
+        for (int i = 0; i < EVALUATIONS; i++) {
+            blackhole.consume(fullTable.lookup(averages[i]));
+        }
+    }
+
+    //sort + one pass over the class, the same steps as a curve regrade without the entities
+    @Benchmark
+    @OperationsPerInvocation(EVALUATIONS)
+    public void curvePass(Blackhole blackhole){
+        double[] sorted = Arrays.copyOf(averages, EVALUATIONS);
+        Arrays.sort(sorted);
+        int i = 0;
+        while (i < EVALUATIONS){
+            int j = i;
+            while (j + 1 < EVALUATIONS && sorted[j + 1] == sorted[i]){
+                j++;
+            }
+            Note note = fullTable.lookup(100.0 * (j + 1) / EVALUATIONS);
+            for (int k = i; k <= j; k++) {
+                blackhole.consume(note);
+            }
+            i = j + 1;
+        }
+    }
+}
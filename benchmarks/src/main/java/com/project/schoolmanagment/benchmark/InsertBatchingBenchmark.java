@@ -0,0 +1,178 @@
+package com.project.schoolmanagment.benchmark;
+
+import com.project.schoolmanagment.entity.concretes.business.*;
+import com.project.schoolmanagment.entity.concretes.user.User;
+import com.project.schoolmanagment.entity.concretes.user.UserRole;
+import com.project.schoolmanagment.entity.enums.Note;
+import com.project.schoolmanagment.entity.generator.PooledSequenceGenerator;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts 100k StudentInfo or Meet rows through hibernate, scores are rows per second.
+ * The transaction is rolled back at the end, so the database keeps its size between invocations.
+ * <p>
+ * batchSize=1 sends one INSERT per row like the identity ids did, batchSize=50 is the configured batching.
+ * Needs a database with the app schema and the dataset (profile "dataset"), e.g.
+ * <pre>
+ * mvn -f benchmarks/pom.xml -P jmh verify -Djmh.args="InsertBatchingBenchmark -f 1 -wi 1 -i 3 \
+ *     -jvmArgsAppend -Dbench.db.url=jdbc:postgresql://localhost:5432/school_bench"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class InsertBatchingBenchmark {
+
+    private static final int ROWS = 100_000;
+    //entities kept in the session between two flushes
+    private static final int FLUSH_INTERVAL = 1000;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    @Param({"false", "true"})
+    public boolean reWriteBatchedInserts;
+
+    private HikariDataSource dataSource;
+    private SessionFactory sessionFactory;
+    private long teacherId;
+    private long studentId;
+    private long lessonId;
+    private long educationTermId;
+
+    @Setup
+    public void setUp(){
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5432/school_management_b181_local2"));
+        dataSource.setUsername(System.getProperty("bench.db.username", "postgres"));
+        dataSource.setPassword(System.getProperty("bench.db.password", "1234"));
+        dataSource.setAutoCommit(false);
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", reWriteBatchedInserts);
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        teacherId = firstUser(jdbcTemplate, "TEACHER");
+        studentId = firstUser(jdbcTemplate, "STUDENT");
+        lessonId = jdbcTemplate.queryForObject("SELECT MIN(lesson_id) FROM lesson", Long.class);
+        educationTermId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM education_term", Long.class);
+
+        //same mapping and id settings as application.properties, only the batch size changes
+        Map<String, Object> settings = new HashMap<>();
+        settings.put(AvailableSettings.DATASOURCE, dataSource);
+        settings.put(AvailableSettings.DIALECT, "org.hibernate.dialect.PostgreSQL81Dialect");
+        settings.put(AvailableSettings.HBM2DDL_AUTO, "none");
+        settings.put(AvailableSettings.CONNECTION_PROVIDER_DISABLES_AUTOCOMMIT, true);
+        settings.put(AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName());
+        settings.put(AvailableSettings.IMPLICIT_NAMING_STRATEGY, SpringImplicitNamingStrategy.class.getName());
+        settings.put(AvailableSettings.SEQUENCE_INCREMENT_SIZE_MISMATCH_STRATEGY, "fix");
+        settings.put(PooledSequenceGenerator.ALLOCATION_SIZE, "50");
+        settings.put(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+        settings.put(AvailableSettings.ORDER_INSERTS, true);
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder().applySettings(settings).build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(UserRole.class)
+                .addAnnotatedClass(EducationTerm.class)
+                .addAnnotatedClass(ExamWeight.class)
+                .addAnnotatedClass(GradeRecomputationChunk.class)
+                .addAnnotatedClass(GradeRecomputationJob.class)
+                .addAnnotatedClass(GradingScheme.class)
+                .addAnnotatedClass(Lesson.class)
+                .addAnnotatedClass(LessonProgram.class)
+                .addAnnotatedClass(Meet.class)
+                .addAnnotatedClass(StudentInfo.class)
+                .addAnnotatedClass(TermTranscript.class)
+                .addAnnotatedClass(Transcript.class)
+                .buildMetadata()
+                .buildSessionFactory();
+    }
+
+    private static long firstUser(JdbcTemplate jdbcTemplate, String roleType){
+        Long id = jdbcTemplate.queryForObject("SELECT MIN(u.id) FROM t_user u JOIN roles r ON r.id = u.user_role_id " +
+                "WHERE r.role_type = ?", Long.class, roleType);
+        if (id == null) {
+            throw new IllegalStateException("no " + roleType + " in the database, generate the dataset first");
+        }
+        return id;
+    }
+
+    @TearDown
+    public void tearDown(){
+        sessionFactory.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertStudentInfos(){
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            for (int i = 0; i < ROWS; i++) {
+                double midtermExam = i % 100;
+                double finalExam = (i * 7) % 100;
+                session.persist(StudentInfo.builder()
+                        .absentee(i % 8)
+                        .midtermExam(midtermExam)
+                        .finalExam(finalExam)
+                        .examAverage(midtermExam * 0.4 + finalExam * 0.6)
+                        .letterGrade(Note.CC)
+                        .teacher(session.load(User.class, teacherId))
+                        .student(session.load(User.class, studentId))
+                        .lesson(session.load(Lesson.class, lessonId))
+                        .educationTerm(session.load(EducationTerm.class, educationTermId))
+                        .build());
+                flushEvery(session, i);
+            }
+            session.flush();
+            session.getTransaction().rollback();
+        }
+    }
+
+    //every meeting also writes its meet_student_table row
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertMeets(){
+        LocalDate date = LocalDate.now().plusDays(30);
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            for (int i = 0; i < ROWS; i++) {
+                LocalTime startTime = LocalTime.of(9 + i % 8, 0);
+                session.persist(Meet.builder()
+                        .description("Benchmark meeting " + i)
+                        .date(date.plusDays(i / 8))
+                        .startTime(startTime)
+                        .stopTime(startTime.plusMinutes(50))
+                        //taken in every iteration, the persist cascades and a proxy detached by clear() fails it
+                        .advisoryTeacher(session.load(User.class, teacherId))
+                        .studentList(Collections.singleton(session.load(User.class, studentId)))
+                        .build());
+                flushEvery(session, i);
+            }
+            session.flush();
+            session.getTransaction().rollback();
+        }
+    }
+
+    private static void flushEvery(Session session, int i){
+        if ((i + 1) % FLUSH_INTERVAL == 0) {
+            session.flush();
+            session.clear();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.project.schoolmanagment.benchmark;
+
+import com.project.schoolmanagment.security.jwt.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilsBenchmark {
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp(){
+        jwtUtils = new JwtUtils();
+        //same values as application.properties
+        BenchmarkFixtures.setField(jwtUtils, "jwtSecret", "schoolmanagementproject");
+        BenchmarkFixtures.setField(jwtUtils, "jwtExpirations", 8640000L);
+        token = jwtUtils.generateTokenFromUsername("benchmarkUser");
+    }
+
+    @Benchmark
+    public String generateToken(){
+        return jwtUtils.generateTokenFromUsername("benchmarkUser");
+    }
+
+    @Benchmark
+    public boolean validateToken(){
+        return jwtUtils.validateJwt(token);
+    }
+
+    @Benchmark
+    public String getUserNameFromToken(){
+        return jwtUtils.getUserNameFromJwtToken(token);
+    }
+}
@@ -0,0 +1,90 @@
+package com.project.schoolmanagment.benchmark;
+
+import com.project.schoolmanagment.entity.concretes.business.LessonProgram;
+import com.project.schoolmanagment.entity.enums.Day;
+import com.project.schoolmanagment.service.schedule.WeeklyMask;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Programs of a term that fit a student's timetable: the weekly bitmasks of LessonProgramFitService against
+ * comparing every candidate with every program of the student.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LessonProgramFitBenchmark {
+
+    //programs of the student
+    @Param({"10", "50", "90"})
+    private int size;
+
+    //programs of the term
+    @Param({"1000"})
+    private int candidates;
+
+    private Set<LessonProgram> lessonPrograms;
+    private LessonProgram[] candidatePrograms;
+    private WeeklyMask[] candidateMasks;
+
+    @Setup
+    public void setUp(){
+        lessonPrograms = BenchmarkFixtures.lessonPrograms(size);
+        //shorter steps than the student's programs, part of them overlap
+        Day[] days = Day.values();
+        candidatePrograms = new LessonProgram[candidates];
+        candidateMasks = new WeeklyMask[candidates];
+        for (int i = 0; i < candidates; i++) {
+            LocalTime start = LocalTime.of(7, 0).plusMinutes(4L * (i / days.length % 180));
+            candidatePrograms[i] = LessonProgram.builder()
+                    .id((long) i)
+                    .day(days[i % days.length])
+                    .startTime(start)
+                    .stopTime(start.plusMinutes(40))
+                    .build();
+            candidateMasks[i] = WeeklyMask.of(candidatePrograms[i].getDay(),
+                    candidatePrograms[i].getStartTime(), candidatePrograms[i].getStopTime());
+        }
+    }
+
+    @Benchmark
+    public void bitmask(Blackhole blackhole){
+        WeeklyMask timetable = WeeklyMask.emptyWeek();
+        for (LessonProgram lessonProgram : lessonPrograms) {
+            timetable.add(WeeklyMask.of(lessonProgram.getDay(), lessonProgram.getStartTime(), lessonProgram.getStopTime()));
+        }
+        List<LessonProgram> fitting = new ArrayList<>();
+        for (int i = 0; i < candidateMasks.length; i++) {
+            if (!timetable.intersects(candidateMasks[i])) {
+                fitting.add(candidatePrograms[i]);
+            }
+        }
+        blackhole.consume(fitting);
+    }
+
+    @Benchmark
+    public void pairwise(Blackhole blackhole){
+        List<LessonProgram> fitting = new ArrayList<>();
+        for (LessonProgram candidate : candidatePrograms) {
+            boolean fits = true;
+            for (LessonProgram lessonProgram : lessonPrograms) {
+                if (lessonProgram.getDay() == candidate.getDay()
+                        && lessonProgram.getStartTime().isBefore(candidate.getStopTime())
+                        && candidate.getStartTime().isBefore(lessonProgram.getStopTime())) {
+                    fits = false;
+                    break;
+                }
+            }
+            if (fits) {
+                fitting.add(candidate);
+            }
+        }
+        blackhole.consume(fitting);
+    }
+}
@@ -0,0 +1,71 @@
+package com.project.schoolmanagment.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.schoolmanagment.entity.concretes.business.LessonProgram;
+import com.project.schoolmanagment.entity.concretes.business.StudentInfo;
+import com.project.schoolmanagment.entity.concretes.user.User;
+import com.project.schoolmanagment.payload.mappers.LessonProgramMapper;
+import com.project.schoolmanagment.payload.mappers.StudentInfoMapper;
+import com.project.schoolmanagment.payload.mappers.UserMapper;
+import com.project.schoolmanagment.payload.response.business.LessonProgramResponse;
+import com.project.schoolmanagment.payload.response.business.StudentInfoResponse;
+import com.project.schoolmanagment.payload.response.user.StudentResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapperBenchmark {
+
+    private final UserMapper userMapper = new UserMapper();
+    private final LessonProgramMapper lessonProgramMapper = new LessonProgramMapper();
+    private final StudentInfoMapper studentInfoMapper = new StudentInfoMapper(userMapper);
+    //configured like the one Spring Boot creates for the controllers
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private User student;
+    private LessonProgram lessonProgram;
+    private StudentInfo studentInfo;
+    private StudentResponse studentResponse;
+    private LessonProgramResponse lessonProgramResponse;
+
+    @Setup
+    public void setUp(){
+        Set<LessonProgram> lessonPrograms = BenchmarkFixtures.lessonPrograms(10);
+        student = BenchmarkFixtures.student(1, lessonPrograms);
+        lessonProgram = lessonPrograms.iterator().next();
+        studentInfo = BenchmarkFixtures.studentInfo(1, student);
+        studentResponse = userMapper.mapUserToStudentResponse(student);
+        lessonProgramResponse = lessonProgramMapper.mapLessonProgramToLessonProgramResponse(lessonProgram);
+    }
+
+    @Benchmark
+    public StudentResponse mapUserToStudentResponse(){
+        return userMapper.mapUserToStudentResponse(student);
+    }
+
+    @Benchmark
+    public LessonProgramResponse mapLessonProgramToLessonProgramResponse(){
+        return lessonProgramMapper.mapLessonProgramToLessonProgramResponse(lessonProgram);
+    }
+
+    @Benchmark
+    public StudentInfoResponse mapStudentInfoToStudentInfoResponse(){
+        return studentInfoMapper.mapStudentInfoToStudentInfoResponse(studentInfo);
+    }
+
+    @Benchmark
+    public byte[] serializeStudentResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(studentResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeLessonProgramResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(lessonProgramResponse);
+    }
+}
@@ -0,0 +1,64 @@
+package com.project.schoolmanagment.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * An advisor looks at the meetings and schedules a new one with students met before.
+ * A random slot can overlap an existing meeting, these end with 409 and are part of the mix.
+ */
+class AdvisorMeetingFlow implements Flow {
+
+    static final String NAME = "advisor-meeting";
+
+    private final LoadTestConfig config;
+
+    AdvisorMeetingFlow(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean run(ApiClient client, Random random) throws InterruptedException {
+        String advisor = Users.advisor(config, random);
+        JsonNode page = client.get(advisor, "GET /meet/getAllMeetByAdvisorAsPage",
+                "/meet/getAllMeetByAdvisorAsPage?page=0&size=10");
+        if (page == null) {
+            return false;
+        }
+        Set<Long> studentIds = new LinkedHashSet<>();
+        for (JsonNode meet : page.path("content")) {
+            for (JsonNode student : meet.path("students")) {
+                studentIds.add(student.path("id").asLong());
+            }
+        }
+        if (studentIds.isEmpty()) {
+            return true;
+        }
+        Long[] candidates = studentIds.toArray(new Long[0]);
+        Long[] attendees = new Long[Math.min(candidates.length, 1 + random.nextInt(2))];
+        for (int i = 0; i < attendees.length; i++) {
+            attendees[i] = candidates[(i + random.nextInt(candidates.length)) % candidates.length];
+        }
+        //08:00 - 16:55 in 5 minute steps, somewhere in the next year
+        LocalTime startTime = LocalTime.of(8, 0).plusMinutes(5L * random.nextInt(108));
+        Map<String, Object> request = new HashMap<>();
+        request.put("description", "Load test advising meeting");
+        request.put("date", LocalDate.now().plusDays(1 + random.nextInt(365)).toString());
+        request.put("startTime", startTime.toString());
+        request.put("stopTime", startTime.plusMinutes(30).toString());
+        request.put("studentIds", attendees);
+        return client.post(advisor, "POST /meet/save", "/meet/save", request) != null;
+    }
+}
@@ -0,0 +1,135 @@
+package com.project.schoolmanagment.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thin JSON client of the API. Every call is recorded under its endpoint template,
+ * e.g. POST /studentInfo/update/{id}, so the report is not split by path variables.
+ */
+public class ApiClient {
+
+    private static final String LOGIN_ENDPOINT = "POST /auth/login";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LoadTestConfig config;
+    private final LatencyReport report;
+    //username -> token, tokens are valid for a day so a run logs in every user at most once
+    private final Map<String, String> tokens = new ConcurrentHashMap<>();
+    //users not created by the dataset generator, e.g. the admin of a replay
+    private final Map<String, String> passwords = new ConcurrentHashMap<>();
+
+    ApiClient(LoadTestConfig config, LatencyReport report) {
+        this.config = config;
+        this.report = report;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(config.requestTimeoutSeconds))
+                .build();
+    }
+
+    void addCredentials(String username, String password) {
+        passwords.put(username, password);
+    }
+
+    /**
+     * @return response body, null when the call did not end with 2xx
+     */
+    JsonNode get(String username, String endpoint, String path) throws InterruptedException {
+        return send(username, endpoint, path, "GET", null);
+    }
+
+    JsonNode post(String username, String endpoint, String path, Object body) throws InterruptedException {
+        return send(username, endpoint, path, "POST", body);
+    }
+
+    /**
+     * @param username null for the calls without a token
+     */
+    JsonNode send(String username, String endpoint, String path, String method, Object body)
+            throws InterruptedException {
+        HttpRequest.Builder builder = request(path, method, body);
+        if (username != null) {
+            String token = token(username);
+            if (token == null) {
+                return null;
+            }
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<byte[]> response = exchange(endpoint, builder);
+        if (username != null && response != null && response.statusCode() == 401) {
+            //expired or the app was restarted with another secret, log in again next time
+            tokens.remove(username);
+        }
+        return read(response);
+    }
+
+    private String token(String username) throws InterruptedException {
+        String token = tokens.get(username);
+        return token != null ? token : login(username);
+    }
+
+    /**
+     * logs in even if a token is cached, the new token replaces the old one
+     */
+    String login(String username) throws InterruptedException {
+        Map<String, String> login = Map.of("username", username,
+                "password", passwords.getOrDefault(username, config.password));
+        JsonNode response = read(exchange(LOGIN_ENDPOINT, request("/auth/login", "POST", login)));
+        if (response == null || !response.hasNonNull("token")) {
+            return null;
+        }
+        //two threads can log in the same user at once, both tokens are valid
+        String token = response.get("token").asText();
+        tokens.put(username, token);
+        return token;
+    }
+
+    private HttpRequest.Builder request(String path, String method, Object body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(config.baseUrl + path))
+                .timeout(Duration.ofSeconds(config.requestTimeoutSeconds))
+                .header("Accept", "application/json");
+        if (body == null) {
+            return builder.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        try {
+            return builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("request body can not be serialized", e);
+        }
+    }
+
+    private HttpResponse<byte[]> exchange(String endpoint, HttpRequest.Builder builder) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            report.recordRequest(endpoint, System.nanoTime() - start, response.statusCode());
+            return response;
+        } catch (IOException e) {
+            report.recordRequest(endpoint, System.nanoTime() - start, 0);
+            return null;
+        }
+    }
+
+    private JsonNode read(HttpResponse<byte[]> response) {
+        if (response == null || response.statusCode() < 200 || response.statusCode() >= 300) {
+            return null;
+        }
+        try {
+            return response.body().length == 0 ? objectMapper.nullNode() : objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            //plain text answers like "password changed"
+            return objectMapper.nullNode();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.project.schoolmanagment.loadtest;
+
+import java.util.Random;
+
+/**
+ * One user journey, a few dependent calls made by the same logged in user.
+ */
+interface Flow {
+
+    String name();
+
+    /**
+     * @return false when one of the calls did not end with 2xx
+     */
+    boolean run(ApiClient client, Random random) throws InterruptedException;
+}
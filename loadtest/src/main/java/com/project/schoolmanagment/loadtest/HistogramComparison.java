@@ -0,0 +1,94 @@
+package com.project.schoolmanagment.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.DataFormatException;
+
+/**
+ * Latency distributions of two builds side by side. A run is saved as one line per endpoint,
+ * endpoint TAB base64 of the compressed histogram, so the files of different builds can be kept and diffed later.
+ */
+final class HistogramComparison {
+
+    private HistogramComparison() {
+    }
+
+    static void save(Map<String, Histogram> histograms, Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+                Histogram histogram = entry.getValue();
+                ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+                int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+                writer.write(entry.getKey());
+                writer.write('\t');
+                writer.write(Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length)));
+                writer.newLine();
+            }
+        }
+    }
+
+    static Map<String, Histogram> load(Path file) throws IOException {
+        Map<String, Histogram> histograms = new TreeMap<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            int tab = line.indexOf('\t');
+            if (tab < 0) {
+                continue;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(line.substring(tab + 1)));
+            try {
+                histograms.put(line.substring(0, tab), Histogram.decodeFromCompressedByteBuffer(buffer, 0));
+            } catch (DataFormatException e) {
+                throw new IOException("broken histogram of " + line.substring(0, tab), e);
+            }
+        }
+        return histograms;
+    }
+
+    static void print(PrintStream out, String baselineName, Map<String, Histogram> baseline,
+                      Map<String, Histogram> current) {
+        out.println();
+        out.printf("%-50s %9s %9s %10s %10s %8s %10s %10s %8s%n", "endpoint (" + baselineName + " -> current)",
+                "count", "count", "p50 ms", "p50 ms", "change", "p99 ms", "p99 ms", "change");
+        TreeSet<String> endpoints = new TreeSet<>(baseline.keySet());
+        endpoints.addAll(current.keySet());
+        for (String endpoint : endpoints) {
+            Histogram before = baseline.get(endpoint);
+            Histogram after = current.get(endpoint);
+            out.printf("%-50s %9d %9d %10s %10s %8s %10s %10s %8s%n", endpoint,
+                    before == null ? 0 : before.getTotalCount(), after == null ? 0 : after.getTotalCount(),
+                    millis(before, 50), millis(after, 50), change(before, after, 50),
+                    millis(before, 99), millis(after, 99), change(before, after, 99));
+        }
+    }
+
+    private static String millis(Histogram histogram, double percentile) {
+        if (histogram == null || histogram.getTotalCount() == 0) {
+            return "-";
+        }
+        return String.format("%.2f", histogram.getValueAtPercentile(percentile) / 1000.0);
+    }
+
+    private static String change(Histogram before, Histogram after, double percentile) {
+        if (before == null || after == null || before.getTotalCount() == 0 || after.getTotalCount() == 0) {
+            return "-";
+        }
+        double from = before.getValueAtPercentile(percentile);
+        double to = after.getValueAtPercentile(percentile);
+        return String.format("%+.0f%%", (to - from) * 100.0 / from);
+    }
+}
@@ -0,0 +1,140 @@
+package com.project.schoolmanagment.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HDR latency histograms and status counts per endpoint and per flow.
+ * Endpoint latency is measured from the send, flow latency from the intended start,
+ * so in the open model the flow numbers also contain the time spent waiting for a free worker.
+ */
+public class LatencyReport {
+
+    //1 microsecond .. 1 minute, 3 significant digits
+    static final long HIGHEST_TRACKABLE = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Stats> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, Stats> flows = new ConcurrentHashMap<>();
+    private final LongAdder intervalRequests = new LongAdder();
+    private volatile long startNanos = System.nanoTime();
+
+    void recordRequest(String endpoint, long latencyNanos, int status) {
+        endpoints.computeIfAbsent(endpoint, key -> new Stats())
+                .record(latencyNanos, status < 200 || status >= 300, String.valueOf(status));
+        intervalRequests.increment();
+    }
+
+    void recordFlow(String flow, long latencyNanos, boolean failed) {
+        flows.computeIfAbsent(flow, key -> new Stats()).record(latencyNanos, failed, failed ? "failed" : "ok");
+    }
+
+    Map<String, Histogram> endpointHistograms() {
+        Map<String, Histogram> histograms = new TreeMap<>();
+        endpoints.forEach((endpoint, stats) -> histograms.put(endpoint, stats.histogram));
+        return histograms;
+    }
+
+    /**
+     * drops everything recorded so far, called when the warmup is over
+     */
+    void reset() {
+        endpoints.clear();
+        flows.clear();
+        intervalRequests.reset();
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * requests per second since the last call
+     */
+    double intervalThroughput(long intervalNanos) {
+        return intervalRequests.sumThenReset() * 1e9 / intervalNanos;
+    }
+
+    void print(PrintStream out) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        out.println();
+        out.printf("measured %.1f s%n", seconds);
+        printTable(out, "endpoint", endpoints, seconds);
+        printTable(out, "flow", flows, seconds);
+    }
+
+    private static void printTable(PrintStream out, String title, Map<String, Stats> statsMap, double seconds) {
+        if (statsMap.isEmpty()) {
+            return;
+        }
+        out.println();
+        out.printf("%-50s %9s %9s %8s %8s %9s %9s %9s %9s %9s %s%n", title, "count", "req/s", "errors",
+                "mean ms", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "status");
+        for (Map.Entry<String, Stats> entry : new TreeMap<>(statsMap).entrySet()) {
+            Stats stats = entry.getValue();
+            Histogram histogram = stats.histogram;
+            out.printf("%-50s %9d %9.1f %8d %8.2f %9.2f %9.2f %9.2f %9.2f %9.2f %s%n", entry.getKey(),
+                    histogram.getTotalCount(), histogram.getTotalCount() / seconds, stats.errors.sum(),
+                    histogram.getMean() / 1000.0,
+                    millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1000.0, stats.statusCounts());
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * one percentile distribution file per endpoint and flow, can be plotted with the HdrHistogram plotter
+     */
+    void writeHistograms(String directory) throws IOException {
+        Path path = Paths.get(directory);
+        Files.createDirectories(path);
+        write(path, "endpoint", endpoints);
+        write(path, "flow", flows);
+    }
+
+    private static void write(Path directory, String prefix, Map<String, Stats> statsMap) throws IOException {
+        for (Map.Entry<String, Stats> entry : statsMap.entrySet()) {
+            String fileName = prefix + "_" + entry.getKey().replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm";
+            try (PrintStream out = new PrintStream(new FileOutputStream(directory.resolve(fileName).toFile()))) {
+                //values are recorded in microseconds, scaled to milliseconds in the output
+                entry.getValue().histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static class Stats {
+
+        private final Histogram histogram = new ConcurrentHistogram(1, HIGHEST_TRACKABLE, 3);
+        private final LongAdder errors = new LongAdder();
+        //status code -> count, 0 means no response (timeout, connection refused...), ok/failed for flows
+        private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        private void record(long latencyNanos, boolean error, String status) {
+            long micros = Math.max(1, Math.min(HIGHEST_TRACKABLE, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+            histogram.recordValue(micros);
+            if (error) {
+                errors.increment();
+            }
+            statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+
+        private String statusCounts() {
+            StringBuilder builder = new StringBuilder();
+            for (Map.Entry<String, LongAdder> entry : new TreeMap<>(statuses).entrySet()) {
+                builder.append(entry.getKey()).append('=').append(entry.getValue().sum()).append(' ');
+            }
+            return builder.toString().trim();
+        }
+    }
+}
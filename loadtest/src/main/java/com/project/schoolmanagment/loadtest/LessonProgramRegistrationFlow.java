@@ -0,0 +1,46 @@
+package com.project.schoolmanagment.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Collections;
+import java.util.Random;
+
+/**
+ * Registration window: a student browses the lesson programs and adds one of them.
+ * Programs clashing with the student's timetable end with 409, like they would in a real rush.
+ */
+class LessonProgramRegistrationFlow implements Flow {
+
+    static final String NAME = "lesson-program-registration";
+
+    private final LoadTestConfig config;
+    //learnt from the responses, pages are spread over the whole catalogue
+    private volatile int totalPages = 1;
+
+    LessonProgramRegistrationFlow(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean run(ApiClient client, Random random) throws InterruptedException {
+        String student = Users.student(config, random);
+        JsonNode page = client.get(student, "GET /lessonPrograms/getAllLessonProgramByPage",
+                "/lessonPrograms/getAllLessonProgramByPage?page=" + random.nextInt(totalPages) + "&size=10");
+        if (page == null) {
+            return false;
+        }
+        totalPages = Math.max(1, page.path("totalPages").asInt(1));
+        JsonNode content = page.path("content");
+        if (content.size() == 0) {
+            return true;
+        }
+        long lessonProgramId = content.get(random.nextInt(content.size())).path("lessonProgramId").asLong();
+        return client.post(student, "POST /student/addLessonProgramToStudent", "/student/addLessonProgramToStudent",
+                Collections.singletonMap("lessonProgramId", Collections.singleton(lessonProgramId))) != null;
+    }
+}
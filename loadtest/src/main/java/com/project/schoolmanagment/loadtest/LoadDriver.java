@@ -0,0 +1,187 @@
+package com.project.schoolmanagment.loadtest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a weighted mix of flows against a running app and prints per endpoint throughput and latency.
+ * <p>
+ * closed model: loadtest.concurrency users loop flow after flow, the load drops when the app slows down.
+ * open model: flows start at loadtest.rate per second (poisson arrivals) on at most loadtest.concurrency
+ * workers, late starts are counted in the flow latency so a slow app is not hidden (coordinated omission).
+ */
+public class LoadDriver {
+
+    private final LoadTestConfig config;
+    private final LatencyReport report = new LatencyReport();
+    private final ApiClient client;
+    private final Flow[] flows;
+    private final int[] cumulativeWeights;
+
+    private volatile boolean running = true;
+
+    LoadDriver(LoadTestConfig config) {
+        this.config = config;
+        this.client = new ApiClient(config, report);
+        List<Flow> flowList = new ArrayList<>();
+        List<Integer> weightList = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : config.weights.entrySet()) {
+            if (entry.getValue() > 0) {
+                flowList.add(flow(entry.getKey()));
+                total += entry.getValue();
+                weightList.add(total);
+            }
+        }
+        if (flowList.isEmpty()) {
+            throw new IllegalArgumentException("at least one flow weight must be positive");
+        }
+        this.flows = flowList.toArray(new Flow[0]);
+        this.cumulativeWeights = weightList.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        System.out.println("load test: " + config);
+        new LoadDriver(config).run();
+    }
+
+    private Flow flow(String name) {
+        switch (name) {
+            case StudentGradeCheckFlow.NAME:
+                return new StudentGradeCheckFlow(config);
+            case TeacherGradeEntryFlow.NAME:
+                return new TeacherGradeEntryFlow(config);
+            case AdvisorMeetingFlow.NAME:
+                return new AdvisorMeetingFlow(config);
+            case LessonProgramRegistrationFlow.NAME:
+                return new LessonProgramRegistrationFlow(config);
+            case RegistrationRushFlow.NAME:
+                return new RegistrationRushFlow(config);
+            default:
+                throw new IllegalArgumentException("unknown flow " + name);
+        }
+    }
+
+    private Flow pick(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return flows[i];
+            }
+        }
+        return flows[flows.length - 1];
+    }
+
+    void run() throws InterruptedException, IOException {
+        Thread load = new Thread(() -> {
+            try {
+                if (config.isOpenModel()) {
+                    runOpen();
+                } else {
+                    runClosed();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "load-driver");
+        load.start();
+
+        if (config.warmupSeconds > 0) {
+            System.out.printf("warming up for %d s%n", config.warmupSeconds);
+            TimeUnit.SECONDS.sleep(config.warmupSeconds);
+            report.reset();
+        }
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.durationSeconds);
+        long interval = TimeUnit.SECONDS.toNanos(Math.max(1, config.reportIntervalSeconds));
+        long elapsed = 0;
+        while (System.nanoTime() < end) {
+            long sleep = Math.min(interval, end - System.nanoTime());
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, sleep));
+            elapsed += sleep;
+            System.out.printf("%5.0f s  %8.1f req/s%n", elapsed / 1e9,
+                    report.intervalThroughput(sleep));
+        }
+        running = false;
+        load.join();
+
+        report.print(System.out);
+        if (!config.histogramDir.isEmpty()) {
+            report.writeHistograms(config.histogramDir);
+            System.out.println("histograms written to " + config.histogramDir);
+        }
+    }
+
+    private void runClosed() throws InterruptedException {
+        List<Thread> users = new ArrayList<>();
+        for (int i = 0; i < config.concurrency; i++) {
+            Random random = new Random(config.seed + i);
+            Thread user = new Thread(() -> {
+                while (running) {
+                    if (!execute(pick(random), random, System.nanoTime())) {
+                        return;
+                    }
+                    if (config.thinkTimeMs > 0) {
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(config.thinkTimeMs));
+                    }
+                }
+            }, "load-user-" + i);
+            users.add(user);
+            user.start();
+        }
+        for (Thread user : users) {
+            user.join();
+        }
+    }
+
+    private void runOpen() throws InterruptedException {
+        //unbounded queue, arrivals are never dropped, the backlog shows up as flow latency
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(config.concurrency, config.concurrency,
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        Random arrivals = new Random(config.seed);
+        long next = System.nanoTime();
+        while (running) {
+            long intendedStart = next;
+            Random random = new Random(arrivals.nextLong());
+            workers.execute(() -> execute(pick(random), random, intendedStart));
+            //exponential inter arrival times give a poisson process of the given rate
+            next += (long) (-Math.log(1.0 - arrivals.nextDouble()) / config.rate * 1e9);
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+        shutdown(workers);
+    }
+
+    /**
+     * @return false when the thread was interrupted
+     */
+    private boolean execute(Flow flow, Random random, long intendedStart) {
+        try {
+            boolean ok = flow.run(client, random);
+            report.recordFlow(flow.name(), System.nanoTime() - intendedStart, !ok);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (RuntimeException e) {
+            report.recordFlow(flow.name(), System.nanoTime() - intendedStart, true);
+            return true;
+        }
+    }
+
+    private static void shutdown(ExecutorService executor) throws InterruptedException {
+        //queued arrivals are dropped at the end, they were not started inside the measured window anyway
+        executor.shutdownNow();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+}
@@ -0,0 +1,89 @@
+package com.project.schoolmanagment.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Options of a load test run, all read from system properties with a loadtest. prefix.
+ * Defaults fit a local app seeded by the dataset profile at scale 1.
+ */
+public class LoadTestConfig {
+
+    final String baseUrl = string("base-url", "http://localhost:8080");
+    final String password = string("password", "Dataset123*");
+    final int studentCount = integer("students", 5000);
+    final int teacherCount = integer("teachers", 200);
+    //same split as the generator, the first 20% of the teachers are advisors
+    final int advisorCount = Math.max(1, teacherCount / 5);
+
+    //closed: a fixed number of users looping, open: arrivals at a fixed rate whatever the response time is
+    final String mode = string("mode", "closed");
+    final int concurrency = integer("concurrency", 50);
+    final double rate = number("rate", 100.0);
+    final long thinkTimeMs = integer("think-time-ms", 0);
+    final int warmupSeconds = integer("warmup", 10);
+    final int durationSeconds = integer("duration", 60);
+    final int reportIntervalSeconds = integer("report-interval", 10);
+    final int requestTimeoutSeconds = integer("request-timeout", 30);
+    final long seed = integer("seed", 42);
+    //directory for the .hgrm percentile distributions, nothing is written when empty
+    final String histogramDir = string("histogram-dir", "");
+
+    //replay of a traffic capture of the app, see ReplayDriver
+    final String replayFile = string("replay.file", "traffic/capture.jsonl");
+    //2.0 replays an hour of traffic in 30 minutes
+    final double replaySpeed = number("replay.speed", 1.0);
+    //histograms of this run are saved here, compared with the baseline file of an earlier build when given
+    final String replaySave = string("replay.save", "");
+    final String replayBaseline = string("replay.baseline", "");
+
+    //share of the seats and waitlist places of the registration rush given back right away
+    final double rushDropRate = number("rush.drop-rate", 0.3);
+
+    //flow name -> relative weight
+    final Map<String, Integer> weights = new LinkedHashMap<>();
+
+    LoadTestConfig() {
+        weights.put(StudentGradeCheckFlow.NAME, integer("weight.student-grade-check", 60));
+        weights.put(TeacherGradeEntryFlow.NAME, integer("weight.teacher-grade-entry", 15));
+        weights.put(AdvisorMeetingFlow.NAME, integer("weight.advisor-meeting", 5));
+        weights.put(LessonProgramRegistrationFlow.NAME, integer("weight.lesson-program-registration", 20));
+        //not part of the everyday mix, see RegistrationRushFlow
+        weights.put(RegistrationRushFlow.NAME, integer("weight.registration-rush", 0));
+    }
+
+    /**
+     * login of the replayed ADMIN, MANAGER and ASSISTANT_MANAGER users, loadtest.replay.user.ADMIN=admin
+     * and loadtest.replay.password.ADMIN=..., null when the requests of the role are not replayed
+     */
+    String replayUser(String role) {
+        return string("replay.user." + role, null);
+    }
+
+    String replayPassword(String role) {
+        return string("replay.password." + role, password);
+    }
+
+    boolean isOpenModel() {
+        return "open".equalsIgnoreCase(mode);
+    }
+
+    private static String string(String key, String defaultValue) {
+        return System.getProperty("loadtest." + key, defaultValue);
+    }
+
+    private static int integer(String key, int defaultValue) {
+        return Integer.parseInt(string(key, String.valueOf(defaultValue)));
+    }
+
+    private static double number(String key, double defaultValue) {
+        return Double.parseDouble(string(key, String.valueOf(defaultValue)));
+    }
+
+    @Override
+    public String toString() {
+        return "baseUrl=" + baseUrl + ", mode=" + mode
+                + (isOpenModel() ? ", rate=" + rate + "/s, maxConcurrency=" + concurrency : ", concurrency=" + concurrency)
+                + ", warmup=" + warmupSeconds + "s, duration=" + durationSeconds + "s, weights=" + weights;
+    }
+}
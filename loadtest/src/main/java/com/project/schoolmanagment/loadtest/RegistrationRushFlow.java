@@ -0,0 +1,84 @@
+package com.project.schoolmanagment.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Registration rush: students register to programs of the running term and drop some of them again, so
+ * programs fill up, waitlists grow and dropped seats are handed to the waitlist on the server.
+ * Run it alone to read the sustained registrations per second from the POST /student/registerLessonPrograms line.
+ */
+class RegistrationRushFlow implements Flow {
+
+    static final String NAME = "registration-rush";
+
+    private static final String REGISTER_ENDPOINT = "POST /student/registerLessonPrograms";
+    private static final String DROP_ENDPOINT = "DELETE /student/dropLessonProgram/{id}";
+
+    private final LoadTestConfig config;
+    //programs of the latest term, read once by the first flow that needs them
+    private volatile long[] lessonProgramIds;
+
+    RegistrationRushFlow(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean run(ApiClient client, Random random) throws InterruptedException {
+        String student = Users.student(config, random);
+        long[] catalogue = catalogue(client, student);
+        if (catalogue == null) {
+            return false;
+        }
+        if (catalogue.length == 0) {
+            return true;
+        }
+        long lessonProgramId = catalogue[random.nextInt(catalogue.length)];
+        JsonNode response = client.post(student, REGISTER_ENDPOINT, "/student/registerLessonPrograms",
+                Collections.singletonMap("lessonProgramId", Collections.singleton(lessonProgramId)));
+        if (response == null) {
+            return false;
+        }
+        //TIME_CONFLICT and ALREADY_* are answers of a working registration as well
+        String status = response.path("object").path(0).path("status").asText();
+        if (("REGISTERED".equals(status) || "WAITLISTED".equals(status)) && random.nextDouble() < config.rushDropRate) {
+            return client.send(student, DROP_ENDPOINT, "/student/dropLessonProgram/" + lessonProgramId,
+                    "DELETE", null) != null;
+        }
+        return true;
+    }
+
+    private long[] catalogue(ApiClient client, String student) throws InterruptedException {
+        long[] ids = lessonProgramIds;
+        if (ids != null) {
+            return ids;
+        }
+        JsonNode programs = client.get(student, "GET /lessonPrograms/getAll", "/lessonPrograms/getAll");
+        if (programs == null) {
+            return null;
+        }
+        long latestTerm = Long.MIN_VALUE;
+        for (JsonNode program : programs) {
+            latestTerm = Math.max(latestTerm, program.path("educationTerm").path("id").asLong());
+        }
+        List<Long> latest = new ArrayList<>();
+        for (JsonNode program : programs) {
+            if (program.path("educationTerm").path("id").asLong() == latestTerm) {
+                latest.add(program.path("lessonProgramId").asLong());
+            }
+        }
+        //two flows can read the catalogue at once, both arrays are the same
+        ids = latest.stream().mapToLong(Long::longValue).toArray();
+        lessonProgramIds = ids;
+        return ids;
+    }
+}
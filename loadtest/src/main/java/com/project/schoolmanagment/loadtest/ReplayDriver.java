@@ -0,0 +1,268 @@
+package com.project.schoolmanagment.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Re-issues a traffic capture of the app (TrafficCaptureFilter) against a test instance at 1x or Nx speed.
+ * <p>
+ * Captured users are mapped to the gen.* users of the dataset by role, teachers seen on the meeting endpoints
+ * to the advisors. Sanitized values are filled back in: $str:n with n letters, $date with a future date and
+ * $secret with the password. The latency of every endpoint is reported next to a baseline: the histograms
+ * saved by an earlier run (loadtest.replay.baseline), or the latencies written into the capture otherwise.
+ */
+public class ReplayDriver {
+
+    private static final String LOGIN_ENDPOINT = "POST /auth/login";
+    private static final String STRING = "$str:";
+    private static final String DATE = "$date";
+    private static final String SECRET = "$secret";
+
+    private final LoadTestConfig config;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyReport report = new LatencyReport();
+    private final ApiClient client;
+    //user key of the capture -> username on the test instance
+    private final Map<String, String> users = new HashMap<>();
+    private final AtomicLong skipped = new AtomicLong();
+
+    ReplayDriver(LoadTestConfig config) {
+        this.config = config;
+        this.client = new ApiClient(config, report);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        System.out.println("replay: " + config.replayFile + " at " + config.replaySpeed + "x against " + config.baseUrl);
+        new ReplayDriver(config).run();
+    }
+
+    void run() throws IOException, InterruptedException {
+        List<JsonNode> requests = read(Paths.get(config.replayFile));
+        if (requests.isEmpty()) {
+            System.out.println("nothing to replay");
+            return;
+        }
+        mapUsers(requests);
+        long capturedMillis = requests.get(requests.size() - 1).path("ts").asLong() - requests.get(0).path("ts").asLong();
+        System.out.printf("%d requests of %d users over %.1f s of captured traffic%n",
+                requests.size(), users.size(), capturedMillis / 1000.0);
+
+        replay(requests);
+
+        report.print(System.out);
+        System.out.println("skipped " + skipped.get() + " requests of unmapped users");
+        Map<String, Histogram> current = report.endpointHistograms();
+        if (!config.replaySave.isEmpty()) {
+            HistogramComparison.save(current, Paths.get(config.replaySave));
+            System.out.println("histograms saved to " + config.replaySave);
+        }
+        if (config.replayBaseline.isEmpty()) {
+            HistogramComparison.print(System.out, "captured", capturedHistograms(requests), current);
+        } else {
+            HistogramComparison.print(System.out, config.replayBaseline,
+                    HistogramComparison.load(Paths.get(config.replayBaseline)), current);
+        }
+        if (!config.histogramDir.isEmpty()) {
+            report.writeHistograms(config.histogramDir);
+        }
+    }
+
+    private List<JsonNode> read(Path file) throws IOException {
+        List<JsonNode> requests = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    requests.add(objectMapper.readTree(line));
+                }
+            }
+        }
+        //the writer thread keeps the order of arrival, not of the start times
+        requests.sort(Comparator.comparingLong(request -> request.path("ts").asLong()));
+        return requests;
+    }
+
+    private void mapUsers(List<JsonNode> requests) {
+        Map<String, String> roles = new HashMap<>();
+        Set<String> advisors = new HashSet<>();
+        for (JsonNode request : requests) {
+            String userKey = request.path("u").textValue();
+            String role = request.path("r").textValue();
+            if (userKey != null && role != null) {
+                roles.putIfAbsent(userKey, role);
+                if (request.path("e").asText().startsWith("/meet")) {
+                    advisors.add(userKey);
+                }
+            }
+        }
+        int students = 0;
+        int teachers = 0;
+        int advisorCount = 0;
+        int otherTeachers = Math.max(1, config.teacherCount - config.advisorCount);
+        for (Map.Entry<String, String> entry : roles.entrySet()) {
+            String username;
+            switch (entry.getValue()) {
+                case "STUDENT":
+                    username = "gen.student." + (1 + students++ % config.studentCount);
+                    break;
+                case "TEACHER":
+                    username = advisors.contains(entry.getKey())
+                            ? "gen.teacher." + (1 + advisorCount++ % config.advisorCount)
+                            : "gen.teacher." + (config.advisorCount + 1 + teachers++ % otherTeachers);
+                    break;
+                default:
+                    username = config.replayUser(entry.getValue());
+                    if (username != null) {
+                        client.addCredentials(username, config.replayPassword(entry.getValue()));
+                    }
+            }
+            if (username != null) {
+                users.put(entry.getKey(), username);
+            }
+        }
+    }
+
+    private void replay(List<JsonNode> requests) throws InterruptedException {
+        //unbounded queue, a request is never dropped because the app is slow
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(config.concurrency, config.concurrency,
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        long capturedStart = requests.get(0).path("ts").asLong();
+        long start = System.nanoTime();
+        long maxLag = 0;
+        for (JsonNode request : requests) {
+            long due = start + (long) ((request.path("ts").asLong() - capturedStart) * 1_000_000 / config.replaySpeed);
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else {
+                maxLag = Math.max(maxLag, -wait);
+            }
+            workers.execute(() -> {
+                try {
+                    send(request);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.HOURS);
+        System.out.printf("replayed in %.1f s, max dispatch lag %.1f ms%n",
+                (System.nanoTime() - start) / 1e9, maxLag / 1e6);
+    }
+
+    private void send(JsonNode request) throws InterruptedException {
+        String userKey = request.path("u").textValue();
+        String username = userKey == null ? null : users.get(userKey);
+        String endpoint = request.path("m").asText() + " " + request.path("e").asText();
+        if (LOGIN_ENDPOINT.equals(endpoint)) {
+            if (username == null) {
+                skipped.incrementAndGet();
+            } else {
+                client.login(username);
+            }
+            return;
+        }
+        if (userKey != null && username == null) {
+            skipped.incrementAndGet();
+            return;
+        }
+        JsonNode body = request.get("b");
+        client.send(username, endpoint, path(request), request.path("m").asText(),
+                body == null || body.isTextual() ? null : fill(body));
+    }
+
+    private String path(JsonNode request) {
+        StringBuilder path = new StringBuilder();
+        for (String segment : request.path("p").asText().split("/", -1)) {
+            if (path.length() > 0 || !segment.isEmpty()) {
+                path.append('/');
+            }
+            path.append(encode(fill(segment)));
+        }
+        char separator = '?';
+        Iterator<Map.Entry<String, JsonNode>> parameters = request.path("q").fields();
+        while (parameters.hasNext()) {
+            Map.Entry<String, JsonNode> parameter = parameters.next();
+            path.append(separator).append(encode(parameter.getKey())).append('=')
+                    .append(encode(fill(parameter.getValue().asText())));
+            separator = '&';
+        }
+        return path.toString();
+    }
+
+    private String fill(String value) {
+        if (value.startsWith(STRING)) {
+            int length = Integer.parseInt(value.substring(STRING.length()));
+            StringBuilder builder = new StringBuilder();
+            while (builder.length() < length) {
+                builder.append("Replay");
+            }
+            return builder.substring(0, Math.max(1, length));
+        }
+        if (DATE.equals(value)) {
+            return LocalDate.now().plusDays(30).toString();
+        }
+        return SECRET.equals(value) ? config.password : value;
+    }
+
+    private JsonNode fill(JsonNode node) {
+        if (node.isObject()) {
+            ObjectNode filled = objectMapper.createObjectNode();
+            node.fields().forEachRemaining(field -> filled.set(field.getKey(), fill(field.getValue())));
+            return filled;
+        }
+        if (node.isArray()) {
+            ArrayNode filled = objectMapper.createArrayNode();
+            node.forEach(element -> filled.add(fill(element)));
+            return filled;
+        }
+        return node.isTextual() ? new TextNode(fill(node.asText())) : node;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    /**
+     * latency of the captured requests as the app saw them, in microseconds like the replayed ones
+     */
+    private static Map<String, Histogram> capturedHistograms(List<JsonNode> requests) {
+        Map<String, Histogram> histograms = new TreeMap<>();
+        for (JsonNode request : requests) {
+            String endpoint = request.path("m").asText() + " " + request.path("e").asText();
+            long micros = TimeUnit.MILLISECONDS.toMicros(Math.max(0, request.path("ms").asLong()));
+            histograms.computeIfAbsent(endpoint, key -> new Histogram(1, LatencyReport.HIGHEST_TRACKABLE, 3))
+                    .recordValue(Math.max(1, Math.min(LatencyReport.HIGHEST_TRACKABLE, micros)));
+        }
+        return histograms;
+    }
+}
@@ -0,0 +1,30 @@
+package com.project.schoolmanagment.loadtest;
+
+import java.util.Random;
+
+/**
+ * A student looks at the latest grades and the transcript.
+ */
+class StudentGradeCheckFlow implements Flow {
+
+    static final String NAME = "student-grade-check";
+
+    private final LoadTestConfig config;
+
+    StudentGradeCheckFlow(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean run(ApiClient client, Random random) throws InterruptedException {
+        String student = Users.student(config, random);
+        boolean ok = client.get(student, "GET /studentInfo/getAllForStudent",
+                "/studentInfo/getAllForStudent?page=0&size=10") != null;
+        return client.get(student, "GET /transcript/getForStudent", "/transcript/getForStudent") != null && ok;
+    }
+}
@@ -0,0 +1,51 @@
+package com.project.schoolmanagment.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A teacher opens the grade list and enters new exam results for one of the rows.
+ */
+class TeacherGradeEntryFlow implements Flow {
+
+    static final String NAME = "teacher-grade-entry";
+
+    private final LoadTestConfig config;
+
+    TeacherGradeEntryFlow(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean run(ApiClient client, Random random) throws InterruptedException {
+        String teacher = Users.teacher(config, random);
+        JsonNode page = client.get(teacher, "GET /studentInfo/getAllForTeacher",
+                "/studentInfo/getAllForTeacher?page=0&size=20");
+        if (page == null) {
+            return false;
+        }
+        JsonNode content = page.path("content");
+        if (content.size() == 0) {
+            //teachers of the running term only have no grades yet
+            return true;
+        }
+        JsonNode studentInfo = content.get(random.nextInt(content.size()));
+        Map<String, Object> request = new HashMap<>();
+        request.put("lessonId", studentInfo.path("lessonId").asLong());
+        request.put("educationTermId", studentInfo.path("educationTermId").asLong());
+        request.put("midtermExam", random.nextInt(1001) / 10.0);
+        request.put("finalExam", random.nextInt(1001) / 10.0);
+        request.put("absentee", random.nextInt(6));
+        request.put("infoNote", "Entered by the load test");
+        return client.post(teacher, "POST /studentInfo/update/{id}",
+                "/studentInfo/update/" + studentInfo.path("id").asLong(), request) != null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.project.schoolmanagment.loadtest;
+
+import java.util.Random;
+
+/**
+ * Usernames written by the dataset generator, numbered from 1.
+ */
+final class Users {
+
+    private Users() {
+    }
+
+    static String student(LoadTestConfig config, Random random) {
+        return "gen.student." + (1 + random.nextInt(config.studentCount));
+    }
+
+    static String teacher(LoadTestConfig config, Random random) {
+        return "gen.teacher." + (1 + random.nextInt(config.teacherCount));
+    }
+
+    static String advisor(LoadTestConfig config, Random random) {
+        return "gen.teacher." + (1 + random.nextInt(config.advisorCount));
+    }
+}
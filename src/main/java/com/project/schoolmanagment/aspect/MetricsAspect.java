@@ -0,0 +1,97 @@
+package com.project.schoolmanagment.aspect;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency, error and in-flight metrics of every controller and service method.
+ * Meters are created once per method and kept here, a call only updates them.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MetricsAspect {
+
+    private static final String LATENCY = "school.method.latency";
+    private static final String ERRORS = "school.method.errors";
+    private static final String IN_FLIGHT = "school.method.inflight";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, MethodMetrics> methodMetrics = new ConcurrentHashMap<>();
+
+    @Around("within(com.project.schoolmanagment.controller..*) " +
+            "&& @within(org.springframework.web.bind.annotation.RestController)")
+    public Object measureController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return measure(joinPoint, "controller");
+    }
+
+    @Around("within(com.project.schoolmanagment.service..*) " +
+            "&& @within(org.springframework.stereotype.Service)")
+    public Object measureService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return measure(joinPoint, "service");
+    }
+
+    private Object measure(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodMetrics metrics = methodMetrics.computeIfAbsent(method, m -> new MethodMetrics(layer, m));
+        metrics.inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            metrics.error(e);
+            throw e;
+        } finally {
+            metrics.latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            metrics.inFlight.decrementAndGet();
+        }
+    }
+
+    private class MethodMetrics {
+
+        private final String layer;
+        private final String className;
+        private final String methodName;
+        private final Timer latency;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        //exception type -> counter, ConflictException, ResourceNotFoundException, BadRequestException...
+        private final Map<Class<?>, Counter> errors = new ConcurrentHashMap<>();
+
+        private MethodMetrics(String layer, Method method) {
+            this.layer = layer;
+            this.className = method.getDeclaringClass().getSimpleName();
+            this.methodName = method.getName();
+            //p50/p95/p99 for dashboards, the histogram buckets let prometheus aggregate over instances
+            this.latency = Timer.builder(LATENCY)
+                    .tags("layer", layer, "class", className, "method", methodName)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            Gauge.builder(IN_FLIGHT, inFlight, AtomicInteger::get)
+                    .tags("layer", layer, "class", className, "method", methodName)
+                    .register(meterRegistry);
+        }
+
+        private void error(Throwable e){
+            errors.computeIfAbsent(e.getClass(), type -> Counter.builder(ERRORS)
+                    .tags("layer", layer, "class", className, "method", methodName,
+                            "exception", type.getSimpleName())
+                    .register(meterRegistry))
+                    .increment();
+        }
+    }
+}
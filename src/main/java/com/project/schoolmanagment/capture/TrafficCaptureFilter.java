@@ -0,0 +1,173 @@
+package com.project.schoolmanagment.capture;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import javax.annotation.PreDestroy;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Opt-in capture of the incoming traffic for replaying it against a test instance (loadtest module, ReplayDriver).
+ * One JSON line per request: time, think time since the previous request of the same user, method, endpoint,
+ * sanitized path/params/body, role, a keyed hash of the username, status and latency.
+ * Tokens, passwords and personal data are never written, see TrafficSanitizer.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnProperty(name = "traffic.capture.enabled", havingValue = "true")
+public class TrafficCaptureFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/auth/login";
+
+    private final ObjectMapper objectMapper;
+    private final TrafficSanitizer sanitizer;
+    private final TrafficCaptureWriter writer;
+    private final Mac userKeyMac;
+    private final double sampleRate;
+    private final int maxBodySize;
+    //user key -> time of the last request, for the think time; the least recently seen users are dropped
+    private final Map<String, Long> lastRequests;
+
+    public TrafficCaptureFilter(ObjectMapper objectMapper,
+                                @Value("${traffic.capture.file}") String file,
+                                @Value("${traffic.capture.sample-rate:1.0}") double sampleRate,
+                                @Value("${traffic.capture.queue-size:10000}") int queueSize,
+                                @Value("${traffic.capture.max-body-size:65536}") int maxBodySize,
+                                @Value("${traffic.capture.kept-params}") String keptParameters,
+                                @Value("${traffic.capture.user-key-secret:}") String userKeySecret,
+                                @Value("${traffic.capture.max-users:10000}") int maxUsers)
+            throws IOException, GeneralSecurityException {
+        this.objectMapper = objectMapper;
+        this.sanitizer = new TrafficSanitizer(objectMapper, keptParameters);
+        this.writer = new TrafficCaptureWriter(Paths.get(file), queueSize);
+        this.sampleRate = sampleRate;
+        this.maxBodySize = maxBodySize;
+        this.lastRequests = Collections.synchronizedMap(new LinkedHashMap<String, Long>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxUsers;
+            }
+        });
+        //without a configured secret the user keys are only stable until the next restart
+        byte[] secret = userKeySecret.isEmpty() ? new SecureRandom().generateSeed(32)
+                : userKeySecret.getBytes(StandardCharsets.UTF_8);
+        this.userKeyMac = Mac.getInstance("HmacSHA256");
+        this.userKeyMac.init(new SecretKeySpec(secret, "HmacSHA256"));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator")
+                || (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingRequestWrapper cachingRequest = new ContentCachingRequestWrapper(request, maxBodySize);
+        long timestamp = System.currentTimeMillis();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(cachingRequest, response);
+        } finally {
+            long latencyMillis = (System.nanoTime() - start) / 1_000_000;
+            writer.append(capture(cachingRequest, response.getStatus(), timestamp, latencyMillis));
+        }
+    }
+
+    private String capture(ContentCachingRequestWrapper request, int status, long timestamp, long latencyMillis)
+            throws IOException {
+        String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        byte[] body = request.getContentAsByteArray();
+        String userKey = userKey(request, body);
+
+        ObjectNode line = objectMapper.createObjectNode();
+        line.put("ts", timestamp);
+        if (userKey != null) {
+            Long last = lastRequests.put(userKey, timestamp);
+            if (last != null) {
+                line.put("think", timestamp - last);
+            }
+            line.put("u", userKey);
+        }
+        line.put("m", request.getMethod());
+        line.put("e", pattern == null ? "unmatched" : pattern);
+        line.put("p", sanitizer.path(request.getRequestURI(), pattern));
+        if (!request.getParameterMap().isEmpty()) {
+            ObjectNode parameters = line.putObject("q");
+            for (Map.Entry<String, String[]> parameter : request.getParameterMap().entrySet()) {
+                parameters.put(parameter.getKey(), sanitizer.parameter(parameter.getKey(), parameter.getValue()[0]));
+            }
+        }
+        if (body.length > 0) {
+            JsonNode shape = sanitizer.body(body);
+            if (shape == null) {
+                line.put("b", "$bytes:" + body.length);
+            } else {
+                line.set("b", shape);
+            }
+        }
+        Object role = request.getAttribute("role");
+        if (role != null) {
+            line.put("r", role.toString());
+        }
+        line.put("s", status);
+        line.put("ms", latencyMillis);
+        return objectMapper.writeValueAsString(line);
+    }
+
+    /**
+     * the username is never written, only a keyed hash so the replay can tell the users apart
+     */
+    private String userKey(HttpServletRequest request, byte[] body) {
+        Object username = request.getAttribute("username");
+        if (username == null && LOGIN_PATH.equals(request.getRequestURI()) && body.length > 0) {
+            try {
+                username = objectMapper.readTree(body).path("username").textValue();
+            } catch (IOException e) {
+                username = null;
+            }
+        }
+        if (username == null) {
+            return null;
+        }
+        byte[] hash;
+        synchronized (userKeyMac) {
+            hash = userKeyMac.doFinal(username.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 6; i++) {
+            builder.append(String.format("%02x", hash[i]));
+        }
+        return builder.toString();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,84 @@
+package com.project.schoolmanagment.capture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends captured lines to the capture file on its own thread, requests only put a line into a bounded queue.
+ * When the disk can not keep up lines are dropped instead of slowing the requests down.
+ */
+class TrafficCaptureWriter implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TrafficCaptureWriter.class);
+
+    private final BlockingQueue<String> queue;
+    private final Writer writer;
+    private final Thread thread;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running = true;
+
+    TrafficCaptureWriter(Path file, int queueSize) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.writer = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE));
+        this.thread = new Thread(this::drain, "traffic-capture-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+        LOGGER.info("Capturing traffic into {}", file.toAbsolutePath());
+    }
+
+    void append(String line) {
+        if (!queue.offer(line)) {
+            long count = dropped.incrementAndGet();
+            if (count % 1000 == 1) {
+                LOGGER.warn("Traffic capture queue is full, {} lines dropped so far", count);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            while (running || !queue.isEmpty()) {
+                String line = queue.poll(1, TimeUnit.SECONDS);
+                if (line != null) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+                //flushed whenever the queue runs empty, the file is readable while capturing
+                if (queue.isEmpty()) {
+                    writer.flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            LOGGER.error("Traffic capture stopped", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer.close();
+    }
+}
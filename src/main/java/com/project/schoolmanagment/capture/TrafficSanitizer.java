@@ -0,0 +1,121 @@
+package com.project.schoolmanagment.capture;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns captured values into something that can be stored without secrets or personal data.
+ * Numbers, booleans and times are kept, free text becomes $str:length, dates become $date
+ * (birthdays) and secrets become $secret. Values of the kept parameters (paging, sorting...) stay as they are.
+ */
+class TrafficSanitizer {
+
+    static final String STRING = "$str:";
+    static final String DATE = "$date";
+    static final String SECRET = "$secret";
+
+    private static final Pattern NUMBER = Pattern.compile("-?\\d+(\\.\\d+)?");
+    private static final Pattern TIME = Pattern.compile("\\d{2}:\\d{2}(:\\d{2})?");
+    private static final Pattern DATE_VALUE = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+    private static final Pattern SECRET_KEY = Pattern.compile("(?i).*(password|token|secret).*");
+
+    private final ObjectMapper objectMapper;
+    private final Set<String> keptParameters;
+
+    TrafficSanitizer(ObjectMapper objectMapper, String keptParameters) {
+        this.objectMapper = objectMapper;
+        this.keptParameters = new HashSet<>(Arrays.asList(keptParameters.split("\\s*,\\s*")));
+    }
+
+    String parameter(String name, String value) {
+        //first, a numeric password or PIN is a secret as well
+        if (SECRET_KEY.matcher(name).matches()) {
+            return SECRET;
+        }
+        if (keptParameters.contains(name) || NUMBER.matcher(value).matches()) {
+            return value;
+        }
+        return STRING + value.length();
+    }
+
+    /**
+     * /studentInfo/update/12 stays, /user/getUserByName/jane becomes /user/getUserByName/$str:4
+     */
+    String path(String uri, String pattern) {
+        if (pattern == null) {
+            return uri;
+        }
+        String[] segments = uri.split("/", -1);
+        String[] patternSegments = pattern.split("/", -1);
+        if (segments.length != patternSegments.length) {
+            return pattern;
+        }
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0) {
+                builder.append('/');
+            }
+            String patternSegment = patternSegments[i];
+            if (patternSegment.startsWith("{") && patternSegment.endsWith("}")) {
+                builder.append(parameter(patternSegment.substring(1, patternSegment.length() - 1), segments[i]));
+            } else {
+                builder.append(segments[i]);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @return shape of a JSON body, null when the body is not JSON
+     */
+    JsonNode body(byte[] content) {
+        try {
+            return shape(null, objectMapper.readTree(content));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private JsonNode shape(String key, JsonNode node) {
+        if (node == null) {
+            return null;
+        }
+        if (node.isObject()) {
+            ObjectNode shape = objectMapper.createObjectNode();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                shape.set(field.getKey(), shape(field.getKey(), field.getValue()));
+            }
+            return shape;
+        }
+        if (node.isArray()) {
+            ArrayNode shape = objectMapper.createArrayNode();
+            for (JsonNode element : node) {
+                shape.add(shape(key, element));
+            }
+            return shape;
+        }
+        //any value under a secret key, numbers and booleans too
+        if (key != null && SECRET_KEY.matcher(key).matches()) {
+            return objectMapper.getNodeFactory().textNode(SECRET);
+        }
+        if (node.isTextual()) {
+            String value = node.asText();
+            if (TIME.matcher(value).matches() || (key != null && keptParameters.contains(key))) {
+                return node;
+            }
+            return objectMapper.getNodeFactory().textNode(DATE_VALUE.matcher(value).matches() ? DATE : STRING + value.length());
+        }
+        return node;
+    }
+}
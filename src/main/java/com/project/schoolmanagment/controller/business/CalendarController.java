@@ -0,0 +1,27 @@
+package com.project.schoolmanagment.controller.business;
+
+import com.project.schoolmanagment.service.business.CalendarFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/calendar")
+@RequiredArgsConstructor
+public class CalendarController {
+
+    private final CalendarFeedService calendarFeedService;
+
+    //text/calendar of the caller's schedule, 304 with If-None-Match while the schedule is unchanged
+    @GetMapping("/feed")
+    @PreAuthorize("hasAnyAuthority('TEACHER', 'STUDENT')")
+    public void getFeed(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        calendarFeedService.writeFeed(request, response);
+    }
+}
@@ -0,0 +1,53 @@
+package com.project.schoolmanagment.controller.business;
+
+import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.business.RankingResponse;
+import com.project.schoolmanagment.service.business.ClassRankingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+@RestController
+@RequestMapping("/ranking")
+@RequiredArgsConstructor
+public class ClassRankingController {
+
+    private final ClassRankingService classRankingService;
+
+    @GetMapping("/getLessonRank/{lessonId}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'ASSISTANT_MANAGER', 'TEACHER')")
+    public ResponseMessage<RankingResponse> getLessonRank(@PathVariable Long lessonId,
+                                                          @RequestParam(value = "educationTermId") Long educationTermId,
+                                                          @RequestParam(value = "studentId") Long studentId){
+        return classRankingService.getLessonRank(lessonId, educationTermId, studentId);
+    }
+
+    @GetMapping("/getLessonTop/{lessonId}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'ASSISTANT_MANAGER', 'TEACHER')")
+    public List<RankingResponse> getLessonTop(@PathVariable Long lessonId,
+                                              @RequestParam(value = "educationTermId") Long educationTermId,
+                                              @RequestParam(value = "size", defaultValue = "10") int size){
+        return classRankingService.getLessonTop(lessonId, educationTermId, size);
+    }
+
+    @GetMapping("/getSchoolRank/{studentId}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'ASSISTANT_MANAGER', 'TEACHER')")
+    public ResponseMessage<RankingResponse> getSchoolRank(@PathVariable Long studentId){
+        return classRankingService.getSchoolRank(studentId);
+    }
+
+    @GetMapping("/getSchoolRankForStudent")
+    @PreAuthorize("hasAnyAuthority('STUDENT')")
+    public ResponseMessage<RankingResponse> getSchoolRankForStudent(HttpServletRequest request){
+        return classRankingService.getSchoolRankForStudent(request);
+    }
+
+    @GetMapping("/getSchoolTop")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'ASSISTANT_MANAGER', 'TEACHER')")
+    public List<RankingResponse> getSchoolTop(@RequestParam(value = "size", defaultValue = "10") int size){
+        return classRankingService.getSchoolTop(size);
+    }
+}
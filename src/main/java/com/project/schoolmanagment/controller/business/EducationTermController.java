@@ -1,9 +1,12 @@
 package com.project.schoolmanagment.controller.business;
 
 import com.project.schoolmanagment.payload.request.business.EducationTermRequest;
+import com.project.schoolmanagment.payload.request.business.TermRolloverRequest;
 import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
 import com.project.schoolmanagment.payload.response.business.EducationTermResponse;
+import com.project.schoolmanagment.payload.response.business.TermRolloverResponse;
 import com.project.schoolmanagment.service.business.EducationTermService;
+import com.project.schoolmanagment.service.business.TermRolloverService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -18,6 +21,7 @@ import java.util.List;
 public class EducationTermController {
 
     private final EducationTermService educationTermService;
+    private final TermRolloverService termRolloverService;
 
     @PostMapping("/save")
     @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER')")
@@ -25,6 +29,13 @@ public class EducationTermController {
         return educationTermService.saveEducationTerm(educationTermRequest);
     }
 
+    //copies the lesson programs of a term into another one, with dryRun=true only reports what would be copied
+    @PostMapping("/rollover")
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER')")
+    public ResponseMessage<TermRolloverResponse> rollover(@RequestBody @Valid TermRolloverRequest termRolloverRequest){
+        return termRolloverService.rollover(termRolloverRequest);
+    }
+
     @GetMapping("/getAll")
     @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER','TEACHER')")
     public List<EducationTermResponse> getAllEducationTerms(){
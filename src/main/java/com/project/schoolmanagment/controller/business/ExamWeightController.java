@@ -0,0 +1,38 @@
+package com.project.schoolmanagment.controller.business;
+
+import com.project.schoolmanagment.payload.request.business.ExamWeightRequest;
+import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.business.ExamWeightResponse;
+import com.project.schoolmanagment.service.business.ExamWeightService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.List;
+
+@RestController
+@RequestMapping("/examWeights")
+@RequiredArgsConstructor
+public class ExamWeightController {
+
+    private final ExamWeightService examWeightService;
+
+    @PostMapping("/save")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER')")
+    public ResponseMessage<ExamWeightResponse> saveExamWeight(@RequestBody @Valid ExamWeightRequest examWeightRequest){
+        return examWeightService.saveExamWeight(examWeightRequest);
+    }
+
+    @GetMapping("/getAll")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'ASSISTANT_MANAGER')")
+    public List<ExamWeightResponse> getAllExamWeights(){
+        return examWeightService.getAllExamWeights();
+    }
+
+    @DeleteMapping("/delete/{id}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER')")
+    public ResponseMessage deleteExamWeightById(@PathVariable Long id){
+        return examWeightService.deleteExamWeightById(id);
+    }
+}
@@ -0,0 +1,35 @@
+package com.project.schoolmanagment.controller.business;
+
+import com.project.schoolmanagment.payload.request.business.GradeRecomputationRequest;
+import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.business.GradeRecomputationResponse;
+import com.project.schoolmanagment.service.business.GradeRecomputationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/gradeRecomputation")
+@RequiredArgsConstructor
+public class GradeRecomputationController {
+
+    private final GradeRecomputationService gradeRecomputationService;
+
+    @PostMapping("/start")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER')")
+    public ResponseMessage<GradeRecomputationResponse> startJob(@RequestBody GradeRecomputationRequest gradeRecomputationRequest){
+        return gradeRecomputationService.startJob(gradeRecomputationRequest);
+    }
+
+    @GetMapping("/getById/{jobId}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER')")
+    public ResponseMessage<GradeRecomputationResponse> getJobById(@PathVariable Long jobId){
+        return gradeRecomputationService.getJobById(jobId);
+    }
+
+    @PostMapping("/resume/{jobId}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER')")
+    public ResponseMessage<GradeRecomputationResponse> resumeJob(@PathVariable Long jobId){
+        return gradeRecomputationService.resumeJob(jobId);
+    }
+}
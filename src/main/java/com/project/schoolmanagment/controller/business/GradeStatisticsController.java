@@ -0,0 +1,44 @@
+package com.project.schoolmanagment.controller.business;
+
+import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.business.GradeStatisticsResponse;
+import com.project.schoolmanagment.service.business.GradeStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/statistics")
+@RequiredArgsConstructor
+public class GradeStatisticsController {
+
+    private final GradeStatisticsService gradeStatisticsService;
+
+    @GetMapping("/getByLesson/{lessonId}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'ASSISTANT_MANAGER', 'TEACHER')")
+    public ResponseMessage<GradeStatisticsResponse> getStatisticsByLesson(
+            @PathVariable Long lessonId,
+            @RequestParam(value = "educationTermId", required = false) Long educationTermId){
+        return gradeStatisticsService.getStatisticsByLesson(lessonId, educationTermId);
+    }
+
+    @GetMapping("/getByTeacher/{teacherId}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'ASSISTANT_MANAGER', 'TEACHER')")
+    public ResponseMessage<GradeStatisticsResponse> getStatisticsByTeacher(
+            @PathVariable Long teacherId,
+            @RequestParam(value = "educationTermId", required = false) Long educationTermId){
+        return gradeStatisticsService.getStatisticsByTeacher(teacherId, educationTermId);
+    }
+
+    @GetMapping("/getByTerm/{educationTermId}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'ASSISTANT_MANAGER', 'TEACHER')")
+    public ResponseMessage<GradeStatisticsResponse> getStatisticsByTerm(@PathVariable Long educationTermId){
+        return gradeStatisticsService.getStatisticsByTerm(educationTermId);
+    }
+
+    @GetMapping("/getForSchool")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'ASSISTANT_MANAGER')")
+    public ResponseMessage<GradeStatisticsResponse> getStatisticsForSchool(){
+        return gradeStatisticsService.getStatisticsForSchool();
+    }
+}
@@ -0,0 +1,44 @@
+package com.project.schoolmanagment.controller.business;
+
+import com.project.schoolmanagment.payload.request.business.GradingSchemeRequest;
+import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.business.GradingSchemeResponse;
+import com.project.schoolmanagment.service.business.GradingSchemeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.List;
+
+@RestController
+@RequestMapping("/gradingSchemes")
+@RequiredArgsConstructor
+public class GradingSchemeController {
+
+    private final GradingSchemeService gradingSchemeService;
+
+    @PostMapping("/save")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER')")
+    public ResponseMessage<GradingSchemeResponse> saveGradingScheme(@RequestBody @Valid GradingSchemeRequest gradingSchemeRequest){
+        return gradingSchemeService.saveGradingScheme(gradingSchemeRequest);
+    }
+
+    @GetMapping("/getAll")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'ASSISTANT_MANAGER', 'TEACHER')")
+    public List<GradingSchemeResponse> getAllGradingSchemes(){
+        return gradingSchemeService.getAllGradingSchemes();
+    }
+
+    @DeleteMapping("/delete/{id}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER')")
+    public ResponseMessage deleteGradingSchemeById(@PathVariable Long id){
+        return gradingSchemeService.deleteGradingSchemeById(id);
+    }
+
+    @PostMapping("/applyCurve")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'TEACHER')")
+    public ResponseMessage applyCurve(@RequestParam Long lessonId, @RequestParam Long educationTermId){
+        return gradingSchemeService.applyCurve(lessonId, educationTermId);
+    }
+}
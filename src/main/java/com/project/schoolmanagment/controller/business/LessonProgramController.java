@@ -2,7 +2,11 @@ package com.project.schoolmanagment.controller.business;
 
 import com.project.schoolmanagment.payload.request.business.LessonProgramRequest;
 import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.business.LessonProgramFitResponse;
 import com.project.schoolmanagment.payload.response.business.LessonProgramResponse;
+import com.project.schoolmanagment.payload.response.business.LessonProgramSeatsResponse;
+import com.project.schoolmanagment.service.business.LessonProgramFitService;
+import com.project.schoolmanagment.service.business.LessonProgramRegistrationService;
 import com.project.schoolmanagment.service.business.LessonProgramService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -18,6 +22,8 @@ import java.util.List;
 public class LessonProgramController {
 
     private final LessonProgramService lessonProgramService;
+    private final LessonProgramRegistrationService lessonProgramRegistrationService;
+    private final LessonProgramFitService lessonProgramFitService;
 
 
     @PostMapping("/save")
@@ -54,6 +60,13 @@ public class LessonProgramController {
         return lessonProgramService.getAllUnassigned();
     }
 
+    //programs of the term that do not overlap the logged in student's programs
+    @GetMapping("/getFittingLessonPrograms")
+    @PreAuthorize("hasAnyAuthority('STUDENT')")
+    public List<LessonProgramFitResponse> getFittingLessonPrograms(@RequestParam(value = "educationTermId", required = false) Long educationTermId){
+        return lessonProgramFitService.getFittingLessonPrograms(educationTermId);
+    }
+
     @GetMapping("/getAllAssigned")
     @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'ASSISTANT_MANAGER', 'TEACHER', 'STUDENT')")
     public List<LessonProgramResponse> getAllAssigned(){
@@ -65,4 +78,16 @@ public class LessonProgramController {
     public ResponseMessage deleteLessonProgramById(@PathVariable Long id){
         return lessonProgramService.deleteLessonProgramById(id);
     }
+
+    @DeleteMapping("/deleteByEducationTerm/{educationTermId}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'ASSISTANT_MANAGER')")
+    public ResponseMessage<Integer> deleteAllLessonProgramsByEducationTerm(@PathVariable Long educationTermId){
+        return lessonProgramService.deleteAllLessonProgramsByEducationTerm(educationTermId);
+    }
+
+    @GetMapping("/seats/{id}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'ASSISTANT_MANAGER', 'TEACHER', 'STUDENT')")
+    public ResponseMessage<LessonProgramSeatsResponse> getSeats(@PathVariable Long id){
+        return lessonProgramRegistrationService.getSeats(id);
+    }
 }
@@ -0,0 +1,53 @@
+package com.project.schoolmanagment.controller.business;
+
+import com.project.schoolmanagment.payload.request.business.MeetOccurrenceRequest;
+import com.project.schoolmanagment.payload.request.business.MeetSeriesRequest;
+import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.business.MeetOccurrenceResponse;
+import com.project.schoolmanagment.payload.response.business.MeetSeriesResponse;
+import com.project.schoolmanagment.service.business.MeetSeriesService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/meetSeries")
+@RequiredArgsConstructor
+public class MeetSeriesController {
+
+    private final MeetSeriesService meetSeriesService;
+
+    @PostMapping("/save")
+    @PreAuthorize("hasAnyAuthority('TEACHER')")
+    public ResponseMessage<MeetSeriesResponse> saveMeetSeries(@RequestBody @Valid MeetSeriesRequest meetSeriesRequest) {
+        return meetSeriesService.saveMeetSeries(meetSeriesRequest);
+    }
+
+    //occurrences of the caller's series, e.g. getOccurrences?startDate=2024-09-01&endDate=2024-09-30
+    @GetMapping("/getOccurrences")
+    @PreAuthorize("hasAnyAuthority('TEACHER', 'STUDENT')")
+    public List<MeetOccurrenceResponse> getOccurrences(
+            @RequestParam(value = "startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(value = "endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return meetSeriesService.getOccurrencesOfCurrentUser(startDate, endDate);
+    }
+
+    //cancels or moves one occurrence
+    @PutMapping("/updateOccurrence/{seriesId}")
+    @PreAuthorize("hasAnyAuthority('TEACHER')")
+    public ResponseMessage<MeetOccurrenceResponse> updateOccurrence(@PathVariable Long seriesId,
+                                                                    @RequestBody @Valid MeetOccurrenceRequest meetOccurrenceRequest) {
+        return meetSeriesService.updateOccurrence(seriesId, meetOccurrenceRequest);
+    }
+
+    @DeleteMapping("/delete/{id}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'TEACHER')")
+    public ResponseMessage deleteById(@PathVariable Long id) {
+        return meetSeriesService.deleteById(id);
+    }
+}
@@ -1,9 +1,12 @@
 package com.project.schoolmanagment.controller.business;
 
 import com.project.schoolmanagment.payload.request.business.MeetingRequest;
+import com.project.schoolmanagment.payload.request.business.MeetingSlotRequest;
 import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
 import com.project.schoolmanagment.payload.response.business.MeetingResponse;
+import com.project.schoolmanagment.payload.response.business.MeetingSlotResponse;
 import com.project.schoolmanagment.service.business.MeetingService;
+import com.project.schoolmanagment.service.business.MeetingSlotService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +23,7 @@ import java.util.List;
 public class MeetingController {
 
     private final MeetingService meetingService;
+    private final MeetingSlotService meetingSlotService;
 
     @PostMapping("/save")
     @PreAuthorize("hasAnyAuthority('TEACHER')")
@@ -28,6 +32,13 @@ public class MeetingController {
         return meetingService.saveMeeting(request, meetingRequest);
     }
 
+    //earliest free slots of the advisor and the students, before saving a meeting
+    @PostMapping("/findCommonFreeSlots")
+    @PreAuthorize("hasAnyAuthority('TEACHER')")
+    public List<MeetingSlotResponse> findCommonFreeSlots(@RequestBody @Valid MeetingSlotRequest meetingSlotRequest) {
+        return meetingSlotService.getCommonFreeSlots(meetingSlotRequest);
+    }
+
     @GetMapping("/getAll")
     @PreAuthorize("hasAnyAuthority('ADMIN')")
     public List<MeetingResponse> getAll() {
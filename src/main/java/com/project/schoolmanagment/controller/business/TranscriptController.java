@@ -0,0 +1,42 @@
+package com.project.schoolmanagment.controller.business;
+
+import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.business.TranscriptResponse;
+import com.project.schoolmanagment.service.business.TranscriptService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+
+@RestController
+@RequestMapping("/transcript")
+@RequiredArgsConstructor
+public class TranscriptController {
+
+    private final TranscriptService transcriptService;
+
+    @GetMapping("/getGpa/{studentId}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'ASSISTANT_MANAGER', 'TEACHER')")
+    public ResponseMessage<TranscriptResponse> getGpaByStudentId(@PathVariable Long studentId){
+        return transcriptService.getGpaByStudentId(studentId);
+    }
+
+    @GetMapping("/getByStudentId/{studentId}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'ASSISTANT_MANAGER')")
+    public ResponseMessage<TranscriptResponse> getTranscriptByStudentId(@PathVariable Long studentId){
+        return transcriptService.getTranscriptByStudentId(studentId);
+    }
+
+    @GetMapping("/getForStudent")
+    @PreAuthorize("hasAnyAuthority('STUDENT')")
+    public ResponseMessage<TranscriptResponse> getTranscriptForStudent(HttpServletRequest request){
+        return transcriptService.getTranscriptForStudent(request);
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    public ResponseMessage rebuildTranscripts(){
+        return transcriptService.rebuildTranscripts();
+    }
+}
@@ -3,8 +3,11 @@ package com.project.schoolmanagment.controller.user;
 import com.project.schoolmanagment.payload.request.user.ChooseLessonProgramWithId;
 import com.project.schoolmanagment.payload.request.user.StudentRequest;
 import com.project.schoolmanagment.payload.request.user.StudentRequestWithoutPassword;
+import com.project.schoolmanagment.payload.request.user.StudentStatusRequest;
 import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.business.LessonProgramRegistrationResponse;
 import com.project.schoolmanagment.payload.response.user.StudentResponse;
+import com.project.schoolmanagment.service.business.LessonProgramRegistrationService;
 import com.project.schoolmanagment.service.user.StudentService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -13,6 +16,7 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.util.List;
 
 @RestController
 @RequestMapping("/student")
@@ -20,6 +24,7 @@ import javax.validation.Valid;
 public class StudentController {
 
     private final StudentService studentService;
+    private final LessonProgramRegistrationService lessonProgramRegistrationService;
 
     @PostMapping("/save")
     @PreAuthorize("hasAnyAuthority('ADMIN')")
@@ -53,12 +58,32 @@ public class StudentController {
         return studentService.addLessonProgram(request, chooseLessonProgramWithId);
     }
 
+    //registration rush: seat capacities and waitlists, the programs are processed on their registration lanes
+    @PostMapping("/registerLessonPrograms")
+    @PreAuthorize("hasAnyAuthority('STUDENT')")
+    public ResponseMessage<List<LessonProgramRegistrationResponse>> registerLessonPrograms(
+            @RequestBody @Valid ChooseLessonProgramWithId chooseLessonProgramWithId) {
+        return lessonProgramRegistrationService.register(chooseLessonProgramWithId);
+    }
+
+    @DeleteMapping("/dropLessonProgram/{lessonProgramId}")
+    @PreAuthorize("hasAnyAuthority('STUDENT')")
+    public ResponseMessage dropLessonProgram(@PathVariable Long lessonProgramId) {
+        return lessonProgramRegistrationService.dropLessonProgram(lessonProgramId);
+    }
+
     @GetMapping("/changeStatus")
     @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'ASSISTANT_MANAGER')")
     public ResponseMessage changeStatusOfStudent(@RequestParam Long id, @RequestParam boolean status){
         return studentService.changeStatusOfStudent(id, status);
     }
 
+    @PutMapping("/changeStatus")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'ASSISTANT_MANAGER')")
+    public ResponseMessage<Integer> changeStatusOfStudents(@RequestBody @Valid StudentStatusRequest studentStatusRequest){
+        return studentService.changeStatusOfStudents(studentStatusRequest);
+    }
+
 
 }
 
@@ -53,6 +53,14 @@ public class TeacherController {
         return teacherService.deleteAdvisorTeacherById(id);
     }
 
+    //without newAdvisorId the students are left without an advisor
+    @PutMapping("/reassignAdvisees/{id}")
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
+    public ResponseMessage<Integer> reassignAdvisees(@PathVariable Long id,
+                                                     @RequestParam(required = false) Long newAdvisorId){
+        return teacherService.reassignAdvisees(id, newAdvisorId);
+    }
+
 
 
 
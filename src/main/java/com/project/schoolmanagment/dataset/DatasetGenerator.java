@@ -0,0 +1,312 @@
+package com.project.schoolmanagment.dataset;
+
+import com.project.schoolmanagment.entity.enums.Day;
+import com.project.schoolmanagment.entity.enums.Gender;
+import com.project.schoolmanagment.entity.enums.RoleType;
+import com.project.schoolmanagment.entity.enums.Term;
+import com.project.schoolmanagment.jdbc.IdSequences;
+import com.project.schoolmanagment.service.business.TranscriptService;
+import com.project.schoolmanagment.service.helper.GradeCalculator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Seeded synthetic school written with batched JDBC inserts into the JPA schema.
+ * The same seed and scale give the same rows, so load tests and benchmarks share their data shapes.
+ * Generated users are named gen.teacher.N / gen.student.N and share dataset.password.
+ * <p>
+ * Sizes at scale 1: 200 teachers (20% advisors), 5000 students, 60 lessons, 4 terms,
+ * 5 lesson programs per student per term, 20 meetings per advisor and a grade row for every
+ * lesson of a finished term. Scale 10 gives 2000 teachers and 50000 students.
+ * <p>
+ * Runs before the in-memory aggregates are loaded, with the Spring profile "dataset"
+ * or from the command line with DatasetGeneratorCli.
+ */
+@Component
+@Profile("dataset")
+@RequiredArgsConstructor
+public class DatasetGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    static final String TEACHER_PREFIX = "gen.teacher.";
+    static final String STUDENT_PREFIX = "gen.student.";
+
+    //5 days x 8 slots of 50 minutes from 09:00, a teacher or a student never has two programs in one slot
+    private static final int SLOTS_PER_DAY = 8;
+    private static final Day[] DAYS = {Day.MONDAY, Day.TUESDAY, Day.WEDNESDAY, Day.THURSDAY, Day.FRIDAY};
+    private static final int SLOTS = SLOTS_PER_DAY * DAYS.length;
+    private static final int TERMS = 4;
+    private static final int PROGRAMS_PER_STUDENT = 5;
+    //the random picks put about 30 students in a program, the busy ones fill up in a registration rush
+    private static final int PROGRAM_CAPACITY = 40;
+    private static final int MEETINGS_PER_ADVISOR = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final GradeCalculator gradeCalculator;
+    private final TranscriptService transcriptService;
+    private final IdSequences idSequences;
+
+    @Value("${dataset.seed:42}")
+    private long seed;
+    @Value("${dataset.scale:1}")
+    private double scale;
+    @Value("${dataset.batch-size:1000}")
+    private int batchSize;
+    @Value("${dataset.password:Dataset123*}")
+    private String password;
+    @Value("${midterm.exam.impact.percentage}")
+    private Double midtermExamPercentage;
+    @Value("${final.exam.impact.percentage}")
+    private Double finalExamPercentage;
+
+    private Random random;
+
+    //one transaction, the pool hands out connections without auto commit
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void generate(){
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM t_user WHERE username = ?", Integer.class, STUDENT_PREFIX + 1);
+        if(existing != null && existing > 0){
+            LOGGER.info("Dataset already generated, skipping");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        random = new Random(seed);
+
+        int teacherCount = scaled(200);
+        int studentCount = scaled(5000);
+        int lessonCount = scaled(60);
+        int advisorCount = Math.max(1, teacherCount / 5);
+
+        long[] termIds = insertEducationTerms();
+        long[] lessonIds = insertLessons(lessonCount);
+        long[] teacherIds = insertUsers(RoleType.TEACHER, TEACHER_PREFIX, teacherCount, advisorCount, null);
+        long[] advisorIds = Arrays.copyOf(teacherIds, advisorCount);
+        long[] studentIds = insertUsers(RoleType.STUDENT, STUDENT_PREFIX, studentCount, 0, advisorIds);
+
+        //about 30 students per program, see slotOf and teacherOf for the timetable
+        int programsPerTerm = Math.max(lessonCount, studentCount * PROGRAMS_PER_STUDENT / 30);
+        List<Object[]> programs = new ArrayList<>();
+        List<Object[]> programLessons = new ArrayList<>();
+        List<Object[]> userPrograms = new ArrayList<>();
+        long programId = nextId("lesson_program", "id");
+        long[][] termProgramIds = new long[TERMS][programsPerTerm];
+        for (int t = 0; t < TERMS; t++) {
+            for (int p = 0; p < programsPerTerm; p++) {
+                int slot = slotOf(p);
+                LocalTime startTime = LocalTime.of(9, 0).plusHours(slot % SLOTS_PER_DAY);
+                termProgramIds[t][p] = programId;
+                programs.add(new Object[]{programId, DAYS[slot / SLOTS_PER_DAY].name(),
+                        Time.valueOf(startTime), Time.valueOf(startTime.plusMinutes(50)), PROGRAM_CAPACITY, termIds[t]});
+                programLessons.add(new Object[]{programId, lessonIds[p % lessonCount]});
+                userPrograms.add(new Object[]{teacherIds[teacherOf(p, t, programsPerTerm, teacherCount)], programId});
+                programId++;
+            }
+        }
+        batchInsert("INSERT INTO lesson_program (id, day, start_time, stop_time, capacity, education_term_id) VALUES (?, ?, ?, ?, ?, ?)", programs);
+        batchInsert("INSERT INTO lesson_program_lesson (lessonprogram_id, lesson_id) VALUES (?, ?)", programLessons);
+
+        //students pick programs with free slots and lessons they have not taken, grades for every finished term
+        List<Object[]> studentInfos = new ArrayList<>();
+        long studentInfoId = nextId("student_info", "id");
+        for (long studentId : studentIds) {
+            Set<Integer> takenLessons = new HashSet<>();
+            for (int t = 0; t < TERMS; t++) {
+                boolean[] usedSlots = new boolean[SLOTS];
+                int picked = 0;
+                for (int attempt = 0; attempt < programsPerTerm && picked < PROGRAMS_PER_STUDENT; attempt++) {
+                    int p = random.nextInt(programsPerTerm);
+                    int slot = slotOf(p);
+                    int lesson = p % lessonCount;
+                    if(usedSlots[slot] || takenLessons.contains(lesson)){
+                        continue;
+                    }
+                    usedSlots[slot] = true;
+                    takenLessons.add(lesson);
+                    picked++;
+                    userPrograms.add(new Object[]{studentId, termProgramIds[t][p]});
+                    //the last term is the running one, it has no grades yet
+                    if(t < TERMS - 1){
+                        studentInfos.add(studentInfo(studentInfoId++, studentId, teacherIds[teacherOf(p, t, programsPerTerm, teacherCount)],
+                                lessonIds[lesson], termIds[t]));
+                    }
+                }
+            }
+        }
+        batchInsert("INSERT INTO user_lesson_program (user_id, lesson_program_id) VALUES (?, ?)", userPrograms);
+        batchInsert("INSERT INTO student_info (id, absentee, midterm_exam, final_exam, exam_average, info_note, " +
+                "letter_grade, teacher_id, student_id, lesson_lesson_id, education_term_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", studentInfos);
+
+        insertMeetings(advisorIds, studentIds);
+
+        //ids are written explicitly, the id sequences have to continue after them
+        idSequences.alignAll();
+        transcriptService.rebuildTranscripts();
+        LOGGER.info("Dataset generated in {} ms: {} teachers, {} students, {} lessons, {} lesson programs, " +
+                        "{} enrollments, {} student infos",
+                System.currentTimeMillis() - start, teacherCount, studentCount, lessonCount, programs.size(),
+                userPrograms.size(), studentInfos.size());
+    }
+
+    /**
+     * programs come in blocks of SLOTS_PER_DAY, each block has one teacher and one program per hour,
+     * so the programs of a teacher never share a slot
+     */
+    private static int slotOf(int program){
+        int hour = program % SLOTS_PER_DAY;
+        int day = (program / SLOTS_PER_DAY + hour) % DAYS.length;
+        return day * SLOTS_PER_DAY + hour;
+    }
+
+    //blocks are shifted every term so that all teachers get programs, a teacher has at most one block per term
+    private static int teacherOf(int program, int term, int programsPerTerm, int teacherCount){
+        int blocksPerTerm = (programsPerTerm + SLOTS_PER_DAY - 1) / SLOTS_PER_DAY;
+        return (program / SLOTS_PER_DAY + term * blocksPerTerm) % teacherCount;
+    }
+
+    private int scaled(int base){
+        return Math.max(1, (int) Math.round(base * scale));
+    }
+
+    private long[] insertEducationTerms(){
+        long[] ids = new long[TERMS];
+        long id = nextId("education_term", "id");
+        List<Object[]> rows = new ArrayList<>();
+        LocalDate start = LocalDate.of(2023, 9, 18);
+        for (int t = 0; t < TERMS; t++) {
+            boolean fall = t % 2 == 0;
+            LocalDate startDate = start.plusMonths(6L * t);
+            ids[t] = id;
+            rows.add(new Object[]{id++, (fall ? Term.FALL_SEMESTER : Term.SPRING_SEMESTER).name(),
+                    Date.valueOf(startDate), Date.valueOf(startDate.plusWeeks(16)), Date.valueOf(startDate.minusWeeks(1))});
+        }
+        batchInsert("INSERT INTO education_term (id, term, start_date, end_date, last_registration_date) " +
+                "VALUES (?, ?, ?, ?, ?)", rows);
+        return ids;
+    }
+
+    private long[] insertLessons(int count){
+        long[] ids = new long[count];
+        long id = nextId("lesson", "lesson_id");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids[i] = id;
+            rows.add(new Object[]{id++, "Generated Lesson " + (i + 1), 2 + random.nextInt(5), random.nextInt(10) < 3});
+        }
+        batchInsert("INSERT INTO lesson (lesson_id, lesson_name, credit_score, is_compulsory) VALUES (?, ?, ?, ?)", rows);
+        return ids;
+    }
+
+    /**
+     * @param advisorCount first advisorCount users are advisor teachers
+     * @param advisorIds advisors assigned to students round robin, null for teachers
+     */
+    private long[] insertUsers(RoleType roleType, String prefix, int count, int advisorCount, long[] advisorIds){
+        Integer roleId = jdbcTemplate.queryForObject("SELECT id FROM roles WHERE role_type = ?", Integer.class, roleType.name());
+        //one hash for everybody, BCrypt per user would dominate the run time
+        String encodedPassword = passwordEncoder.encode(password);
+        String kind = roleType == RoleType.TEACHER ? "1" : "2";
+        long[] ids = new long[count];
+        long id = nextId("t_user", "id");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int number = i + 1;
+            ids[i] = id;
+            Gender gender = random.nextBoolean() ? Gender.MALE : Gender.FEMALE;
+            LocalDate birthDay = roleType == RoleType.TEACHER
+                    ? LocalDate.of(1960, 1, 1).plusDays(random.nextInt(365 * 35))
+                    : LocalDate.of(2000, 1, 1).plusDays(random.nextInt(365 * 8));
+            rows.add(new Object[]{id++, prefix + number,
+                    String.format("%s%02d-%02d-%04d", kind, number / 1_000_000, number / 10_000 % 100, number % 10_000),
+                    "Name" + number, "Surname" + number, Date.valueOf(birthDay), "City" + random.nextInt(80),
+                    encodedPassword,
+                    String.format("%s%02d-%03d-%04d", kind, number / 10_000_000, number / 10_000 % 1000, number % 10_000),
+                    prefix + number + "@dataset.school", false,
+                    advisorIds == null ? null : "Mother" + number, advisorIds == null ? null : "Father" + number,
+                    advisorIds == null ? 0 : 1000 + number, true, i < advisorCount,
+                    advisorIds == null ? null : advisorIds[i % advisorIds.length], gender.name(), roleId});
+        }
+        batchInsert("INSERT INTO t_user (id, username, ssn, name, surname, birth_day, birth_place, password, " +
+                "phone_number, email, built_in, mother_name, father_name, student_number, is_active, is_advisor, " +
+                "advisor_teacher_id, gender, user_role_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        return ids;
+    }
+
+    private Object[] studentInfo(long id, long studentId, long teacherId, long lessonId, long termId){
+        double midtermExam = exam();
+        double finalExam = exam();
+        Double average = gradeCalculator.calculateAverageNote(midtermExam, finalExam, midtermExamPercentage, finalExamPercentage);
+        return new Object[]{id, random.nextInt(8), midtermExam, finalExam, average, null,
+                gradeCalculator.checkLetterGrade(average).name(), teacherId, studentId, lessonId, termId};
+    }
+
+    //roughly normal around 65, whole points in [0, 100]
+    private double exam(){
+        return Math.max(0, Math.min(100, Math.round(65 + random.nextGaussian() * 15)));
+    }
+
+    private void insertMeetings(long[] advisorIds, long[] studentIds){
+        List<Object[]> meets = new ArrayList<>();
+        List<Object[]> meetStudents = new ArrayList<>();
+        long id = nextId("meet", "id");
+        LocalDate firstDay = LocalDate.of(2023, 9, 18);
+        for (int a = 0; a < advisorIds.length; a++) {
+            for (int m = 0; m < MEETINGS_PER_ADVISOR; m++) {
+                //one meeting per advisor per week, never overlapping
+                LocalDate date = firstDay.plusWeeks(m).plusDays(random.nextInt(5));
+                LocalTime startTime = LocalTime.of(13 + random.nextInt(4), 0);
+                meets.add(new Object[]{id, "Advisory meeting " + (m + 1), Date.valueOf(date),
+                        Time.valueOf(startTime), Time.valueOf(startTime.plusMinutes(30)), advisorIds[a]});
+                //advisees of advisor a are the students a, a + advisors, a + 2 * advisors...
+                Set<Integer> attendees = new TreeSet<>();
+                int attendeeCount = 1 + random.nextInt(3);
+                for (int s = 0; s < attendeeCount; s++) {
+                    int index = a + advisorIds.length * random.nextInt(Math.max(1, studentIds.length / advisorIds.length));
+                    if(index < studentIds.length){
+                        attendees.add(index);
+                    }
+                }
+                for (int index : attendees) {
+                    meetStudents.add(new Object[]{id, studentIds[index]});
+                }
+                id++;
+            }
+        }
+        batchInsert("INSERT INTO meet (id, description, date, start_time, stop_time, advisory_teacher_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", meets);
+        batchInsert("INSERT INTO meet_student_table (meet_id, student_id) VALUES (?, ?)", meetStudents);
+    }
+
+    private long nextId(String table, String idColumn){
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(" + idColumn + ") FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows){
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + batchSize)));
+        }
+    }
+}
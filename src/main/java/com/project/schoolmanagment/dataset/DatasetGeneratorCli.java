@@ -0,0 +1,27 @@
+package com.project.schoolmanagment.dataset;
+
+import com.project.schoolmanagment.SchoolManagementApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Generates the dataset without starting the web server and exits, e.g.
+ * <pre>
+ * java -cp school-managment-b181.jar -Dloader.main=com.project.schoolmanagment.dataset.DatasetGeneratorCli \
+ *      org.springframework.boot.loader.PropertiesLauncher --dataset.scale=10 --dataset.seed=42
+ * </pre>
+ * The database is the one of application.properties, override with --spring.datasource.url=...
+ */
+public class DatasetGeneratorCli {
+
+    public static void main(String[] args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SchoolManagementApplication.class)
+                .profiles("dataset")
+                .web(WebApplicationType.NONE)
+                .run(args);
+        //generation runs on ApplicationReadyEvent, it is finished when run returns
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -3,10 +3,13 @@ package com.project.schoolmanagment.entity.concretes.business;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.project.schoolmanagment.entity.enums.Term;
+import com.project.schoolmanagment.entity.generator.PooledSequenceGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
@@ -21,7 +24,9 @@ import java.util.List;
 public class EducationTerm {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "education_term_seq")
+    @GenericGenerator(name = "education_term_seq", strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "education_term_seq"))
     private Long id;
 
     @NotNull(message = "Education term must not be empty")
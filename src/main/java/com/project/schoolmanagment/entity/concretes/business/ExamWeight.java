@@ -0,0 +1,41 @@
+package com.project.schoolmanagment.entity.concretes.business;
+
+import com.project.schoolmanagment.entity.generator.PooledSequenceGenerator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.*;
+
+/**
+ * Midterm/final impact for a lesson, an education term or a lesson in one term.
+ * Missing lesson or term means the weight applies to every lesson/term.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"lesson_id", "education_term_id"}))
+public class ExamWeight {
+
+    @Id
+    @GeneratedValue(generator = "exam_weight_seq")
+    @GenericGenerator(name = "exam_weight_seq", strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "exam_weight_seq"))
+    private Long id;
+
+    @Column(name = "lesson_id")
+    private Long lessonId;
+
+    @Column(name = "education_term_id")
+    private Long educationTermId;
+
+    private Double midtermPercentage;
+
+    private Double finalPercentage;
+
+}
@@ -0,0 +1,25 @@
+package com.project.schoolmanagment.entity.concretes.business;
+
+import com.project.schoolmanagment.entity.enums.Note;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Embeddable;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GradeBoundary {
+
+    @Enumerated(EnumType.STRING)
+    private Note note;
+
+    private Double lowerBound;
+
+}
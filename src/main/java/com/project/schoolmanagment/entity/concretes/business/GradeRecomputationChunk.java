@@ -0,0 +1,48 @@
+package com.project.schoolmanagment.entity.concretes.business;
+
+import com.project.schoolmanagment.entity.generator.PooledSequenceGenerator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.*;
+
+/**
+ * One id range of one lesson in one term, recomputed with a single UPDATE.
+ * Chunks are persisted so that a job can continue with the pending ones after a crash.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(indexes = @Index(columnList = "job_id, done"))
+public class GradeRecomputationChunk {
+
+    @Id
+    @GeneratedValue(generator = "grade_recomputation_chunk_seq")
+    @GenericGenerator(name = "grade_recomputation_chunk_seq", strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "grade_recomputation_chunk_seq"))
+    private Long id;
+
+    @Column(name = "job_id")
+    private Long jobId;
+
+    private Long lessonId;
+
+    private Long educationTermId;
+
+    private Long lowId;
+
+    private Long highId;
+
+    private Double midtermPercentage;
+
+    private Double finalPercentage;
+
+    private boolean done;
+
+}
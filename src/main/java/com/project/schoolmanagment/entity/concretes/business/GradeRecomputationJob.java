@@ -0,0 +1,51 @@
+package com.project.schoolmanagment.entity.concretes.business;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.project.schoolmanagment.entity.enums.JobStatus;
+import com.project.schoolmanagment.entity.generator.PooledSequenceGenerator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GradeRecomputationJob {
+
+    @Id
+    @GeneratedValue(generator = "grade_recomputation_job_seq")
+    @GenericGenerator(name = "grade_recomputation_job_seq", strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "grade_recomputation_job_seq"))
+    private Long id;
+
+    //null means every lesson/term
+    private Long lessonId;
+
+    private Long educationTermId;
+
+    @Enumerated(EnumType.STRING)
+    private JobStatus status;
+
+    private Integer totalChunks;
+
+    private Integer completedChunks;
+
+    private Long updatedRows;
+
+    private String errorMessage;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime startedAt;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime finishedAt;
+
+}
@@ -0,0 +1,46 @@
+package com.project.schoolmanagment.entity.concretes.business;
+
+import com.project.schoolmanagment.entity.enums.GradingType;
+import com.project.schoolmanagment.entity.generator.PooledSequenceGenerator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.*;
+import java.util.List;
+
+/**
+ * Letter grade boundaries for a lesson, an education term or a lesson in one term.
+ * Scores under the lowest boundary get FF.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"lesson_id", "education_term_id"}))
+public class GradingScheme {
+
+    @Id
+    @GeneratedValue(generator = "grading_scheme_seq")
+    @GenericGenerator(name = "grading_scheme_seq", strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "grading_scheme_seq"))
+    private Long id;
+
+    @Column(name = "lesson_id")
+    private Long lessonId;
+
+    @Column(name = "education_term_id")
+    private Long educationTermId;
+
+    @Enumerated(EnumType.STRING)
+    private GradingType gradingType;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "grading_scheme_boundary", joinColumns = @JoinColumn(name = "grading_scheme_id"))
+    private List<GradeBoundary> boundaries;
+
+}
@@ -1,15 +1,20 @@
 package com.project.schoolmanagment.entity.concretes.business;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.project.schoolmanagment.entity.generator.PooledSequenceGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.util.Set;
 
 @Entity
+@DynamicUpdate
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -17,9 +22,16 @@ import java.util.Set;
 public class Lesson {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "lesson_seq")
+    @GenericGenerator(name = "lesson_seq", strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "lesson_seq"))
     private Long lessonId;
 
+    @Version
+    @JsonIgnore
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     private String lessonName;
 
     private Integer creditScore;
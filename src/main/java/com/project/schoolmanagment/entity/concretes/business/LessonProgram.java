@@ -4,7 +4,10 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.project.schoolmanagment.entity.concretes.user.User;
 import com.project.schoolmanagment.entity.enums.Day;
+import com.project.schoolmanagment.entity.generator.PooledSequenceGenerator;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.time.LocalTime;
@@ -19,7 +22,9 @@ import java.util.Set;
 public class LessonProgram {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "lesson_program_seq")
+    @GenericGenerator(name = "lesson_program_seq", strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "lesson_program_seq"))
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -31,6 +36,9 @@ public class LessonProgram {
     @JsonFormat(shape = JsonFormat.Shape.STRING,pattern = "HH:mm", timezone = "US")
     private LocalTime stopTime;
 
+    //seats for students, null is unlimited
+    private Integer capacity;
+
     @ManyToMany
     @JoinTable(
             name = "lesson_program_lesson",
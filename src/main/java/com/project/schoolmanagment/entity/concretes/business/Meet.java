@@ -1,18 +1,24 @@
 package com.project.schoolmanagment.entity.concretes.business;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.project.schoolmanagment.entity.concretes.user.User;
+import com.project.schoolmanagment.entity.generator.PooledSequenceGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.List;
+import java.util.Set;
 
 @Entity
+@DynamicUpdate
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -20,9 +26,16 @@ import java.util.List;
 public class Meet {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "meet_seq")
+    @GenericGenerator(name = "meet_seq", strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "meet_seq"))
     private Long id;
 
+    @Version
+    @JsonIgnore
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     private String description;
 
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
@@ -37,13 +50,14 @@ public class Meet {
     @ManyToOne(cascade = CascadeType.PERSIST)
     private User advisoryTeacher;
 
+    //a set, a changed student list only writes the added and removed join rows
     @ManyToMany
     @JoinTable(
             name = "meet_student_table",
             joinColumns = @JoinColumn(name = "meet_id"),
             inverseJoinColumns = @JoinColumn(name = "student_id")
     )
-    private List<User>studentList;
+    private Set<User>studentList;
 
 
 
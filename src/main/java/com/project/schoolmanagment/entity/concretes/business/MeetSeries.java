@@ -0,0 +1,70 @@
+package com.project.schoolmanagment.entity.concretes.business;
+
+import com.project.schoolmanagment.entity.concretes.user.User;
+import com.project.schoolmanagment.entity.enums.MeetRecurrence;
+import com.project.schoolmanagment.entity.generator.PooledSequenceGenerator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+/**
+ * Meetings repeating every week or every second week of an education term, stored as this one rule.
+ * The occurrences are computed for the dates asked for, moved and cancelled ones are MeetSeriesOverride rows.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MeetSeries {
+
+    @Id
+    @GeneratedValue(generator = "meet_series_seq")
+    @GenericGenerator(name = "meet_series_seq", strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "meet_series_seq"))
+    private Long id;
+
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    private String description;
+
+    //the first occurrence, its day of week is the day of every occurrence
+    private LocalDate firstDate;
+
+    //the end of the education term, no occurrence after it
+    private LocalDate untilDate;
+
+    private LocalTime startTime;
+
+    private LocalTime stopTime;
+
+    @Enumerated(EnumType.STRING)
+    private MeetRecurrence recurrence;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private EducationTerm educationTerm;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private User advisoryTeacher;
+
+    @ManyToMany
+    @JoinTable(
+            name = "meet_series_student",
+            joinColumns = @JoinColumn(name = "meet_series_id"),
+            inverseJoinColumns = @JoinColumn(name = "student_id")
+    )
+    private Set<User> studentList;
+
+}
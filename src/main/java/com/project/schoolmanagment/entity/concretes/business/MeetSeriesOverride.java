@@ -0,0 +1,56 @@
+package com.project.schoolmanagment.entity.concretes.business;
+
+import com.project.schoolmanagment.entity.generator.PooledSequenceGenerator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * One occurrence of a meet series that does not take place as the rule says: cancelled, or moved to another
+ * date or time.
+ */
+@Entity
+@Table(name = "meet_series_override",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"series_id", "occurrence_date"}))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MeetSeriesOverride {
+
+    @Id
+    @GeneratedValue(generator = "meet_series_override_seq")
+    @GenericGenerator(name = "meet_series_override_seq", strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "meet_series_override_seq"))
+    private Long id;
+
+    //the database drops the overrides with the series
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private MeetSeries series;
+
+    //the date the rule gives the occurrence
+    @Column(name = "occurrence_date", nullable = false)
+    private LocalDate occurrenceDate;
+
+    private boolean cancelled;
+
+    //date and times of a moved occurrence, null when cancelled
+    private LocalDate date;
+
+    private LocalTime startTime;
+
+    private LocalTime stopTime;
+
+}
@@ -0,0 +1,40 @@
+package com.project.schoolmanagment.entity.concretes.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Counter of the changes to the schedule of a user: lesson programs, meetings and meet series. The calendar
+ * feed uses it as ETag, a user without a row has version 0. Only written by ScheduleVersionRepository.
+ */
+@Entity
+@Table(name = "user_schedule_version")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ScheduleVersion {
+
+    //no relation, a deleted user leaves a row nobody reads
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long version;
+
+    //UTC, the DTSTAMP of the feed
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+}
@@ -3,14 +3,19 @@ package com.project.schoolmanagment.entity.concretes.business;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.project.schoolmanagment.entity.concretes.user.User;
 import com.project.schoolmanagment.entity.enums.Note;
+import com.project.schoolmanagment.entity.generator.PooledSequenceGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 
 @Entity
+@DynamicUpdate
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -18,9 +23,17 @@ import javax.persistence.*;
 public class StudentInfo {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "student_info_seq")
+    @GenericGenerator(name = "student_info_seq", strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "student_info_seq"))
     private Long id;
 
+    //optimistic lock, bulk updates of grades bump it as well
+    @Version
+    @JsonIgnore
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     private Integer absentee;
 
     private Double midtermExam;
@@ -0,0 +1,52 @@
+package com.project.schoolmanagment.entity.concretes.business;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.project.schoolmanagment.entity.concretes.user.User;
+import com.project.schoolmanagment.entity.generator.PooledSequenceGenerator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.*;
+
+/**
+ * Credit weighted totals of one student in one education term.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "education_term_id"}))
+public class TermTranscript {
+
+    @Id
+    @GeneratedValue(generator = "term_transcript_seq")
+    @GenericGenerator(name = "term_transcript_seq", strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "term_transcript_seq"))
+    private Long id;
+
+    //the database drops the totals with the student or the term, removeGrade leaves empty rows behind
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    private User student;
+
+    @ManyToOne
+    @JoinColumn(name = "education_term_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private EducationTerm educationTerm;
+
+    private Integer totalCredit;
+
+    private Double totalGradePoint;
+
+    private Integer lessonCount;
+
+}
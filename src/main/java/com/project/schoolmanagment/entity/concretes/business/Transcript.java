@@ -0,0 +1,47 @@
+package com.project.schoolmanagment.entity.concretes.business;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.project.schoolmanagment.entity.concretes.user.User;
+import com.project.schoolmanagment.entity.generator.PooledSequenceGenerator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.*;
+
+/**
+ * Cumulative credit weighted totals of one student.
+ * GPA is totalGradePoint / totalCredit, rows are only changed incrementally by StudentInfo writes.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class Transcript {
+
+    @Id
+    @GeneratedValue(generator = "transcript_seq")
+    @GenericGenerator(name = "transcript_seq", strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "transcript_seq"))
+    private Long id;
+
+    //the database drops the totals with the student, no transcript row keeps a user from being deleted
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", unique = true)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    private User student;
+
+    private Integer totalCredit;
+
+    private Double totalGradePoint;
+
+    private Integer lessonCount;
+
+}
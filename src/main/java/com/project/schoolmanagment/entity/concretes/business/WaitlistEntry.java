@@ -0,0 +1,48 @@
+package com.project.schoolmanagment.entity.concretes.business;
+
+import com.project.schoolmanagment.entity.concretes.user.User;
+import com.project.schoolmanagment.entity.generator.PooledSequenceGenerator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A student waiting for a seat of a full lesson program, the smallest id gets the next free seat.
+ */
+@Entity
+@Table(name = "lesson_program_waitlist",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"lesson_program_id", "student_id"}))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(generator = "lesson_program_waitlist_seq")
+    @GenericGenerator(name = "lesson_program_waitlist_seq", strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "lesson_program_waitlist_seq"))
+    private Long id;
+
+    //the database drops the entries with the program or the student, the bulk deletes never load them
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private LessonProgram lessonProgram;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User student;
+
+    private LocalDateTime createdAt;
+
+}
@@ -7,7 +7,12 @@ import com.project.schoolmanagment.entity.concretes.business.LessonProgram;
 import com.project.schoolmanagment.entity.concretes.business.Meet;
 import com.project.schoolmanagment.entity.concretes.business.StudentInfo;
 import com.project.schoolmanagment.entity.enums.Gender;
+import com.project.schoolmanagment.entity.generator.PooledSequenceGenerator;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.OptimisticLock;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.time.LocalDate;
@@ -20,13 +25,21 @@ import java.util.Set;
 @AllArgsConstructor
 @Builder
 @Entity
+@DynamicUpdate
 @Table(name = "t_user")
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "t_user_seq")
+    @GenericGenerator(name = "t_user_seq", strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "t_user_seq"))
     private Long id;
 
+    @Version
+    @JsonIgnore
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(unique = true)
     private String username;
 
@@ -72,10 +85,14 @@ public class User {
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private UserRole userRole;
 
+    //enrollments and meetings change the collections below, they do not bump the version of the user
+    @JsonIgnore
+    @OptimisticLock(excluded = true)
     @OneToMany(mappedBy = "teacher", cascade = CascadeType.REMOVE)
     private List<StudentInfo>studentInfos;
 
     @JsonIgnore
+    @OptimisticLock(excluded = true)
     @ManyToMany
     @JoinTable(name = "user_lessonProgram",
                joinColumns = @JoinColumn(name = "user_id"),
@@ -84,6 +101,7 @@ public class User {
     private Set<LessonProgram>lessonProgramList;
 
     @JsonIgnore
+    @OptimisticLock(excluded = true)
     @ManyToMany
     @JoinTable(name = "meet_student_list",
                 joinColumns = @JoinColumn(name = "student_id"),
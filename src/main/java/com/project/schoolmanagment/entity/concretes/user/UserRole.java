@@ -1,10 +1,13 @@
 package com.project.schoolmanagment.entity.concretes.user;
 
 import com.project.schoolmanagment.entity.enums.RoleType;
+import com.project.schoolmanagment.entity.generator.PooledSequenceGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 
@@ -17,7 +20,9 @@ import javax.persistence.*;
 public class UserRole {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "roles_seq")
+    @GenericGenerator(name = "roles_seq", strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "roles_seq"))
     private Integer id;
 
     @Enumerated(EnumType.STRING)
@@ -0,0 +1,10 @@
+package com.project.schoolmanagment.entity.enums;
+
+public enum GradingType {
+
+    //lower bounds are exam averages
+    ABSOLUTE,
+    //lower bounds are percentiles of the class, 100 is the best student
+    CURVE
+
+}
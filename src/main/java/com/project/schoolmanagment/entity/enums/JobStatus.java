@@ -0,0 +1,6 @@
+package com.project.schoolmanagment.entity.enums;
+
+public enum JobStatus {
+
+    RUNNING, COMPLETED, FAILED
+}
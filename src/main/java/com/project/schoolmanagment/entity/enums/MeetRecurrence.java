@@ -0,0 +1,18 @@
+package com.project.schoolmanagment.entity.enums;
+
+public enum MeetRecurrence {
+
+    WEEKLY(1),
+    BIWEEKLY(2);
+
+    //weeks between two occurrences
+    public final int weeks;
+
+    MeetRecurrence(int weeks) {
+        this.weeks = weeks;
+    }
+
+    public int getWeeks(){
+        return weeks;
+    }
+}
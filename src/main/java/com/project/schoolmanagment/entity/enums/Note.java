@@ -2,6 +2,24 @@ package com.project.schoolmanagment.entity.enums;
 
 public enum Note {
 
-    AA,BA,BB,CB,CC,DC,DD,DZ,FF
+    AA(4.0),
+    BA(3.5),
+    BB(3.0),
+    CB(2.5),
+    CC(2.0),
+    DC(1.5),
+    DD(1.0),
+    DZ(0.0),
+    FF(0.0);
+
+    public final double gradePoint;
+
+    Note(double gradePoint) {
+        this.gradePoint = gradePoint;
+    }
+
+    public double getGradePoint(){
+        return gradePoint;
+    }
 
 }
@@ -0,0 +1,7 @@
+package com.project.schoolmanagment.entity.enums;
+
+public enum RegistrationStatus {
+
+    //QUEUED: still waiting in the registration queue when the answer was sent, it is processed later
+    REGISTERED, WAITLISTED, ALREADY_REGISTERED, ALREADY_WAITLISTED, TIME_CONFLICT, QUEUED
+}
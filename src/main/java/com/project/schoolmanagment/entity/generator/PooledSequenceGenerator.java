@@ -0,0 +1,31 @@
+package com.project.schoolmanagment.entity.generator;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Sequence ids handed out from a block of school.id.allocation-size values per nextval call,
+ * unlike identity columns they are known before the insert so hibernate can batch the inserts.
+ * Every entity names its own sequence with the sequence_name parameter.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String NAME = "com.project.schoolmanagment.entity.generator.PooledSequenceGenerator";
+
+    public static final String ALLOCATION_SIZE = "school.id.allocation-size";
+
+    private static final String DEFAULT_ALLOCATION_SIZE = "50";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Object allocationSize = serviceRegistry.getService(ConfigurationService.class).getSettings().get(ALLOCATION_SIZE);
+        params.setProperty(INCREMENT_PARAM, allocationSize == null ? DEFAULT_ALLOCATION_SIZE : allocationSize.toString());
+        params.setProperty(OPT_PARAM, "pooled");
+        super.configure(type, params, serviceRegistry);
+    }
+}
@@ -0,0 +1,23 @@
+package com.project.schoolmanagment.exception;
+
+import com.project.schoolmanagment.payload.messages.ErrorMessages;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * An update that lost the race on a versioned row is a conflict, not a server error.
+ * The error body is rendered like the one of ConflictException.
+ */
+@ControllerAdvice
+public class ConcurrentUpdateAdvice {
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public void handleConcurrentUpdate(HttpServletResponse response) throws IOException {
+        response.sendError(HttpStatus.CONFLICT.value(), ErrorMessages.CONCURRENT_UPDATE_MESSAGE);
+    }
+}
@@ -0,0 +1,70 @@
+package com.project.schoolmanagment.jdbc;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the id sequences of the entities ahead of the ids already in their tables: rows written
+ * while the ids came from identity columns, and rows the dataset generator inserts with explicit ids.
+ * Runs once after hibernate created the sequences, before the first request can insert anything.
+ */
+@Component
+public class IdSequences {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdSequences.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    //table, id column, sequence of every entity with sequence ids
+    private final List<String[]> sequences = new ArrayList<>();
+
+    public IdSequences(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        sessionFactory.getMetamodel().entityPersisters().values().forEach(persister -> {
+            IdentifierGenerator generator = persister.getIdentifierGenerator();
+            if (generator instanceof SequenceStyleGenerator && persister instanceof AbstractEntityPersister) {
+                AbstractEntityPersister entityPersister = (AbstractEntityPersister) persister;
+                sequences.add(new String[]{entityPersister.getTableName(), entityPersister.getIdentifierColumnNames()[0],
+                        ((SequenceStyleGenerator) generator).getDatabaseStructure().getName()});
+            }
+        });
+    }
+
+    @PostConstruct
+    public void alignAll(){
+        transactionTemplate.executeWithoutResult(status -> {
+            for (String[] sequence : sequences) {
+                align(sequence[0], sequence[1], sequence[2]);
+            }
+        });
+    }
+
+    /**
+     * the next block handed out starts after the largest id of the table, a sequence is never moved back.
+     * Also moved when equal: a fresh sequence at 1 would hand out 1 again.
+     */
+    private void align(String table, String idColumn, String sequence){
+        List<Long> moved = jdbcTemplate.queryForList("SELECT setval('" + sequence + "', max_id) FROM " +
+                "(SELECT MAX(" + idColumn + ") AS max_id FROM " + table + ") ids " +
+                "WHERE max_id >= (SELECT last_value FROM " + sequence + ")", Long.class);
+        if (!moved.isEmpty()) {
+            LOGGER.info("id sequence {} moved to {}", sequence, moved.get(0));
+        }
+    }
+}
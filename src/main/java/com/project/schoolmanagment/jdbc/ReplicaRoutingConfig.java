@@ -0,0 +1,86 @@
+package com.project.schoolmanagment.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured pool by one pool per database: the primary from spring.datasource.*,
+ * the replicas from datasource.replicas.urls, all with the spring.datasource.hikari.* settings.
+ * The pools are not beans of their own so that StatementTrackingConfig only wraps the data source
+ * the application uses and every statement is counted once.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig implements DisposableBean {
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, Environment environment, MeterRegistry registry){
+        HikariDataSource primary = pool(environment, registry, "primary", properties.determineUrl(),
+                properties.determineUsername(), properties.determinePassword());
+        primary.setDriverClassName(properties.determineDriverClassName());
+
+        String username = environment.getProperty("datasource.replicas.username", properties.determineUsername());
+        String password = environment.getProperty("datasource.replicas.password", properties.determinePassword());
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        String[] urls = StringUtils.commaDelimitedListToStringArray(environment.getProperty("datasource.replicas.urls", ""));
+        for (String url : urls) {
+            if (!url.trim().isEmpty()) {
+                String name = "replica-" + (replicas.size() + 1);
+                HikariDataSource replica = pool(environment, registry, name, url.trim(), username, password);
+                replica.setDriverClassName(properties.determineDriverClassName());
+                //nothing is ever written through these, the driver refuses it as well
+                replica.setReadOnly(true);
+                replicas.put(name, replica);
+            }
+        }
+
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas,
+                environment.getProperty("datasource.replicas.max-lag-ms", Long.class, 5000L),
+                environment.getProperty("datasource.replicas.check-timeout-seconds", Integer.class, 2),
+                registry);
+        routingDataSource.afterPropertiesSet();
+        routingDataSource.startHealthChecks(
+                environment.getProperty("datasource.replicas.health-check-interval-ms", Long.class, 5000L));
+        //the physical connection is taken at the first statement, when the transaction is already marked read-only
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private static HikariDataSource pool(Environment environment, MeterRegistry registry, String name,
+                                         String url, String username, String password){
+        HikariDataSource pool = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        //boot only binds the pool metrics of DataSource beans
+        pool.setMetricRegistry(registry);
+        return pool;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if(routingDataSource != null){
+            routingDataSource.close();
+        }
+    }
+}
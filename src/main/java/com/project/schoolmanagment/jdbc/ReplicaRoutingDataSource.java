@@ -0,0 +1,203 @@
+package com.project.schoolmanagment.jdbc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the connections of read-only transactions to the replicas, round robin over the healthy ones,
+ * and everything else to the primary. A replica is healthy when the last check could query it, its WAL
+ * receiver was streaming and its replay lag was under the limit; with no healthy replica the reads go to the
+ * primary as well.
+ * <p>
+ * The read-only flag of the transaction is only set after the transaction manager asked for a connection,
+ * so this has to sit behind a LazyConnectionDataSourceProxy, see ReplicaRoutingConfig.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    private static final String ROUTED = "school.datasource.routed";
+    private static final String REPLICA_LAG = "school.datasource.replica.lag";
+    private static final String REPLICA_HEALTHY = "school.datasource.replica.healthy";
+
+    //lag of a replica whose WAL receiver is not streaming, it replays nothing new however small its lag looks
+    private static final long NOT_STREAMING = -1;
+
+    //0 on the primary itself (same instance under a second name) and on a streaming replica that replayed everything
+    //it received, the replay timestamp alone grows while the primary is idle. A replica whose receiver disconnected
+    //has replayed all it received as well, so the receiver has to be streaming; its status is only visible to
+    //roles with pg_read_all_stats, without it every replica counts as not streaming and the reads go to the primary
+    private static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 "
+            + "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN " + NOT_STREAMING + " "
+            + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final long maxLagMillis;
+    private final int checkTimeoutSeconds;
+    private final ScheduledExecutorService checker;
+    private final Counter writes;
+    private final Counter fallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicaDataSources,
+                                    long maxLagMillis, int checkTimeoutSeconds, MeterRegistry registry) {
+        this.maxLagMillis = maxLagMillis;
+        this.checkTimeoutSeconds = checkTimeoutSeconds;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicaDataSources.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource, registry);
+            replicas.add(replica);
+            targets.put(name, dataSource);
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        //a name that is not a target must not silently end up on the primary
+        setLenientFallback(false);
+        this.writes = routed(registry, PRIMARY, "read-write");
+        this.fallbacks = routed(registry, PRIMARY, "fallback");
+        this.checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * checks the replicas once right away so the first reads do not wait for the schedule, then every interval
+     */
+    public void startHealthChecks(long intervalMillis) {
+        checkReplicas();
+        checker.scheduleWithFixedDelay(this::checkReplicas, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            return PRIMARY;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, size));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                replica.reads.increment();
+                return replica.name;
+            }
+        }
+        fallbacks.increment();
+        return PRIMARY;
+    }
+
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try {
+                replica.lagMillis = lagMillis(replica.dataSource);
+                replica.healthy = replica.lagMillis != NOT_STREAMING && replica.lagMillis <= maxLagMillis;
+                if (wasHealthy && replica.lagMillis == NOT_STREAMING) {
+                    LOGGER.warn("replica {} is not streaming from the primary, reads go to the other replicas or the primary",
+                            replica.name);
+                } else if (wasHealthy && !replica.healthy) {
+                    LOGGER.warn("replica {} is {} ms behind, reads go to the other replicas or the primary",
+                            replica.name, replica.lagMillis);
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.healthy = false;
+                if (wasHealthy) {
+                    LOGGER.warn("replica {} can not be reached, reads go to the other replicas or the primary: {}",
+                            replica.name, e.getMessage());
+                }
+            }
+            if (!wasHealthy && replica.healthy) {
+                LOGGER.info("replica {} takes reads, {} ms behind", replica.name, replica.lagMillis);
+            }
+        }
+    }
+
+    private long lagMillis(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(checkTimeoutSeconds);
+            try (ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                long lag = resultSet.getLong(1);
+                //the pool does not auto commit, end the transaction the query opened
+                connection.rollback();
+                return lag;
+            }
+        }
+    }
+
+    private static Counter routed(MeterRegistry registry, String target, String reason) {
+        return Counter.builder(ROUTED)
+                .description("connections handed out by the routing data source")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    @Override
+    public void close() throws IOException {
+        checker.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable) {
+                ((Closeable) replica.dataSource).close();
+            }
+        }
+        DataSource primary = (DataSource) getResolvedDefaultDataSource();
+        if (primary instanceof Closeable) {
+            ((Closeable) primary).close();
+        }
+    }
+
+    private static class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter reads;
+        //not healthy until the first check passed
+        private volatile boolean healthy;
+        private volatile long lagMillis;
+
+        private Replica(String name, DataSource dataSource, MeterRegistry registry) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.reads = routed(registry, name, "read");
+            Gauge.builder(REPLICA_LAG, this, replica -> replica.lagMillis)
+                    .description("replay lag of the replica at the last health check, -1 when it was not streaming")
+                    .baseUnit("milliseconds")
+                    .tag("replica", name)
+                    .register(registry);
+            Gauge.builder(REPLICA_HEALTHY, this, replica -> replica.healthy ? 1 : 0)
+                    .description("1 when the replica takes reads")
+                    .tag("replica", name)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.project.schoolmanagment.jdbc;
+
+/**
+ * Statement count, fetched/updated rows and DB time of the current HTTP request.
+ * Kept in a thread local, statements outside a request (startup, background jobs) are not counted.
+ */
+public class StatementStatistics {
+
+    private static final ThreadLocal<StatementStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statementCount;
+    private long rowCount;
+    private long dbNanos;
+
+    public static StatementStatistics begin(){
+        StatementStatistics statistics = new StatementStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static void end(){
+        CURRENT.remove();
+    }
+
+    /**
+     * @return statistics of the running request or null
+     */
+    public static StatementStatistics current(){
+        return CURRENT.get();
+    }
+
+    void addStatement(long nanos){
+        statementCount++;
+        dbNanos += nanos;
+    }
+
+    void addRows(long rows){
+        rowCount += rows;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public double getDbMillis() {
+        return Math.round(dbNanos / 10_000.0) / 100.0;
+    }
+
+    @Override
+    public String toString() {
+        return "statements=" + statementCount + ";rows=" + rowCount + ";dbMs=" + getDbMillis();
+    }
+}
@@ -0,0 +1,44 @@
+package com.project.schoolmanagment.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Opens the statement statistics of a request before security runs, so the user lookup of the
+ * token filter is counted too. Requests above the threshold are logged as possible N+1 queries.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class StatementStatisticsFilter extends OncePerRequestFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatementStatisticsFilter.class);
+
+    @Value("${jdbc.statistics.n-plus-one-threshold:30}")
+    private int nPlusOneThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        StatementStatistics statistics = StatementStatistics.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StatementStatistics.end();
+            if(statistics.getStatementCount() > nPlusOneThreshold){
+                LOGGER.warn("Possible N+1 in {} {}: {}", request.getMethod(), request.getRequestURI(), statistics);
+            }
+        }
+    }
+}
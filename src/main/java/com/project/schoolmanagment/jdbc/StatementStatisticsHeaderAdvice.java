@@ -0,0 +1,39 @@
+package com.project.schoolmanagment.jdbc;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the statement statistics as a debug header right before the body is written,
+ * after that the response may already be committed.
+ */
+@ControllerAdvice
+public class StatementStatisticsHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String HEADER = "X-DB-Statistics";
+
+    @Value("${jdbc.statistics.header-enabled:false}")
+    private boolean headerEnabled;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return headerEnabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        StatementStatistics statistics = StatementStatistics.current();
+        if(statistics != null){
+            response.getHeaders().set(HEADER, statistics.toString());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,30 @@
+package com.project.schoolmanagment.jdbc;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class StatementTrackingConfig {
+
+    /**
+     * static so that it is created before the data source, the pool stays the same bean underneath
+     */
+    @Bean
+    public static BeanPostProcessor statementTrackingPostProcessor(Environment environment){
+        long slowQueryMillis = environment.getProperty("jdbc.statistics.slow-query-threshold-ms", Long.class, 200L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if(bean instanceof DataSource && !(bean instanceof StatementTrackingDataSource)){
+                    return new StatementTrackingDataSource((DataSource) bean, slowQueryMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,120 @@
+package com.project.schoolmanagment.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.regex.Pattern;
+
+/**
+ * Wraps connections, statements and result sets in JDK proxies to time every execute call
+ * and count the rows read or written. Statements slower than the threshold are logged with
+ * literals replaced by '?', prepared statement binds are never logged.
+ */
+public class StatementTrackingDataSource extends DelegatingDataSource {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatementTrackingDataSource.class);
+
+    private static final Pattern LITERALS = Pattern.compile("'(?:[^']|'')*'|\\b\\d+(?:\\.\\d+)?\\b");
+
+    private final long slowQueryNanos;
+
+    public StatementTrackingDataSource(DataSource targetDataSource, long slowQueryMillis) {
+        super(targetDataSource);
+        this.slowQueryNanos = slowQueryMillis * 1_000_000;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection connection){
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if(result instanceof Statement){
+                        //prepared SQL is known now, plain statements get theirs on execute
+                        String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                        return wrapStatement((Statement) result, sql);
+                    }
+                    return result;
+                });
+    }
+
+    private Statement wrapStatement(Statement statement, String preparedSql){
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class :
+                statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        InvocationHandler handler = (proxy, method, args) -> {
+            if(!method.getName().startsWith("execute")){
+                Object result = invoke(statement, method, args);
+                return result instanceof ResultSet ? wrapResultSet((ResultSet) result) : result;
+            }
+            long start = System.nanoTime();
+            Object result = invoke(statement, method, args);
+            long elapsed = System.nanoTime() - start;
+
+            StatementStatistics statistics = StatementStatistics.current();
+            if(statistics != null){
+                statistics.addStatement(elapsed);
+                statistics.addRows(updatedRows(result));
+            }
+            if(elapsed >= slowQueryNanos){
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+                LOGGER.warn("Slow statement ({} ms): {}", elapsed / 1_000_000, redact(sql));
+            }
+            return result instanceof ResultSet ? wrapResultSet((ResultSet) result) : result;
+        };
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private ResultSet wrapResultSet(ResultSet resultSet){
+        return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(resultSet, method, args);
+                    if("next".equals(method.getName()) && Boolean.TRUE.equals(result)){
+                        StatementStatistics statistics = StatementStatistics.current();
+                        if(statistics != null){
+                            statistics.addRows(1);
+                        }
+                    }
+                    return result;
+                });
+    }
+
+    private static long updatedRows(Object result){
+        if(result instanceof Integer || result instanceof Long){
+            return Math.max(0, ((Number) result).longValue());
+        }
+        long rows = 0;
+        if(result instanceof int[]){
+            for (int count : (int[]) result) {
+                rows += Math.max(0, count);
+            }
+        }
+        return rows;
+    }
+
+    private static String redact(String sql){
+        return sql == null ? "<batch>" : LITERALS.matcher(sql).replaceAll("?");
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e){
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.project.schoolmanagment.payload.mappers;
+
+import com.project.schoolmanagment.entity.concretes.business.ExamWeight;
+import com.project.schoolmanagment.entity.concretes.business.GradeRecomputationJob;
+import com.project.schoolmanagment.payload.request.business.ExamWeightRequest;
+import com.project.schoolmanagment.payload.response.business.ExamWeightResponse;
+import com.project.schoolmanagment.payload.response.business.GradeRecomputationResponse;
+import lombok.Data;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+public class ExamWeightMapper {
+
+    public ExamWeight mapExamWeightRequestToExamWeight(ExamWeightRequest examWeightRequest){
+        return ExamWeight.builder()
+                .lessonId(examWeightRequest.getLessonId())
+                .educationTermId(examWeightRequest.getEducationTermId())
+                .midtermPercentage(examWeightRequest.getMidtermPercentage())
+                .finalPercentage(examWeightRequest.getFinalPercentage())
+                .build();
+    }
+
+    public ExamWeightResponse mapExamWeightToExamWeightResponse(ExamWeight examWeight){
+        return ExamWeightResponse.builder()
+                .id(examWeight.getId())
+                .lessonId(examWeight.getLessonId())
+                .educationTermId(examWeight.getEducationTermId())
+                .midtermPercentage(examWeight.getMidtermPercentage())
+                .finalPercentage(examWeight.getFinalPercentage())
+                .build();
+    }
+
+    public GradeRecomputationResponse mapJobToGradeRecomputationResponse(GradeRecomputationJob job){
+        double progress = job.getTotalChunks() == 0 ? 100.0 :
+                Math.round(10000.0 * job.getCompletedChunks() / job.getTotalChunks()) / 100.0;
+        return GradeRecomputationResponse.builder()
+                .jobId(job.getId())
+                .lessonId(job.getLessonId())
+                .educationTermId(job.getEducationTermId())
+                .status(job.getStatus())
+                .totalChunks(job.getTotalChunks())
+                .completedChunks(job.getCompletedChunks())
+                .updatedRows(job.getUpdatedRows())
+                .progressPercentage(progress)
+                .errorMessage(job.getErrorMessage())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
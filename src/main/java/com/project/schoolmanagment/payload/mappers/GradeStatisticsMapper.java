@@ -0,0 +1,30 @@
+package com.project.schoolmanagment.payload.mappers;
+
+import com.project.schoolmanagment.payload.response.business.GradeStatisticsResponse;
+import com.project.schoolmanagment.service.statistics.GradeDistribution;
+import lombok.Data;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+public class GradeStatisticsMapper {
+
+    public GradeStatisticsResponse mapGradeDistributionToGradeStatisticsResponse(GradeDistribution distribution){
+        //work on a copy so that every value belongs to the same state
+        GradeDistribution snapshot = distribution.copy();
+        return GradeStatisticsResponse.builder()
+                .count(snapshot.getCount())
+                .mean(round(snapshot.getMean()))
+                .median(snapshot.getQuantile(0.5))
+                .standardDeviation(round(snapshot.getStandardDeviation()))
+                .percentile25(snapshot.getQuantile(0.25))
+                .percentile75(snapshot.getQuantile(0.75))
+                .percentile90(snapshot.getQuantile(0.9))
+                .noteDistribution(snapshot.getNoteCounts())
+                .build();
+    }
+
+    private double round(double value){
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
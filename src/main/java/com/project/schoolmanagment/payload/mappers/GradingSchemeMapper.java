@@ -0,0 +1,47 @@
+package com.project.schoolmanagment.payload.mappers;
+
+import com.project.schoolmanagment.entity.concretes.business.GradeBoundary;
+import com.project.schoolmanagment.entity.concretes.business.GradingScheme;
+import com.project.schoolmanagment.entity.enums.Note;
+import com.project.schoolmanagment.payload.request.business.GradingSchemeRequest;
+import com.project.schoolmanagment.payload.response.business.GradingSchemeResponse;
+import lombok.Data;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Data
+@Component
+public class GradingSchemeMapper {
+
+    public GradingScheme mapGradingSchemeRequestToGradingScheme(GradingSchemeRequest gradingSchemeRequest){
+        return GradingScheme.builder()
+                .lessonId(gradingSchemeRequest.getLessonId())
+                .educationTermId(gradingSchemeRequest.getEducationTermId())
+                .gradingType(gradingSchemeRequest.getGradingType())
+                .boundaries(gradingSchemeRequest.getBoundaries()
+                        .entrySet()
+                        .stream()
+                        .map(entry -> new GradeBoundary(entry.getKey(), entry.getValue()))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    public GradingSchemeResponse mapGradingSchemeToGradingSchemeResponse(GradingScheme gradingScheme){
+        return GradingSchemeResponse.builder()
+                .id(gradingScheme.getId())
+                .lessonId(gradingScheme.getLessonId())
+                .educationTermId(gradingScheme.getEducationTermId())
+                .gradingType(gradingScheme.getGradingType())
+                .boundaries(mapBoundaries(gradingScheme))
+                .build();
+    }
+
+    public Map<Note, Double> mapBoundaries(GradingScheme gradingScheme){
+        Map<Note, Double> boundaries = new EnumMap<>(Note.class);
+        gradingScheme.getBoundaries().forEach(boundary -> boundaries.put(boundary.getNote(), boundary.getLowerBound()));
+        return boundaries;
+    }
+}
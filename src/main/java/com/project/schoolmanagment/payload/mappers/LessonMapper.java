@@ -18,6 +18,13 @@ public class LessonMapper {
                 .build();
     }
 
+    //sets the fields on the loaded entity, hibernate writes only the ones that changed
+    public void mapLessonRequestToUpdatedLesson(LessonRequest lessonRequest, Lesson lesson){
+        lesson.setLessonName(lessonRequest.getLessonName());
+        lesson.setCreditScore(lessonRequest.getCreditScore());
+        lesson.setIsCompulsory(lessonRequest.getIsCompulsory());
+    }
+
     public LessonResponse mapLessonToLessonResponse(Lesson lesson){
         return LessonResponse.builder()
                 .lessonId(lesson.getLessonId())
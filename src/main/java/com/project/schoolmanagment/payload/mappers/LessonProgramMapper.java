@@ -6,6 +6,7 @@ import com.project.schoolmanagment.entity.concretes.business.LessonProgram;
 import com.project.schoolmanagment.payload.request.business.LessonProgramRequest;
 import com.project.schoolmanagment.payload.response.business.LessonProgramResponse;
 import lombok.Data;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Component;
 
 import java.util.Set;
@@ -21,6 +22,7 @@ public class LessonProgramMapper {
                 .startTime(lessonProgramRequest.getStartTime())
                 .stopTime(lessonProgramRequest.getStopTime())
                 .day(lessonProgramRequest.getDay())
+                .capacity(lessonProgramRequest.getCapacity())
                 .lessons(lessonSet)
                 .educationTerm(educationTerm)
                 .build();
@@ -28,10 +30,13 @@ public class LessonProgramMapper {
     }
 
     public LessonProgramResponse mapLessonProgramToLessonProgramResponse(LessonProgram lessonProgram){
+     //the lessons are rendered after the transaction is closed
+     Hibernate.initialize(lessonProgram.getLessons());
      return LessonProgramResponse.builder()
              .day(lessonProgram.getDay())
              .startTime(lessonProgram.getStartTime())
              .stopTime(lessonProgram.getStopTime())
+             .capacity(lessonProgram.getCapacity())
              .lessonProgramId(lessonProgram.getId())
              .lessonName(lessonProgram.getLessons())
              .educationTerm(lessonProgram.getEducationTerm())
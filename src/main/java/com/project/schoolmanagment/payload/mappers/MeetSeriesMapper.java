@@ -0,0 +1,45 @@
+package com.project.schoolmanagment.payload.mappers;
+
+import com.project.schoolmanagment.entity.concretes.business.MeetSeries;
+import com.project.schoolmanagment.entity.concretes.user.User;
+import com.project.schoolmanagment.entity.enums.Day;
+import com.project.schoolmanagment.payload.request.business.MeetSeriesRequest;
+import com.project.schoolmanagment.payload.response.business.MeetSeriesResponse;
+import lombok.Data;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+@Component
+@Data
+public class MeetSeriesMapper {
+
+    public MeetSeries mapMeetSeriesRequestToMeetSeries(MeetSeriesRequest meetSeriesRequest){
+        return MeetSeries.builder()
+                .description(meetSeriesRequest.getDescription())
+                .firstDate(meetSeriesRequest.getFirstDate())
+                .startTime(meetSeriesRequest.getStartTime())
+                .stopTime(meetSeriesRequest.getStopTime())
+                .recurrence(meetSeriesRequest.getRecurrence())
+                .build();
+    }
+
+    public MeetSeriesResponse mapMeetSeriesToMeetSeriesResponse(MeetSeries meetSeries){
+        return MeetSeriesResponse.builder()
+                .id(meetSeries.getId())
+                .description(meetSeries.getDescription())
+                .day(Day.valueOf(meetSeries.getFirstDate().getDayOfWeek().name()))
+                .startTime(meetSeries.getStartTime())
+                .stopTime(meetSeries.getStopTime())
+                .recurrence(meetSeries.getRecurrence())
+                .firstDate(meetSeries.getFirstDate())
+                .untilDate(meetSeries.getUntilDate())
+                .educationTermId(meetSeries.getEducationTerm().getId())
+                .advisorTeacherId(meetSeries.getAdvisoryTeacher().getId())
+                .studentIds(meetSeries.getStudentList().stream()
+                        .map(User::getId)
+                        .sorted()
+                        .collect(Collectors.toList()))
+                .build();
+    }
+}
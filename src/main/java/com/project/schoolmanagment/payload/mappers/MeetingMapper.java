@@ -4,8 +4,11 @@ import com.project.schoolmanagment.entity.concretes.business.Meet;
 import com.project.schoolmanagment.payload.request.business.MeetingRequest;
 import com.project.schoolmanagment.payload.response.business.MeetingResponse;
 import lombok.Data;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+
 @Component
 @Data
 public class MeetingMapper {
@@ -20,6 +23,8 @@ public class MeetingMapper {
     }
 
     public MeetingResponse mapMeetToMeetingResponse(Meet meet){
+        //the students are rendered as entities after the transaction is closed
+        Hibernate.initialize(meet.getStudentList());
         return MeetingResponse.builder()
                 .id(meet.getId())
                 .date(meet.getDate())
@@ -30,18 +35,16 @@ public class MeetingMapper {
                 .teacherName(meet.getAdvisoryTeacher().getName())
                 .teacherSsn(meet.getAdvisoryTeacher().getSsn())
                 .teacherUsername(meet.getAdvisoryTeacher().getUsername())
-                .students(meet.getStudentList())
+                .students(new ArrayList<>(meet.getStudentList()))
                 .build();
     }
 
-    public Meet mapMeetUpdateRequestToMeet(MeetingRequest request, Long meetId){
-        return Meet.builder()
-                .id(meetId)
-                .startTime(request.getStartTime())
-                .stopTime(request.getStopTime())
-                .date(request.getDate())
-                .description(request.getDescription())
-                .build();
+    //sets the fields on the loaded entity, hibernate writes only the ones that changed
+    public void mapMeetUpdateRequestToMeet(MeetingRequest request, Meet meet){
+        meet.setStartTime(request.getStartTime());
+        meet.setStopTime(request.getStopTime());
+        meet.setDate(request.getDate());
+        meet.setDescription(request.getDescription());
     }
 
 
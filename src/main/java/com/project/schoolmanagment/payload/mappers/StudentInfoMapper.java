@@ -32,9 +32,11 @@ public class StudentInfoMapper {
 
     public StudentInfoResponse mapStudentInfoToStudentInfoResponse(StudentInfo studentInfo){
         return StudentInfoResponse.builder()
+                .lessonId(studentInfo.getLesson().getLessonId())
                 .lessonName(studentInfo.getLesson().getLessonName())
                 .creditScore(studentInfo.getLesson().getCreditScore())
                 .isCompulsory(studentInfo.getLesson().getIsCompulsory())
+                .educationTermId(studentInfo.getEducationTerm().getId())
                 .educationTerm(studentInfo.getEducationTerm().getTerm())
                 .id(studentInfo.getId())
                 .absentee(studentInfo.getAbsentee())
@@ -47,23 +49,21 @@ public class StudentInfoMapper {
                 .build();
     }
 
-    public StudentInfo mapStudentInfoUpdateRequestToStudentInfo(UpdateStudentInfoRequest studentInfoRequest,
-                                                                Long studentInfoId,
-                                                                Lesson lesson,
-                                                                EducationTerm educationTerm,
-                                                                Note note,
-                                                                Double averageNote){
-        return StudentInfo.builder()
-                .id(studentInfoId)
-                .infoNote(studentInfoRequest.getInfoNote())
-                .midtermExam(studentInfoRequest.getMidtermExam())
-                .finalExam(studentInfoRequest.getFinalExam())
-                .absentee(studentInfoRequest.getAbsentee())
-                .lesson(lesson)
-                .educationTerm(educationTerm)
-                .examAverage(averageNote)
-                .letterGrade(note)
-                .build();
+    //sets the fields on the loaded entity, hibernate writes only the ones that changed
+    public void mapStudentInfoUpdateRequestToStudentInfo(UpdateStudentInfoRequest studentInfoRequest,
+                                                         StudentInfo studentInfo,
+                                                         Lesson lesson,
+                                                         EducationTerm educationTerm,
+                                                         Note note,
+                                                         Double averageNote){
+        studentInfo.setInfoNote(studentInfoRequest.getInfoNote());
+        studentInfo.setMidtermExam(studentInfoRequest.getMidtermExam());
+        studentInfo.setFinalExam(studentInfoRequest.getFinalExam());
+        studentInfo.setAbsentee(studentInfoRequest.getAbsentee());
+        studentInfo.setLesson(lesson);
+        studentInfo.setEducationTerm(educationTerm);
+        studentInfo.setExamAverage(averageNote);
+        studentInfo.setLetterGrade(note);
     }
 
 
@@ -0,0 +1,44 @@
+package com.project.schoolmanagment.payload.mappers;
+
+import com.project.schoolmanagment.entity.concretes.business.TermTranscript;
+import com.project.schoolmanagment.entity.concretes.business.Transcript;
+import com.project.schoolmanagment.payload.response.business.TermTranscriptResponse;
+import com.project.schoolmanagment.payload.response.business.TranscriptResponse;
+import lombok.Data;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Data
+@Component
+public class TranscriptMapper {
+
+    public TranscriptResponse mapTranscriptToTranscriptResponse(Transcript transcript, List<TermTranscriptResponse> terms){
+        return TranscriptResponse.builder()
+                .studentId(transcript.getStudent().getId())
+                .totalCredit(transcript.getTotalCredit())
+                .lessonCount(transcript.getLessonCount())
+                .gpa(calculateGpa(transcript.getTotalGradePoint(), transcript.getTotalCredit()))
+                .terms(terms)
+                .build();
+    }
+
+    public TermTranscriptResponse mapTermTranscriptToTermTranscriptResponse(TermTranscript termTranscript){
+        return TermTranscriptResponse.builder()
+                .educationTermId(termTranscript.getEducationTerm().getId())
+                .term(termTranscript.getEducationTerm().getTerm())
+                .startDate(termTranscript.getEducationTerm().getStartDate())
+                .totalCredit(termTranscript.getTotalCredit())
+                .lessonCount(termTranscript.getLessonCount())
+                .gpa(calculateGpa(termTranscript.getTotalGradePoint(), termTranscript.getTotalCredit()))
+                .build();
+    }
+
+    //rounded to two decimals as it is printed on the transcript
+    private Double calculateGpa(Double totalGradePoint, Integer totalCredit){
+        if(totalCredit == null || totalCredit == 0){
+            return 0.0;
+        }
+        return Math.round(totalGradePoint / totalCredit * 100.0) / 100.0;
+    }
+}
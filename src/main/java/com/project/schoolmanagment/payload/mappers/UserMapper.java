@@ -1,5 +1,6 @@
 package com.project.schoolmanagment.payload.mappers;
 
+import com.project.schoolmanagment.entity.concretes.business.LessonProgram;
 import com.project.schoolmanagment.entity.concretes.user.User;
 import com.project.schoolmanagment.payload.request.abstracts.BaseUserRequest;
 import com.project.schoolmanagment.payload.request.user.StudentRequest;
@@ -7,8 +8,11 @@ import com.project.schoolmanagment.payload.request.user.TeacherRequest;
 import com.project.schoolmanagment.payload.response.user.StudentResponse;
 import com.project.schoolmanagment.payload.response.user.TeacherResponse;
 import com.project.schoolmanagment.payload.response.user.UserResponse;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+
 @Component
 public class UserMapper {
 
@@ -66,10 +70,18 @@ public class UserMapper {
                 .motherName(student.getMotherName())
                 .studentNumber(student.getStudentNumber())
                 .isActive(student.isActive())
-                .lessonProgramSet(student.getLessonProgramList())
+                .lessonProgramSet(withLessons(student.getLessonProgramList()))
                 .build();
     }
 
+    //lesson programs are rendered as entities after the transaction is closed, their lessons are loaded here
+    private Set<LessonProgram> withLessons(Set<LessonProgram> lessonPrograms){
+        if(lessonPrograms != null){
+            lessonPrograms.forEach(lessonProgram -> Hibernate.initialize(lessonProgram.getLessons()));
+        }
+        return lessonPrograms;
+    }
+
     public TeacherResponse mapUserToTeacherResponse(User teacher){
         return TeacherResponse.builder()
                 .userId(teacher.getId())
@@ -82,7 +94,7 @@ public class UserMapper {
                 .phoneNumber(teacher.getPhoneNumber())
                 .gender(teacher.getGender())
                 .email(teacher.getEmail())
-                .lessonProgramSet(teacher.getLessonProgramList())
+                .lessonProgramSet(withLessons(teacher.getLessonProgramList()))
                 .isAdvisorTeacher(teacher.getIsAdvisor())
                 .build();
     }
@@ -122,11 +134,35 @@ public class UserMapper {
                 .build();
     }
 
-    public User mapStudentRequestToUpdatedUser(StudentRequest studentRequest, Long userId){
-        //we called other mapper not to write duplicated code
-        User user = mapStudentRequestToUser(studentRequest);
-        user.setId(userId);
-        return user;
+    //the update mappers set the fields on the loaded user, hibernate writes only the ones that changed,
+    //the password is left to the services as it is hashed
+    public void mapStudentRequestToUpdatedUser(StudentRequest studentRequest, User student){
+        student.setFatherName(studentRequest.getFatherName());
+        student.setMotherName(studentRequest.getMotherName());
+        student.setBirthDay(studentRequest.getBirthDay());
+        student.setBirthPlace(studentRequest.getBirthPlace());
+        student.setName(studentRequest.getName());
+        student.setSurname(studentRequest.getSurname());
+        student.setUsername(studentRequest.getUsername());
+        student.setSsn(studentRequest.getSsn());
+        student.setEmail(studentRequest.getEmail());
+        student.setPhoneNumber(studentRequest.getPhoneNumber());
+        student.setGender(studentRequest.getGender());
+        student.setBuiltIn(studentRequest.getBuiltIn());
+    }
+
+    public void mapTeacherRequestToUpdatedUser(TeacherRequest teacherRequest, User teacher){
+        teacher.setName(teacherRequest.getName());
+        teacher.setSurname(teacherRequest.getSurname());
+        teacher.setSsn(teacherRequest.getSsn());
+        teacher.setUsername(teacherRequest.getUsername());
+        teacher.setBirthDay(teacherRequest.getBirthDay());
+        teacher.setBirthPlace(teacherRequest.getBirthPlace());
+        teacher.setPhoneNumber(teacherRequest.getPhoneNumber());
+        teacher.setEmail(teacherRequest.getEmail());
+        teacher.setIsAdvisor(teacherRequest.getIsAdvisorTeacher());
+        teacher.setBuiltIn(teacherRequest.getBuiltIn());
+        teacher.setGender(teacherRequest.getGender());
     }
 
 
@@ -24,6 +24,9 @@ public class ErrorMessages {
     public static final String EDUCATION_TERM_IS_ALREADY_EXIST_BY_TERM_AND_YEAR_MESSAGE = "Error: Education Term with Term And Year already exist " ;
     public static final String EDUCATION_TERM_NOT_FOUND_MESSAGE = "Error: Education Term with id %s not found" ;
     public static final String EDUCATION_TERM_CONFLICT_MESSAGE = "Error: There is a conflict regarding the dates of the education terms.";
+    public static final String EDUCATION_TERM_NOT_CURRENT = "Error: There is no running or upcoming education term";
+    public static final String TERM_ROLLOVER_SAME_TERM = "Error: Lesson programs can not be copied into the education term they come from";
+    public static final String TERM_ROLLOVER_TEACHER_CONFLICT = "Error: %d teacher assignments clash with lesson programs of the target term, see them with a dry run";
 
     //lesson
     public static final String ALREADY_REGISTER_LESSON_MESSAGE = "Error: Lesson with lesson name %s already registered" ;
@@ -37,9 +40,12 @@ public class ErrorMessages {
     public static final String NOT_FOUND_LESSON_PROGRAM_MESSAGE_WITHOUT_ID_INFO = "Error: Lesson program with this field not found";
     public static final String LESSON_PROGRAM_ALREADY_EXIST = "Error: Course schedule can not be selected for the same hour and date" ;
     public static final String LESSON_PROGRAM_THE_SAME = "Error: This lesson program is already in teachers list" ;
+    public static final String LESSON_PROGRAM_REGISTRATION_BUSY = "Error: Too many registrations at the moment, please try again in a few seconds";
+    public static final String LESSON_PROGRAM_NOT_REGISTERED = "Error: Student is neither registered nor waitlisted for lesson program with id %d";
 
     //advisor teacher
     public static final String NOT_FOUND_ADVISOR_MESSAGE = "Error: Advisor Teacher with id %s not found" ;
+    public static final String STUDENT_STATUS_SELECTION_NOT_VALID = "Error: Please select the students by exactly one of student ids, advisor teacher or education term";
     public static final String ALREADY_EXIST_ADVISOR_MESSAGE = "Error: Advisor Teacher with id %s is already exist" ;
 
     //student info
@@ -49,6 +55,40 @@ public class ErrorMessages {
     //meet
     public static final String MEET_NOT_FOUND_MESSAGE = "Error: Meet with id %d not found" ;
     public static final String MEET_HOURS_CONFLICT = "meet hours has conflict with existing meets";
+    public static final String MEET_DATE_RANGE_NOT_VALID = "Error: The date range should not end before it starts and can span at most %d days";
+    public static final String MEET_SLOT_STUDENTS_NOT_FOUND = "Error: Not all of the users %s are students";
+
+    //meet series
+    public static final String MEET_SERIES_NOT_FOUND_MESSAGE = "Error: Meet series with id %d not found" ;
+    public static final String MEET_SERIES_NOT_IN_TERM = "Error: The meet series should start within its education term";
+    public static final String MEET_OCCURRENCE_NOT_FOUND = "Error: Meet series with id %d has no occurrence on %s";
+    public static final String MEET_OCCURRENCE_TIME_REQUIRED = "Error: Please enter the date, start time and stop time of the moved occurrence";
+    public static final String MEET_OCCURRENCE_NOT_IN_SERIES = "Error: An occurrence can only be moved between the first and the last date of its series";
+
+    //transcript
+    public static final String TRANSCRIPT_NOT_FOUND_MESSAGE = "Error: Transcript of student with id %d not found";
+
+    //ranking
+    public static final String RANKING_NOT_FOUND_MESSAGE = "Error: Student with id %d is not ranked";
+    public static final String RANKING_SIZE_NOT_VALID = "Error: The size of a top list must be between 1 and %d";
+
+    //exam weight
+    public static final String EXAM_WEIGHT_SCOPE_NOT_VALID = "Error: Please select a lesson or an education term for the exam weight";
+    public static final String EXAM_WEIGHT_SUM_NOT_VALID = "Error: Midterm and final percentages must add up to 1";
+    public static final String EXAM_WEIGHT_NOT_FOUND_MESSAGE = "Error: Exam weight with id %d not found";
+
+    //grading scheme
+    public static final String GRADING_SCHEME_SCOPE_NOT_VALID = "Error: Please select a lesson or an education term for the grading scheme";
+    public static final String GRADING_SCHEME_BOUNDARY_NOT_VALID = "Error: Grade boundaries must be between 0 and 100 and a better note must have a higher boundary";
+    public static final String GRADING_SCHEME_NOT_FOUND_MESSAGE = "Error: Grading scheme with id %d not found";
+    public static final String GRADING_SCHEME_NOT_CURVED = "Error: Lesson with id %d is not graded on a curve in education term with id %d";
+
+    //grade recomputation
+    public static final String GRADE_RECOMPUTATION_NOT_FOUND_MESSAGE = "Error: Grade recomputation job with id %d not found";
+    public static final String GRADE_RECOMPUTATION_NOT_FAILED = "Error: Only a failed grade recomputation job can be resumed";
+
+    //optimistic locking
+    public static final String CONCURRENT_UPDATE_MESSAGE = "Error: The record was changed by another request, please reload it and try again";
 
 
 
@@ -15,6 +15,8 @@ public class SuccessMessages {
     public static final String EDUCATION_TERM_SAVE = "Education Term is Saved";
     public static final String EDUCATION_TERM_UPDATE = "Education Term is Updated Successfully";
     public static final String EDUCATION_TERM_DELETE = "Education Term is Deleted Successfully";
+    public static final String EDUCATION_TERM_ROLLOVER = "%d lesson programs are copied to the education term with id %d";
+    public static final String EDUCATION_TERM_ROLLOVER_DRY_RUN = "%d lesson programs would be copied to the education term with id %d";
 
     //Lesson
     public static final String LESSON_SAVE = "Lesson is Saved";
@@ -24,12 +26,18 @@ public class SuccessMessages {
     //Lesson program
     public static final String LESSON_PROGRAM_SAVE = "Lesson Program is Saved";
     public static final String LESSON_PROGRAM_DELETE = "Lesson Program is Deleted Successfully";
+    public static final String LESSON_PROGRAMS_OF_TERM_DELETE = "%d lesson programs of the education term with id %d are deleted";
     public static final String LESSON_PROGRAM_ADD_TO_TEACHER = "Lesson Program added to teacher";
     public static final String LESSON_PROGRAM_ADD_TO_STUDENT = "Lesson Program added to student";
+    public static final String LESSON_PROGRAM_REGISTRATION = "Lesson Program registration is processed";
+    public static final String LESSON_PROGRAM_DROP = "Lesson Program is dropped";
+    public static final String LESSON_PROGRAM_WAITLIST_LEAVE = "Student is removed from the waitlist of the Lesson Program";
+    public static final String LESSON_PROGRAM_SEATS_FOUND = "Seats of the Lesson Program are Found Successfully";
 
     //Student
     public static final String STUDENT_SAVE = "Student Saved";
     public static final String STUDENT_UPDATE = "Student Updated Successfully";
+    public static final String STUDENT_STATUS_CHANGE = "%d students are %s";
 
     //Teacher
     public static final String TEACHER_SAVE = "Teacher Saved";
@@ -38,6 +46,8 @@ public class SuccessMessages {
     //Advisory Teacher
     public static final String ADVISOR_TEACHER_SAVE = "Advisor Teacher Saved";
     public static final String ADVISOR_TEACHER_DELETE = "Advisor Teacher Deleted";
+    public static final String ADVISOR_TEACHER_STUDENTS_REASSIGN = "%d students are assigned to the advisor teacher with id %d";
+    public static final String ADVISOR_TEACHER_STUDENTS_CLEAR = "%d students have no advisor teacher now";
 
     //Student Info
     public static final String STUDENT_INFO_SAVE = "Student Info is Saved";
@@ -49,6 +59,30 @@ public class SuccessMessages {
     public static final String MEET_UPDATE = "Meet is Updated Successfully";
     public static final String MEET_DELETE = "Meet is Deleted Successfully";
     public static final String MEET_FOUND = "Meet is Found Successfully";
+    public static final String MEET_SERIES_SAVE = "Meet series is Saved";
+    public static final String MEET_SERIES_DELETE = "Meet series is Deleted Successfully";
+    public static final String MEET_OCCURRENCE_UPDATE = "Meet occurrence is Updated Successfully";
+
+    //Transcript
+    public static final String TRANSCRIPT_FOUND = "Transcript is Found Successfully";
+    public static final String TRANSCRIPT_REBUILD = "Transcripts are Rebuilt Successfully";
+
+    //Statistics
+    public static final String GRADE_STATISTICS_FOUND = "Grade Statistics are Found Successfully";
+    public static final String RANKING_FOUND = "Ranking is Found Successfully";
+
+    //Exam weight
+    public static final String EXAM_WEIGHT_SAVE = "Exam Weight is Saved, start a grade recomputation to update stored averages";
+    public static final String EXAM_WEIGHT_DELETE = "Exam Weight is Deleted, start a grade recomputation to update stored averages";
+
+    //Grading scheme
+    public static final String GRADING_SCHEME_SAVE = "Grading Scheme is Saved, start a grade recomputation to update stored grades";
+    public static final String GRADING_SCHEME_DELETE = "Grading Scheme is Deleted, start a grade recomputation to update stored grades";
+    public static final String GRADING_CURVE_APPLIED = "Grading Curve is Applied";
+
+    //Grade recomputation
+    public static final String GRADE_RECOMPUTATION_START = "Grade Recomputation is Started";
+    public static final String GRADE_RECOMPUTATION_FOUND = "Grade Recomputation is Found Successfully";
 
 
 
@@ -0,0 +1,33 @@
+package com.project.schoolmanagment.payload.request.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotNull;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ExamWeightRequest {
+
+    //at least one of lesson and education term should be selected
+    private Long lessonId;
+
+    private Long educationTermId;
+
+    @DecimalMax("1.0")
+    @DecimalMin("0.0")
+    @NotNull(message = "Please enter midterm percentage")
+    private Double midtermPercentage;
+
+    @DecimalMax("1.0")
+    @DecimalMin("0.0")
+    @NotNull(message = "Please enter final percentage")
+    private Double finalPercentage;
+
+}
@@ -0,0 +1,19 @@
+package com.project.schoolmanagment.payload.request.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GradeRecomputationRequest {
+
+    //empty scope recomputes every student info, e.g. after the global percentages are changed
+    private Long lessonId;
+
+    private Long educationTermId;
+
+}
@@ -0,0 +1,32 @@
+package com.project.schoolmanagment.payload.request.business;
+
+import com.project.schoolmanagment.entity.enums.GradingType;
+import com.project.schoolmanagment.entity.enums.Note;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GradingSchemeRequest {
+
+    //at least one of lesson and education term should be selected
+    private Long lessonId;
+
+    private Long educationTermId;
+
+    @NotNull(message = "Please select grading type")
+    private GradingType gradingType;
+
+    //lowest exam average (ABSOLUTE) or class percentile (CURVE) of each note, e.g. {"AA": 90, "BA": 85}
+    @NotEmpty(message = "Please enter grade boundaries")
+    private Map<Note, Double> boundaries;
+
+}
@@ -7,6 +7,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.time.LocalTime;
@@ -36,4 +37,8 @@ public class LessonProgramRequest {
     @NotNull(message="Please enter education term")
     private Long educationTermId;
 
+    //no capacity, no seat limit
+    @Min(value = 1, message = "Capacity must be at least 1")
+    private Integer capacity;
+
 }
@@ -0,0 +1,51 @@
+package com.project.schoolmanagment.payload.request.business;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.project.schoolmanagment.entity.enums.MeetRecurrence;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Future;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MeetSeriesRequest {
+
+    @NotNull(message = "Please enter description")
+    @Size(min=2, max= 250, message = "Description should be at least 2 chars")
+    @Pattern(regexp = "\\A(?!\\s*\\Z).+" ,message="Description must consist of the characters .")
+    private String description;
+
+    @NotNull(message = "Please select education term")
+    private Long educationTermId;
+
+    //the series repeats on the day of week of this date until the end of the term
+    @NotNull(message = "Please enter first day")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    @Future
+    private LocalDate firstDate;
+
+    @NotNull(message = "Please enter start time")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm", timezone = "US")
+    private LocalTime startTime;
+
+    @NotNull(message = "Please enter stop time")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm", timezone = "US")
+    private LocalTime stopTime;
+
+    @NotNull(message = "Please select weekly or biweekly")
+    private MeetRecurrence recurrence;
+
+    @NotNull(message = "Please select students")
+    private Long[] studentIds;
+
+}
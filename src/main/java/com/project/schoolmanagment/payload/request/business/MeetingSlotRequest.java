@@ -0,0 +1,54 @@
+package com.project.schoolmanagment.payload.request.business;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.FutureOrPresent;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MeetingSlotRequest {
+
+    @NotNull(message = "Please select students")
+    @Size(min = 1, max = 100, message = "Please select between 1 and 100 students")
+    private Long[] studentIds;
+
+    @NotNull(message = "Please enter start date")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    @FutureOrPresent
+    private LocalDate startDate;
+
+    @NotNull(message = "Please enter end date")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private LocalDate endDate;
+
+    @NotNull(message = "Please enter meeting length")
+    @Min(value = 5, message = "Meeting length should be at least 5 minutes")
+    @Max(value = 480, message = "Meeting length should be at most 480 minutes")
+    private Integer minutes;
+
+    //number of slots to return
+    @Min(1)
+    @Max(100)
+    @Builder.Default
+    private int count = 10;
+
+    //hours of the day to search in, meeting.slots.day-start and day-stop when not given
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm", timezone = "US")
+    private LocalTime dayStartTime;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm", timezone = "US")
+    private LocalTime dayStopTime;
+
+}
@@ -0,0 +1,27 @@
+package com.project.schoolmanagment.payload.request.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TermRolloverRequest {
+
+    @NotNull(message = "Please select the education term to copy from")
+    private Long sourceEducationTermId;
+
+    @NotNull(message = "Please select the education term to copy into")
+    private Long targetEducationTermId;
+
+    //students register again every term, only the teachers can be copied
+    private boolean copyTeachers;
+
+    private boolean dryRun;
+
+}
@@ -0,0 +1,28 @@
+package com.project.schoolmanagment.payload.request.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+import java.util.Set;
+
+//exactly one of studentIds, advisorTeacherId and educationTermId selects the students
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StudentStatusRequest {
+
+    @NotNull(message = "Please select the status")
+    private Boolean status;
+
+    private Set<Long> studentIds;
+
+    private Long advisorTeacherId;
+
+    //students having a lesson program in this term
+    private Long educationTermId;
+
+}
@@ -0,0 +1,22 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExamWeightResponse {
+
+    private Long id;
+    private Long lessonId;
+    private Long educationTermId;
+    private Double midtermPercentage;
+    private Double finalPercentage;
+
+}
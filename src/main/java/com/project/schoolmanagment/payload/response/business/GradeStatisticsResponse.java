@@ -0,0 +1,26 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import com.project.schoolmanagment.entity.enums.Note;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GradeStatisticsResponse {
+
+    private long count;
+    private double mean;
+    private double median;
+    private double standardDeviation;
+    private double percentile25;
+    private double percentile75;
+    private double percentile90;
+    private Map<Note, Long> noteDistribution;
+
+}
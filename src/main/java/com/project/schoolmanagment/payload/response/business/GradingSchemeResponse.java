@@ -0,0 +1,26 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.project.schoolmanagment.entity.enums.GradingType;
+import com.project.schoolmanagment.entity.enums.Note;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GradingSchemeResponse {
+
+    private Long id;
+    private Long lessonId;
+    private Long educationTermId;
+    private GradingType gradingType;
+    private Map<Note, Double> boundaries;
+
+}
@@ -0,0 +1,25 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import com.project.schoolmanagment.entity.enums.Day;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LessonProgramFitResponse {
+
+    private Long lessonProgramId;
+    private Day day;
+    private LocalTime startTime;
+    private LocalTime stopTime;
+    private List<String> lessonNames;
+    private Integer capacity;
+
+}
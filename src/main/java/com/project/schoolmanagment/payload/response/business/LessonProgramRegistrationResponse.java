@@ -0,0 +1,22 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.project.schoolmanagment.entity.enums.RegistrationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LessonProgramRegistrationResponse {
+
+    private Long lessonProgramId;
+    private RegistrationStatus status;
+    //only for WAITLISTED and ALREADY_WAITLISTED, 1 gets the next free seat
+    private Integer waitlistPosition;
+
+}
@@ -25,6 +25,7 @@ public class LessonProgramResponse {
     private Day day;
     private LocalTime startTime;
     private LocalTime stopTime;
+    private Integer capacity;
     private Set<Lesson> lessonName;
     private EducationTerm educationTerm;
     private Set<TeacherResponse> teachers;
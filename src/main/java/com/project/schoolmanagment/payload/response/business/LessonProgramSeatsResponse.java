@@ -0,0 +1,23 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LessonProgramSeatsResponse {
+
+    private Long lessonProgramId;
+    //capacity and available are left out for a program without seat limit
+    private Integer capacity;
+    private int taken;
+    private Integer available;
+    private int waiting;
+
+}
@@ -0,0 +1,25 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MeetOccurrenceResponse {
+
+    private Long seriesId;
+    //the date the series gives the occurrence, differs from date when it was moved
+    private LocalDate occurrenceDate;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime stopTime;
+    private String description;
+    private boolean moved;
+}
@@ -0,0 +1,31 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import com.project.schoolmanagment.entity.enums.Day;
+import com.project.schoolmanagment.entity.enums.MeetRecurrence;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MeetSeriesResponse {
+
+    private Long id;
+    private String description;
+    private Day day;
+    private LocalTime startTime;
+    private LocalTime stopTime;
+    private MeetRecurrence recurrence;
+    private LocalDate firstDate;
+    private LocalDate untilDate;
+    private Long educationTermId;
+    private Long advisorTeacherId;
+    private List<Long> studentIds;
+}
@@ -0,0 +1,21 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MeetingSlotResponse {
+
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime stopTime;
+
+}
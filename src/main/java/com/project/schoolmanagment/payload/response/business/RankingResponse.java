@@ -0,0 +1,20 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RankingResponse {
+
+    private Long studentId;
+    private double score;
+    private int rank;
+    private int total;
+    private double percentile;
+
+}
@@ -21,9 +21,11 @@ public class StudentInfoResponse {
     private Double finalExam;
     private Integer absentee;
     private String infoNote;
+    private Long lessonId;
     private String lessonName;
     private int creditScore;
     private boolean isCompulsory;
+    private Long educationTermId;
     private Term educationTerm;
     private Double average;
     private Note note;
@@ -0,0 +1,20 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TeacherScheduleConflictResponse {
+
+    private Long teacherId;
+    //the program that would be copied
+    private Long sourceLessonProgramId;
+    //the program of the teacher in the target term it overlaps with
+    private Long targetLessonProgramId;
+
+}
@@ -0,0 +1,27 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TermRolloverResponse {
+
+    private Long sourceEducationTermId;
+    private Long targetEducationTermId;
+    private boolean dryRun;
+    //copied rows, or the rows a dry run would copy
+    private long lessonPrograms;
+    private long lessonLinks;
+    private long teacherAssignments;
+    //source programs the target term already has with the same day, hours and lessons
+    private List<Long> skippedLessonProgramIds;
+    private List<TeacherScheduleConflictResponse> teacherConflicts;
+
+}
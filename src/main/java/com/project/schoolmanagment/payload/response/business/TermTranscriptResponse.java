@@ -0,0 +1,24 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import com.project.schoolmanagment.entity.enums.Term;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TermTranscriptResponse {
+
+    private Long educationTermId;
+    private Term term;
+    private LocalDate startDate;
+    private int totalCredit;
+    private int lessonCount;
+    private Double gpa;
+
+}
@@ -0,0 +1,24 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TranscriptResponse {
+
+    private Long studentId;
+    private int totalCredit;
+    private int lessonCount;
+    private Double gpa;
+    private List<TermTranscriptResponse> terms;
+
+}
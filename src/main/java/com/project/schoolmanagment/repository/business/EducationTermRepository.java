@@ -6,6 +6,9 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Optional;
+
 @Repository
 public interface EducationTermRepository extends JpaRepository<EducationTerm, Long> {
 
@@ -13,4 +16,7 @@ public interface EducationTermRepository extends JpaRepository<EducationTerm, Lo
 
     @Query("select (count (e) > 0) FROM EducationTerm e WHERE e.term=?1 AND extract(year from e.startDate) = ?2")
     boolean existByTermAndYear(Term term, int year);
+
+    //the running term, or the next one while its registration is open
+    Optional<EducationTerm> findFirstByEndDateGreaterThanEqualOrderByStartDateAsc(LocalDate date);
 }
@@ -0,0 +1,17 @@
+package com.project.schoolmanagment.repository.business;
+
+import com.project.schoolmanagment.entity.concretes.business.ExamWeight;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ExamWeightRepository extends JpaRepository<ExamWeight, Long> {
+
+    @Query("SELECT e FROM ExamWeight e WHERE ((?1 IS NULL AND e.lessonId IS NULL) OR e.lessonId = ?1) " +
+            "AND ((?2 IS NULL AND e.educationTermId IS NULL) OR e.educationTermId = ?2)")
+    Optional<ExamWeight> findByScope(Long lessonId, Long educationTermId);
+
+}
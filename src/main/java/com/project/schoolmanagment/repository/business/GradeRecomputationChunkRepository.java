@@ -0,0 +1,24 @@
+package com.project.schoolmanagment.repository.business;
+
+import com.project.schoolmanagment.entity.concretes.business.GradeRecomputationChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface GradeRecomputationChunkRepository extends JpaRepository<GradeRecomputationChunk, Long> {
+
+    List<GradeRecomputationChunk> findByJobIdAndDoneFalse(Long jobId);
+
+    //lesson/term pairs touched by a job: lessonId, educationTermId
+    @Query("SELECT DISTINCT c.lessonId, c.educationTermId FROM GradeRecomputationChunk c WHERE c.jobId = ?1")
+    List<Object[]> findClassesByJobId(Long jobId);
+
+    @Modifying
+    @Query("UPDATE GradeRecomputationChunk c SET c.done = true WHERE c.id = ?1 AND c.done = false")
+    int markDone(Long chunkId);
+
+}
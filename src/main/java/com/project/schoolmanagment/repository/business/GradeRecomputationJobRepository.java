@@ -0,0 +1,39 @@
+package com.project.schoolmanagment.repository.business;
+
+import com.project.schoolmanagment.entity.concretes.business.GradeRecomputationJob;
+import com.project.schoolmanagment.entity.enums.JobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface GradeRecomputationJobRepository extends JpaRepository<GradeRecomputationJob, Long> {
+
+    List<GradeRecomputationJob> findByStatus(JobStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE GradeRecomputationJob j SET j.completedChunks = j.completedChunks + 1, " +
+            "j.updatedRows = j.updatedRows + ?2 WHERE j.id = ?1")
+    int incrementProgress(Long jobId, long updatedRows);
+
+    //only one worker gets 1 back, that one runs the follow up work
+    @Transactional
+    @Modifying
+    @Query("UPDATE GradeRecomputationJob j SET j.status = com.project.schoolmanagment.entity.enums.JobStatus.COMPLETED, " +
+            "j.finishedAt = ?2 WHERE j.id = ?1 AND j.completedChunks = j.totalChunks " +
+            "AND j.status = com.project.schoolmanagment.entity.enums.JobStatus.RUNNING")
+    int completeIfFinished(Long jobId, LocalDateTime finishedAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE GradeRecomputationJob j SET j.status = com.project.schoolmanagment.entity.enums.JobStatus.FAILED, " +
+            "j.errorMessage = ?2 WHERE j.id = ?1")
+    int markFailed(Long jobId, String errorMessage);
+
+}
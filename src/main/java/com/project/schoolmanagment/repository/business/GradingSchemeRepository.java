@@ -0,0 +1,17 @@
+package com.project.schoolmanagment.repository.business;
+
+import com.project.schoolmanagment.entity.concretes.business.GradingScheme;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface GradingSchemeRepository extends JpaRepository<GradingScheme, Long> {
+
+    @Query("SELECT g FROM GradingScheme g WHERE ((?1 IS NULL AND g.lessonId IS NULL) OR g.lessonId = ?1) " +
+            "AND ((?2 IS NULL AND g.educationTermId IS NULL) OR g.educationTermId = ?2)")
+    Optional<GradingScheme> findByScope(Long lessonId, Long educationTermId);
+
+}
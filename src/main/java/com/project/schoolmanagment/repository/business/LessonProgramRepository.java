@@ -1,10 +1,15 @@
 package com.project.schoolmanagment.repository.business;
 
 import com.project.schoolmanagment.entity.concretes.business.LessonProgram;
+import com.project.schoolmanagment.entity.enums.Day;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -19,7 +24,111 @@ public interface LessonProgramRepository extends JpaRepository<LessonProgram, Lo
     @Query("SELECT l FROM LessonProgram l WHERE l.id IN :idList")
     Set<LessonProgram> getLessonProgramByUsersUsername(Set<Long> idList);
 
+    //id, day, start time, stop time and term of the programs, without their eager users
+    @Query("SELECT p.id, p.day, p.startTime, p.stopTime, p.educationTerm.id FROM LessonProgram p WHERE p.id IN :ids")
+    List<Object[]> findSlotsByIds(Collection<Long> ids);
 
+    //one row per program and lesson, ordered by program
+    @Query("SELECT p.id, p.day, p.startTime, p.stopTime, p.capacity, l.lessonName FROM LessonProgram p JOIN p.lessons l " +
+            "WHERE p.educationTerm.id = :educationTermId ORDER BY p.id, l.lessonName")
+    List<Object[]> findFitRowsByEducationTerm(Long educationTermId);
 
+    @Query("SELECT p.day, p.startTime, p.stopTime FROM LessonProgram p JOIN p.users u " +
+            "WHERE u.id = :userId AND p.educationTerm.id = :educationTermId")
+    List<Object[]> findSlotsOfUserByEducationTerm(Long userId, Long educationTermId);
 
+    //weekly programs of the users in the terms overlapping the dates, with the dates of their term
+    @Query("SELECT DISTINCT p.day, p.startTime, p.stopTime, t.startDate, t.endDate FROM LessonProgram p " +
+            "JOIN p.users u JOIN p.educationTerm t " +
+            "WHERE u.id IN :userIds AND t.startDate <= :endDate AND t.endDate >= :startDate")
+    List<Object[]> findWeeklySlotsOfUsers(Collection<Long> userIds, LocalDate startDate, LocalDate endDate);
+
+    //another program of the user in the same term overlapping the given hours
+    @Query("SELECT (count(p) > 0) FROM LessonProgram p JOIN p.users u WHERE u.id = :userId AND p.id <> :lessonProgramId " +
+            "AND p.educationTerm.id = :educationTermId AND p.day = :day AND p.startTime < :stopTime AND p.stopTime > :startTime")
+    boolean existsOverlappingProgramOfUser(Long userId, Long lessonProgramId, Long educationTermId, Day day,
+                                           LocalTime startTime, LocalTime stopTime);
+
+    @Query("SELECT (count(p) > 0) FROM LessonProgram p JOIN p.users u WHERE p.id = :lessonProgramId AND u.id = :userId")
+    boolean existsUserLink(Long lessonProgramId, Long userId);
+
+    //one row for the registration instead of loading and saving the whole student
+    @Modifying
+    @Query(value = "INSERT INTO user_lesson_program (user_id, lesson_program_id) VALUES (:userId, :lessonProgramId) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertUserLink(Long userId, Long lessonProgramId);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_lesson_program WHERE user_id = :userId AND lesson_program_id = :lessonProgramId",
+            nativeQuery = true)
+    int deleteUserLink(Long userId, Long lessonProgramId);
+
+    //id, capacity, enrolled students and waitlist length of the programs whose id modulo lanes is lane
+    @Query(value = "SELECT p.id, p.capacity, " +
+            "(SELECT count(*) FROM user_lesson_program ulp JOIN t_user u ON u.id = ulp.user_id " +
+            "JOIN roles r ON r.id = u.user_role_id WHERE ulp.lesson_program_id = p.id AND r.role_type = 'STUDENT'), " +
+            "(SELECT count(*) FROM lesson_program_waitlist w WHERE w.lesson_program_id = p.id) " +
+            "FROM lesson_program p WHERE MOD(p.id, :lanes) = :lane", nativeQuery = true)
+    List<Object[]> findSeatsByLane(int lanes, int lane);
+
+    @Query(value = "SELECT p.id, p.capacity, " +
+            "(SELECT count(*) FROM user_lesson_program ulp JOIN t_user u ON u.id = ulp.user_id " +
+            "JOIN roles r ON r.id = u.user_role_id WHERE ulp.lesson_program_id = p.id AND r.role_type = 'STUDENT'), " +
+            "(SELECT count(*) FROM lesson_program_waitlist w WHERE w.lesson_program_id = p.id) " +
+            "FROM lesson_program p WHERE p.id = :lessonProgramId", nativeQuery = true)
+    List<Object[]> findSeatsById(Long lessonProgramId);
+
+    @Query("SELECT DISTINCT p.id FROM LessonProgram p JOIN p.lessons l WHERE l.lessonId = :lessonId")
+    List<Long> findIdsByLessonId(Long lessonId);
+
+    /**
+     * removes the programs and their user and lesson links with one DELETE per table,
+     * deleteById would load every program with its users and run @PreRemove on each of them
+     * @return number of deleted programs
+     */
+    default int deleteAllWithLinks(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        deleteUserLinksByIds(ids);
+        deleteLessonLinksByIds(ids);
+        return deleteByIds(ids);
+    }
+
+    /**
+     * same as deleteAllWithLinks for every program of an education term, the ids are never loaded
+     * @return number of deleted programs
+     */
+    default int deleteAllOfEducationTermWithLinks(Long educationTermId) {
+        deleteUserLinksByEducationTerm(educationTermId);
+        deleteLessonLinksByEducationTerm(educationTermId);
+        return deleteByEducationTerm(educationTermId);
+    }
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM user_lesson_program WHERE lesson_program_id IN :ids", nativeQuery = true)
+    int deleteUserLinksByIds(Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM lesson_program_lesson WHERE lessonprogram_id IN :ids", nativeQuery = true)
+    int deleteLessonLinksByIds(Collection<Long> ids);
+
+    //the persistence context is cleared after the last statement only, users and lessons loaded before are stale
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM LessonProgram p WHERE p.id IN :ids")
+    int deleteByIds(Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM user_lesson_program WHERE lesson_program_id IN " +
+            "(SELECT id FROM lesson_program WHERE education_term_id = :educationTermId)", nativeQuery = true)
+    int deleteUserLinksByEducationTerm(Long educationTermId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM lesson_program_lesson WHERE lessonprogram_id IN " +
+            "(SELECT id FROM lesson_program WHERE education_term_id = :educationTermId)", nativeQuery = true)
+    int deleteLessonLinksByEducationTerm(Long educationTermId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM LessonProgram p WHERE p.educationTerm.id = :educationTermId")
+    int deleteByEducationTerm(Long educationTermId);
 }
@@ -0,0 +1,18 @@
+package com.project.schoolmanagment.repository.business;
+
+import com.project.schoolmanagment.entity.concretes.business.MeetSeriesOverride;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MeetSeriesOverrideRepository extends JpaRepository<MeetSeriesOverride, Long> {
+
+    List<MeetSeriesOverride> findBySeries_IdIn(Collection<Long> seriesIds);
+
+    Optional<MeetSeriesOverride> findBySeries_IdAndOccurrenceDate(Long seriesId, LocalDate occurrenceDate);
+}
@@ -0,0 +1,61 @@
+package com.project.schoolmanagment.repository.business;
+
+import com.project.schoolmanagment.entity.concretes.business.MeetSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MeetSeriesRepository extends JpaRepository<MeetSeries, Long> {
+
+    //series with occurrences between the dates, moved occurrences stay within their series
+    @Query("SELECT s FROM MeetSeries s WHERE s.advisoryTeacher.id = :advisorId " +
+            "AND s.firstDate <= :endDate AND s.untilDate >= :startDate")
+    List<MeetSeries> findByAdvisorBetween(Long advisorId, LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT s FROM MeetSeries s JOIN s.studentList u WHERE u.id = :studentId " +
+            "AND s.firstDate <= :endDate AND s.untilDate >= :startDate")
+    List<MeetSeries> findByStudentBetween(Long studentId, LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT DISTINCT s FROM MeetSeries s LEFT JOIN s.studentList u " +
+            "WHERE (s.advisoryTeacher.id = :advisorId OR u.id IN :studentIds) " +
+            "AND s.firstDate <= :endDate AND s.untilDate >= :startDate")
+    List<MeetSeries> findByUsersBetween(Long advisorId, Collection<Long> studentIds, LocalDate startDate, LocalDate endDate);
+
+    //every series with occurrences between the dates, for the reminders
+    @Query("SELECT s FROM MeetSeries s WHERE s.firstDate <= :endDate AND s.untilDate >= :startDate")
+    List<MeetSeries> findBetween(LocalDate startDate, LocalDate endDate);
+
+    //series id, description and the advisor's email, name and surname
+    @Query("SELECT s.id, s.description, u.email, u.name, u.surname FROM MeetSeries s JOIN s.advisoryTeacher u " +
+            "WHERE s.id IN :ids")
+    List<Object[]> findAdvisorRecipientsByIds(Collection<Long> ids);
+
+    //same columns for every student of the series
+    @Query("SELECT s.id, s.description, u.email, u.name, u.surname FROM MeetSeries s JOIN s.studentList u " +
+            "WHERE s.id IN :ids")
+    List<Object[]> findStudentRecipientsByIds(Collection<Long> ids);
+
+    /**
+     * removes the series of an education term and their student links, the overrides go with the series
+     * @return number of deleted series
+     */
+    default int deleteAllOfEducationTerm(Long educationTermId) {
+        deleteStudentLinksByEducationTerm(educationTermId);
+        return deleteByEducationTerm(educationTermId);
+    }
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM meet_series_student WHERE meet_series_id IN " +
+            "(SELECT id FROM meet_series WHERE education_term_id = :educationTermId)", nativeQuery = true)
+    int deleteStudentLinksByEducationTerm(Long educationTermId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM MeetSeries s WHERE s.educationTerm.id = :educationTermId")
+    int deleteByEducationTerm(Long educationTermId);
+}
@@ -4,8 +4,11 @@ import com.project.schoolmanagment.entity.concretes.business.Meet;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -19,6 +22,28 @@ public interface MeetingRepository extends JpaRepository<Meet, Long> {
 
     Page<Meet> findByAdvisoryTeacher_IdEquals(Long userId, Pageable pageable);
 
+    List<Meet> findByAdvisoryTeacher_IdAndDateBetween(Long teacherId, LocalDate startDate, LocalDate endDate);
+
+    //meetings of the advisor or of one of the students, ordered by date and start time
+    @Query("SELECT DISTINCT m.date, m.startTime, m.stopTime FROM Meet m LEFT JOIN m.studentList s " +
+            "WHERE m.date BETWEEN :startDate AND :endDate AND (m.advisoryTeacher.id = :advisorId OR s.id IN :studentIds) " +
+            "ORDER BY m.date, m.startTime")
+    List<Object[]> findSlotsOfUsers(Long advisorId, Collection<Long> studentIds, LocalDate startDate, LocalDate endDate);
+
+    //id, date and start time of the meetings in the date range, for the reminders
+    @Query("SELECT m.id, m.date, m.startTime FROM Meet m WHERE m.date BETWEEN :startDate AND :endDate")
+    List<Object[]> findStartsBetween(LocalDate startDate, LocalDate endDate);
+
+    //id, description, date, start time, stop time and the advisor's email, name and surname
+    @Query("SELECT m.id, m.description, m.date, m.startTime, m.stopTime, u.email, u.name, u.surname " +
+            "FROM Meet m JOIN m.advisoryTeacher u WHERE m.id IN :ids")
+    List<Object[]> findAdvisorRecipientsByIds(Collection<Long> ids);
+
+    //same columns for every student of the meetings
+    @Query("SELECT m.id, m.description, m.date, m.startTime, m.stopTime, u.email, u.name, u.surname " +
+            "FROM Meet m JOIN m.studentList u WHERE m.id IN :ids")
+    List<Object[]> findStudentRecipientsByIds(Collection<Long> ids);
+
 
 
 
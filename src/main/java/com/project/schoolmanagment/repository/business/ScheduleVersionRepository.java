@@ -0,0 +1,60 @@
+package com.project.schoolmanagment.repository.business;
+
+import com.project.schoolmanagment.entity.concretes.business.ScheduleVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+/**
+ * Bumps the schedule version of the users a change touches, with one upsert per change. The users are
+ * locked in id order, two changes of overlapping users wait for each other instead of deadlocking.
+ * Call it in the transaction of the change, before the links it reads are deleted or after they are written.
+ */
+@Repository
+public interface ScheduleVersionRepository extends JpaRepository<ScheduleVersion, Long> {
+
+    String UPSERT = "INSERT INTO user_schedule_version (user_id, version, updated_at) " +
+            "SELECT DISTINCT x.user_id, 1, now() AT TIME ZONE 'UTC' FROM (";
+    String ON_CONFLICT = ") x WHERE x.user_id IS NOT NULL ORDER BY x.user_id ON CONFLICT (user_id) DO UPDATE " +
+            "SET version = user_schedule_version.version + 1, updated_at = now() AT TIME ZONE 'UTC'";
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = UPSERT + "SELECT id AS user_id FROM t_user WHERE id IN :userIds" + ON_CONFLICT, nativeQuery = true)
+    int bumpUsers(Collection<Long> userIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = UPSERT + "SELECT user_id FROM user_lesson_program WHERE lesson_program_id IN :lessonProgramIds" +
+            ON_CONFLICT, nativeQuery = true)
+    int bumpUsersOfLessonPrograms(Collection<Long> lessonProgramIds);
+
+    //lesson names are in the feed
+    @Modifying(flushAutomatically = true)
+    @Query(value = UPSERT + "SELECT ulp.user_id FROM user_lesson_program ulp " +
+            "JOIN lesson_program_lesson pl ON pl.lessonprogram_id = ulp.lesson_program_id WHERE pl.lesson_id = :lessonId" +
+            ON_CONFLICT, nativeQuery = true)
+    int bumpUsersOfLesson(Long lessonId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = UPSERT + "SELECT ulp.user_id FROM user_lesson_program ulp " +
+            "JOIN lesson_program p ON p.id = ulp.lesson_program_id WHERE p.education_term_id = :educationTermId " +
+            "UNION ALL SELECT s.advisory_teacher_id FROM meet_series s WHERE s.education_term_id = :educationTermId " +
+            "UNION ALL SELECT ss.student_id FROM meet_series_student ss " +
+            "JOIN meet_series s ON s.id = ss.meet_series_id WHERE s.education_term_id = :educationTermId" +
+            ON_CONFLICT, nativeQuery = true)
+    int bumpUsersOfEducationTerm(Long educationTermId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = UPSERT + "SELECT advisory_teacher_id AS user_id FROM meet WHERE id = :meetId " +
+            "UNION ALL SELECT student_id FROM meet_student_table WHERE meet_id = :meetId" +
+            ON_CONFLICT, nativeQuery = true)
+    int bumpUsersOfMeet(Long meetId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = UPSERT + "SELECT advisory_teacher_id AS user_id FROM meet_series WHERE id = :meetSeriesId " +
+            "UNION ALL SELECT student_id FROM meet_series_student WHERE meet_series_id = :meetSeriesId" +
+            ON_CONFLICT, nativeQuery = true)
+    int bumpUsersOfMeetSeries(Long meetSeriesId);
+}
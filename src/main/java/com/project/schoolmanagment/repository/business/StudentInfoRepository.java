@@ -27,6 +27,30 @@ public interface StudentInfoRepository extends JpaRepository<StudentInfo, Long>
     @Query("SELECT (count (s)>0) FROM StudentInfo s WHERE s.student.id = ?1")
     boolean existByStudentId(Long studentId);
 
+    //scalar rows for rebuilding the transcripts: studentId, educationTermId, creditScore, letterGrade
+    @Query("SELECT s.student.id, s.educationTerm.id, s.lesson.creditScore, s.letterGrade FROM StudentInfo s")
+    List<Object[]> findAllGradeRows();
+
+    //scalar rows for the statistics: lessonId, teacherId, educationTermId, examAverage, letterGrade
+    @Query("SELECT s.lesson.lessonId, s.teacher.id, s.educationTerm.id, s.examAverage, s.letterGrade FROM StudentInfo s")
+    List<Object[]> findAllStatisticRows();
+
+    //scalar rows for the rankings: studentId, lessonId, educationTermId, examAverage, creditScore, letterGrade
+    @Query("SELECT s.student.id, s.lesson.lessonId, s.educationTerm.id, s.examAverage, s.lesson.creditScore, s.letterGrade FROM StudentInfo s")
+    List<Object[]> findAllRankingRows();
+
+    //studentId, letterGrade of the graded student infos of a lesson, for a changed credit score
+    @Query("SELECT s.student.id, s.letterGrade FROM StudentInfo s WHERE s.lesson.lessonId = ?1 AND s.examAverage IS NOT NULL")
+    List<Object[]> findGradedRowsByLesson(Long lessonId);
+
+    //ids in scope grouped by lesson/term pair: lessonId, educationTermId, id
+    @Query("SELECT s.lesson.lessonId, s.educationTerm.id, s.id FROM StudentInfo s " +
+            "WHERE (?1 IS NULL OR s.lesson.lessonId = ?1) AND (?2 IS NULL OR s.educationTerm.id = ?2) " +
+            "ORDER BY s.lesson.lessonId, s.educationTerm.id, s.id")
+    List<Object[]> findIdsByLessonAndTerm(Long lessonId, Long educationTermId);
+
+    List<StudentInfo> findByLesson_LessonIdAndEducationTerm_Id(Long lessonId, Long educationTermId);
+
 
 
     }
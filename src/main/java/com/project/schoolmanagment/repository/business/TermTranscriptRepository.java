@@ -0,0 +1,29 @@
+package com.project.schoolmanagment.repository.business;
+
+import com.project.schoolmanagment.entity.concretes.business.TermTranscript;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface TermTranscriptRepository extends JpaRepository<TermTranscript, Long> {
+
+    List<TermTranscript> findByStudent_IdOrderByEducationTerm_StartDateAsc(Long studentId);
+
+    @Modifying
+    @Query(value = "INSERT INTO term_transcript (id, student_id, education_term_id, total_credit, total_grade_point, lesson_count) " +
+            "VALUES (nextval('term_transcript_seq'), ?1, ?2, 0, 0, 0) ON CONFLICT (student_id, education_term_id) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(Long studentId, Long educationTermId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE TermTranscript t SET t.totalCredit = t.totalCredit + ?3, t.totalGradePoint = t.totalGradePoint + ?4, " +
+            "t.lessonCount = t.lessonCount + ?5 WHERE t.student.id = ?1 AND t.educationTerm.id = ?2")
+    int incrementTotals(Long studentId, Long educationTermId, int credit, double gradePoint, int lessonCount);
+
+}
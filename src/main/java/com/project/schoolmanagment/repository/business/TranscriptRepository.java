@@ -0,0 +1,30 @@
+package com.project.schoolmanagment.repository.business;
+
+import com.project.schoolmanagment.entity.concretes.business.Transcript;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface TranscriptRepository extends JpaRepository<Transcript, Long> {
+
+    Optional<Transcript> findByStudent_Id(Long studentId);
+
+    //the id is taken from the sequence of the entity, a concurrent insert of the same student is skipped
+    @Modifying
+    @Query(value = "INSERT INTO transcript (id, student_id, total_credit, total_grade_point, lesson_count) " +
+            "VALUES (nextval('transcript_seq'), ?1, 0, 0, 0) ON CONFLICT (student_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(Long studentId);
+
+    //single UPDATE so that concurrent grade writes of the same student do not lose each other
+    @Transactional
+    @Modifying
+    @Query("UPDATE Transcript t SET t.totalCredit = t.totalCredit + ?2, t.totalGradePoint = t.totalGradePoint + ?3, " +
+            "t.lessonCount = t.lessonCount + ?4 WHERE t.student.id = ?1")
+    int incrementTotals(Long studentId, int credit, double gradePoint, int lessonCount);
+
+}
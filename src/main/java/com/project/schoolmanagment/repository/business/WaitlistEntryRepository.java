@@ -0,0 +1,28 @@
+package com.project.schoolmanagment.repository.business;
+
+import com.project.schoolmanagment.entity.concretes.business.WaitlistEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    @Query("SELECT w.id FROM WaitlistEntry w WHERE w.lessonProgram.id = :lessonProgramId AND w.student.id = :studentId")
+    Long findIdByLessonProgramAndStudent(Long lessonProgramId, Long studentId);
+
+    //1 for the first student on the list
+    @Query("SELECT count(w) FROM WaitlistEntry w WHERE w.lessonProgram.id = :lessonProgramId AND w.id <= :id")
+    int getPosition(Long lessonProgramId, Long id);
+
+    @Query("SELECT w.id, w.student.id FROM WaitlistEntry w WHERE w.lessonProgram.id = :lessonProgramId ORDER BY w.id")
+    List<Object[]> findQueue(Long lessonProgramId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.lessonProgram.id = :lessonProgramId AND w.student.id = :studentId")
+    int deleteByLessonProgramAndStudent(Long lessonProgramId, Long studentId);
+}
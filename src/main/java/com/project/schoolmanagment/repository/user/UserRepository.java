@@ -4,10 +4,13 @@ import com.project.schoolmanagment.entity.concretes.user.User;
 import com.project.schoolmanagment.entity.enums.RoleType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import com.project.schoolmanagment.entity.concretes.user.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -44,4 +47,34 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.id in :userIds")
     List<User> findUsersByIdArray(Long[] userIds);
 
+    @Query("SELECT count(u) FROM User u WHERE u.id IN :userIds AND u.userRole.roleType = :roleType")
+    long countByIdsAndRoleType(Collection<Long> userIds, RoleType roleType);
+
+    //transaction scoped lock on the lesson program registrations of a student, released on commit/rollback
+    @Query(value = "SELECT count(*) FROM (SELECT pg_advisory_xact_lock(:userId)) l", nativeQuery = true)
+    long lockRegistrations(Long userId);
+
+    //bulk updates below: pending changes are flushed before, loaded users are dropped after,
+    //the version is bumped so an update in flight on one of the rows fails
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.advisorTeacherId = :newAdvisorId, u.version = u.version + 1 " +
+            "WHERE u.advisorTeacherId = :advisorId")
+    int updateAdvisorTeacherId(Long advisorId, Long newAdvisorId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.isActive = :status, u.version = u.version + 1 " +
+            "WHERE u.id IN :ids AND u.userRole = :role AND u.isActive <> :status")
+    int updateStatusByIds(Collection<Long> ids, UserRole role, boolean status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.isActive = :status, u.version = u.version + 1 " +
+            "WHERE u.advisorTeacherId = :advisorId AND u.userRole = :role AND u.isActive <> :status")
+    int updateStatusByAdvisor(Long advisorId, UserRole role, boolean status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.isActive = :status, u.version = u.version + 1 " +
+            "WHERE u.userRole = :role AND u.isActive <> :status AND u.id IN " +
+            "(SELECT s.id FROM User s JOIN s.lessonProgramList l WHERE l.educationTerm.id = :educationTermId)")
+    int updateStatusByEducationTerm(Long educationTermId, UserRole role, boolean status);
+
 }
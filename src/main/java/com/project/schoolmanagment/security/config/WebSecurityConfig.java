@@ -122,6 +122,9 @@ public class WebSecurityConfig {
             "/css/**",
             "/js/**",
             "/contactMessages/save",
-            "/auth/login"
+            "/auth/login",
+            //only served on the management port, see management.server.address
+            "/actuator/health",
+            "/actuator/prometheus"
     };
 }
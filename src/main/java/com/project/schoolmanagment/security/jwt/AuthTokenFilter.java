@@ -1,5 +1,7 @@
 package com.project.schoolmanagment.security.jwt;
 
+import com.project.schoolmanagment.security.service.CurrentUser;
+import com.project.schoolmanagment.security.service.UserDetailsImpl;
 import com.project.schoolmanagment.security.service.UserDetailsServiceImpl;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -33,6 +35,9 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private CurrentUser currentUser;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -48,6 +53,10 @@ public class AuthTokenFilter extends OncePerRequestFilter {
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
                 //5- we are setting the username info into the username attribute
                 request.setAttribute("username", username);
+                //and the role, read by the traffic capture after security is done with the request
+                request.setAttribute("role", userDetails.getAuthorities().iterator().next().getAuthority());
+                //and the request scoped current user, so services do not load the caller again
+                currentUser.set((UserDetailsImpl) userDetails);
                 //6- we have to inform security context about the logged in users
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
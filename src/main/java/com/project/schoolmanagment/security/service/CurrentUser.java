@@ -0,0 +1,30 @@
+package com.project.schoolmanagment.security.service;
+
+import com.project.schoolmanagment.entity.enums.RoleType;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * The caller of the current request, filled once by AuthTokenFilter from the user it already loaded.
+ * Services read the id, role and advisor flag from here instead of loading the user again by username.
+ */
+@Getter
+@Component
+@RequestScope
+public class CurrentUser {
+
+    private Long id;
+    private String username;
+    private RoleType roleType;
+    private boolean advisor;
+    private boolean authenticated;
+
+    public void set(UserDetailsImpl userDetails){
+        this.id = userDetails.getId();
+        this.username = userDetails.getUsername();
+        this.roleType = RoleType.valueOf(userDetails.getAuthorities().iterator().next().getAuthority());
+        this.advisor = Boolean.TRUE.equals(userDetails.getIsAdvisor());
+        this.authenticated = true;
+    }
+}
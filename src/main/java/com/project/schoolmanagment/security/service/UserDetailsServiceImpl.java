@@ -22,7 +22,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                     user.getId(),
                     user.getUsername(),
                     user.getName(),
-                    false,
+                    user.getIsAdvisor(),
                     user.getPassword(),
                     user.getUserRole().getRoleType().name(),
                     user.getSsn()
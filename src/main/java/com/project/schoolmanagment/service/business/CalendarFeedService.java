@@ -0,0 +1,178 @@
+package com.project.schoolmanagment.service.business;
+
+import com.project.schoolmanagment.entity.enums.Day;
+import com.project.schoolmanagment.entity.enums.MeetRecurrence;
+import com.project.schoolmanagment.security.service.CurrentUser;
+import com.project.schoolmanagment.service.calendar.ICalendarWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * iCalendar feed of the lesson programs, meetings and meet series of the caller. The ETag is the schedule
+ * version of the user (ScheduleVersionRepository), so a poll of an unchanged schedule is answered with 304
+ * after one single-row query. Otherwise the events are streamed from JDBC result sets into the response,
+ * no entity is loaded and the feed is never held in memory.
+ * <p>
+ * The output only depends on the rows, for the same version it is the same bytes, as a strong ETag needs.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class CalendarFeedService {
+
+    private static final String VERSION = "SELECT version, updated_at FROM user_schedule_version WHERE user_id = :userId";
+
+    private static final String LESSON_PROGRAMS = "SELECT p.id, p.day, p.start_time, p.stop_time, t.start_date, t.end_date, " +
+            "(SELECT string_agg(l.lesson_name, ', ' ORDER BY l.lesson_name) FROM lesson_program_lesson pl " +
+            "JOIN lesson l ON l.lesson_id = pl.lesson_id WHERE pl.lessonprogram_id = p.id) AS lessons " +
+            "FROM lesson_program p JOIN education_term t ON t.id = p.education_term_id " +
+            "WHERE p.id IN (SELECT lesson_program_id FROM user_lesson_program WHERE user_id = :userId) ORDER BY p.id";
+
+    private static final String MEETS = "SELECT m.id, m.description, m.date, m.start_time, m.stop_time FROM meet m " +
+            "WHERE m.advisory_teacher_id = :userId " +
+            "OR m.id IN (SELECT meet_id FROM meet_student_table WHERE student_id = :userId) ORDER BY m.id";
+
+    private static final String USER_SERIES = "(s.advisory_teacher_id = :userId " +
+            "OR s.id IN (SELECT meet_series_id FROM meet_series_student WHERE student_id = :userId))";
+
+    //cancelled occurrences as EXDATE values
+    private static final String MEET_SERIES = "SELECT s.id, s.description, s.first_date, s.until_date, s.start_time, " +
+            "s.stop_time, s.recurrence, (SELECT string_agg(to_char(o.occurrence_date, 'YYYYMMDD') || " +
+            "to_char(s.start_time, '\"T\"HH24MISS'), ',' ORDER BY o.occurrence_date) FROM meet_series_override o " +
+            "WHERE o.series_id = s.id AND o.cancelled) AS cancelled_dates " +
+            "FROM meet_series s WHERE " + USER_SERIES + " ORDER BY s.id";
+
+    private static final String MOVED_OCCURRENCES = "SELECT o.series_id, o.occurrence_date, o.date, o.start_time, " +
+            "o.stop_time, s.start_time AS series_start_time, s.description FROM meet_series_override o " +
+            "JOIN meet_series s ON s.id = o.series_id WHERE NOT o.cancelled AND " + USER_SERIES +
+            " ORDER BY o.series_id, o.occurrence_date";
+
+    private final DataSource dataSource;
+    private final CurrentUser currentUser;
+
+    @Value("${calendar.feed.fetch-size:500}")
+    private int fetchSize;
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void init(){
+        //rows are read from a cursor in pages of this size instead of all at once
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(fetchSize);
+        jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+
+    /**
+     * the version and the events are read in one transaction, so the ETag is never newer than the events
+     */
+    public void writeFeed(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Long userId = currentUser.getId();
+        MapSqlParameterSource parameters = new MapSqlParameterSource("userId", userId);
+        List<Map<String, Object>> versions = jdbcTemplate.queryForList(VERSION, parameters);
+        long version = versions.isEmpty() ? 0 : ((Number) versions.get(0).get("version")).longValue();
+        LocalDateTime stamp = versions.isEmpty() ? LocalDateTime.of(1970, 1, 1, 0, 0)
+                : ((Timestamp) versions.get(0).get("updated_at")).toLocalDateTime();
+
+        //sets the ETag header, and the 304 status when the client has this version
+        if (new ServletWebRequest(request, response).checkNotModified("\"" + userId + "-" + version + "\"")) {
+            return;
+        }
+        response.setContentType("text/calendar;charset=UTF-8");
+        //calendar apps cache the feed, but ask again with If-None-Match each time
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        ICalendarWriter calendar = new ICalendarWriter(response.getWriter(), stamp);
+        calendar.begin(currentUser.getUsername());
+        try {
+            jdbcTemplate.query(LESSON_PROGRAMS, parameters, (RowCallbackHandler) resultSet -> writeLessonProgram(calendar, resultSet));
+            jdbcTemplate.query(MEETS, parameters, (RowCallbackHandler) resultSet -> writeMeet(calendar, resultSet));
+            jdbcTemplate.query(MEET_SERIES, parameters, (RowCallbackHandler) resultSet -> writeMeetSeries(calendar, resultSet));
+            jdbcTemplate.query(MOVED_OCCURRENCES, parameters, (RowCallbackHandler) resultSet -> writeMovedOccurrence(calendar, resultSet));
+        } catch (UncheckedIOException e) {
+            //the client went away
+            throw e.getCause();
+        }
+        calendar.end();
+    }
+
+    //every week of the term on the day of the program
+    private static void writeLessonProgram(ICalendarWriter calendar, ResultSet resultSet) throws SQLException {
+        LocalDate termStart = resultSet.getObject("start_date", LocalDate.class);
+        LocalDate termEnd = resultSet.getObject("end_date", LocalDate.class);
+        DayOfWeek dayOfWeek = DayOfWeek.valueOf(Day.valueOf(resultSet.getString("day")).name());
+        LocalDate first = termStart.with(TemporalAdjusters.nextOrSame(dayOfWeek));
+        if (first.isAfter(termEnd)) {
+            return;
+        }
+        write(() -> calendar.event("lesson-program-" + resultSet.getLong("id") + "@schoolmanagment", first,
+                resultSet.getObject("start_time", LocalTime.class), resultSet.getObject("stop_time", LocalTime.class),
+                resultSet.getString("lessons"), "FREQ=WEEKLY;UNTIL=" + until(termEnd), null, null));
+    }
+
+    private static void writeMeet(ICalendarWriter calendar, ResultSet resultSet) throws SQLException {
+        write(() -> calendar.event("meet-" + resultSet.getLong("id") + "@schoolmanagment",
+                resultSet.getObject("date", LocalDate.class), resultSet.getObject("start_time", LocalTime.class),
+                resultSet.getObject("stop_time", LocalTime.class), resultSet.getString("description"), null, null, null));
+    }
+
+    private static void writeMeetSeries(ICalendarWriter calendar, ResultSet resultSet) throws SQLException {
+        int weeks = MeetRecurrence.valueOf(resultSet.getString("recurrence")).getWeeks();
+        write(() -> calendar.event("meet-series-" + resultSet.getLong("id") + "@schoolmanagment",
+                resultSet.getObject("first_date", LocalDate.class), resultSet.getObject("start_time", LocalTime.class),
+                resultSet.getObject("stop_time", LocalTime.class), resultSet.getString("description"),
+                "FREQ=WEEKLY;INTERVAL=" + weeks + ";UNTIL=" + until(resultSet.getObject("until_date", LocalDate.class)),
+                resultSet.getString("cancelled_dates"), null));
+    }
+
+    //replaces the occurrence of the series with the same UID
+    private static void writeMovedOccurrence(ICalendarWriter calendar, ResultSet resultSet) throws SQLException {
+        LocalDateTime recurrenceId = resultSet.getObject("occurrence_date", LocalDate.class)
+                .atTime(resultSet.getObject("series_start_time", LocalTime.class));
+        write(() -> calendar.event("meet-series-" + resultSet.getLong("series_id") + "@schoolmanagment",
+                resultSet.getObject("date", LocalDate.class), resultSet.getObject("start_time", LocalTime.class),
+                resultSet.getObject("stop_time", LocalTime.class), resultSet.getString("description"),
+                null, null, recurrenceId));
+    }
+
+    private static String until(LocalDate lastDate) {
+        return ICalendarWriter.format(lastDate.atTime(23, 59, 59));
+    }
+
+    private static void write(EventWrite event) throws SQLException {
+        try {
+            event.write();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface EventWrite {
+        void write() throws IOException, SQLException;
+    }
+}
@@ -0,0 +1,267 @@
+package com.project.schoolmanagment.service.business;
+
+import com.project.schoolmanagment.entity.concretes.business.StudentInfo;
+import com.project.schoolmanagment.entity.enums.Note;
+import com.project.schoolmanagment.exception.BadRequestException;
+import com.project.schoolmanagment.exception.ResourceNotFoundException;
+import com.project.schoolmanagment.payload.messages.ErrorMessages;
+import com.project.schoolmanagment.payload.messages.SuccessMessages;
+import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.business.RankingResponse;
+import com.project.schoolmanagment.repository.business.StudentInfoRepository;
+import com.project.schoolmanagment.security.service.CurrentUser;
+import com.project.schoolmanagment.service.helper.TransactionHelper;
+import com.project.schoolmanagment.service.helper.TransactionIds;
+import com.project.schoolmanagment.service.statistics.RankingIndex;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Students are ranked by exam average inside a lesson and education term,
+ * and by credit weighted GPA across the school. Indexes are built at startup and after a grade recomputation,
+ * and changed on grade writes.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class ClassRankingService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClassRankingService.class);
+
+    private final StudentInfoRepository studentInfoRepository;
+    private final TransactionHelper transactionHelper;
+    private final TransactionIds transactionIds;
+    private final CurrentUser currentUser;
+
+    @Value("${ranking.top.max-size:100}")
+    private int maxTopSize;
+
+    //replaced as a whole by a reload, readers never see half loaded indexes
+    private volatile Rankings rankings = new Rankings();
+    //DB snapshot the rankings were loaded from, null before the first load; guarded by this
+    private TransactionIds.Snapshot loadedSnapshot;
+    //changes committed while a reload reads the DB, null when no reload runs; guarded by this
+    private List<RankingChange> pendingChanges;
+    private final Object reloadLock = new Object();
+
+    /**
+     * The new indexes are built aside and swapped in. A change committed during the reload goes to the
+     * old indexes and, unless the transaction is in the snapshot of the reload, to the new ones.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    //on the primary, a lagging replica would miss the commits the reload runs after
+    @Transactional(readOnly = false, isolation = Isolation.REPEATABLE_READ)
+    public void loadRankings(){
+        synchronized (reloadLock) {
+            synchronized (this) {
+                pendingChanges = new ArrayList<>();
+            }
+            //the first statement, the rows below are read in this snapshot
+            TransactionIds.Snapshot snapshot = transactionIds.snapshot();
+            Rankings loaded = new Rankings();
+            int rowCount = 0;
+            for (Object[] row : studentInfoRepository.findAllRankingRows()){
+                if(row[3] != null){
+                    loaded.applyGrade((Long) row[0], (Long) row[1], (Long) row[2], (Double) row[3],
+                            (Integer) row[4], (Note) row[5], 1);
+                    rowCount++;
+                }
+            }
+            synchronized (this) {
+                for (RankingChange change : pendingChanges){
+                    if(!snapshot.contains(change.transactionId)){
+                        change.applyTo(loaded);
+                    }
+                }
+                pendingChanges = null;
+                loadedSnapshot = snapshot;
+                rankings = loaded;
+            }
+            LOGGER.info("Rankings loaded from {} student infos", rowCount);
+        }
+    }
+
+    public void addGrade(StudentInfo studentInfo){
+        applyAfterCommit(studentInfo, 1);
+    }
+
+    /**
+     * must be called with the student info as it is stored in DB, before update/delete
+     */
+    public void removeGrade(StudentInfo studentInfo){
+        applyAfterCommit(studentInfo, -1);
+    }
+
+    /**
+     * a changed credit score moves the GPA of the graded students of the lesson, changed after commit
+     */
+    public void updateCreditScore(Long lessonId, Integer oldCredit, Integer newCredit){
+        int creditDelta = (newCredit == null ? 0 : newCredit) - (oldCredit == null ? 0 : oldCredit);
+        if(creditDelta == 0){
+            return;
+        }
+        long transactionId = transactionIds.current();
+        //studentId, letterGrade of the graded student infos of the lesson
+        List<Object[]> rows = studentInfoRepository.findGradedRowsByLesson(lessonId);
+        transactionHelper.runAfterCommit(() -> applyCommitted(new RankingChange(transactionId) {
+            @Override
+            void applyTo(Rankings rankings) {
+                for (Object[] row : rows){
+                    rankings.applyCredit((Long) row[0], creditDelta, (Note) row[1]);
+                }
+            }
+        }));
+    }
+
+    private void applyAfterCommit(StudentInfo studentInfo, int weight){
+        if(studentInfo.getExamAverage() == null){
+            return;
+        }
+        //values are read now, the entity can be changed by a merge before commit
+        Long studentId = studentInfo.getStudent().getId();
+        Long lessonId = studentInfo.getLesson().getLessonId();
+        Long educationTermId = studentInfo.getEducationTerm().getId();
+        double average = studentInfo.getExamAverage();
+        Integer credit = studentInfo.getLesson().getCreditScore();
+        Note note = studentInfo.getLetterGrade();
+        long transactionId = transactionIds.current();
+        transactionHelper.runAfterCommit(() -> applyCommitted(new RankingChange(transactionId) {
+            @Override
+            void applyTo(Rankings rankings) {
+                rankings.applyGrade(studentId, lessonId, educationTermId, average, credit, note, weight);
+            }
+        }));
+    }
+
+    private synchronized void applyCommitted(RankingChange change){
+        if(loadedSnapshot == null || !loadedSnapshot.contains(change.transactionId)){
+            change.applyTo(rankings);
+        }
+        if(pendingChanges != null){
+            pendingChanges.add(change);
+        }
+    }
+
+    private static String key(Long lessonId, Long educationTermId){
+        return lessonId + ":" + educationTermId;
+    }
+
+    public ResponseMessage<RankingResponse> getLessonRank(Long lessonId, Long educationTermId, Long studentId) {
+        return buildResponse(rankings.lessonRankings.get(key(lessonId, educationTermId)), studentId);
+    }
+
+    public List<RankingResponse> getLessonTop(Long lessonId, Long educationTermId, int size) {
+        checkTopSize(size);
+        RankingIndex ranking = rankings.lessonRankings.get(key(lessonId, educationTermId));
+        return ranking == null ? new ArrayList<>() : getTop(ranking, size);
+    }
+
+    public ResponseMessage<RankingResponse> getSchoolRank(Long studentId) {
+        return buildResponse(rankings.schoolRanking, studentId);
+    }
+
+    public ResponseMessage<RankingResponse> getSchoolRankForStudent(HttpServletRequest request) {
+        return buildResponse(rankings.schoolRanking, currentUser.getId());
+    }
+
+    public List<RankingResponse> getSchoolTop(int size) {
+        checkTopSize(size);
+        return getTop(rankings.schoolRanking, size);
+    }
+
+    private void checkTopSize(int size){
+        if(size < 1 || size > maxTopSize){
+            throw new BadRequestException(String.format(ErrorMessages.RANKING_SIZE_NOT_VALID, maxTopSize));
+        }
+    }
+
+    private List<RankingResponse> getTop(RankingIndex ranking, int size){
+        return ranking.top(size)
+                .stream()
+                .map(studentId -> mapRanking(ranking, studentId))
+                .collect(Collectors.toList());
+    }
+
+    private ResponseMessage<RankingResponse> buildResponse(RankingIndex ranking, Long studentId){
+        if(ranking == null || !ranking.contains(studentId)){
+            throw new ResourceNotFoundException(String.format(ErrorMessages.RANKING_NOT_FOUND_MESSAGE, studentId));
+        }
+        return ResponseMessage.<RankingResponse>builder()
+                .message(SuccessMessages.RANKING_FOUND)
+                .object(mapRanking(ranking, studentId))
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    private RankingResponse mapRanking(RankingIndex ranking, Long studentId){
+        return RankingResponse.builder()
+                .studentId(studentId)
+                .score(ranking.score(studentId))
+                .rank(ranking.rank(studentId))
+                .total(ranking.size())
+                .percentile(Math.round(ranking.percentile(studentId) * 100.0) / 100.0)
+                .build();
+    }
+
+    //the indexes of one load, changed under the lock of the service
+    private static class Rankings {
+
+        private final Map<String, RankingIndex> lessonRankings = new ConcurrentHashMap<>();
+        private final RankingIndex schoolRanking = new RankingIndex(4, 100);
+        //studentId -> {total credit, total grade point} for the school GPA
+        private final Map<Long, double[]> studentTotals = new HashMap<>();
+
+        private void applyGrade(Long studentId, Long lessonId, Long educationTermId,
+                                double average, Integer credit, Note note, int weight){
+            RankingIndex lessonRanking = lessonRankings.computeIfAbsent(key(lessonId, educationTermId),
+                    key -> new RankingIndex(100, 10));
+            if(weight > 0){
+                lessonRanking.put(studentId, average);
+            } else {
+                lessonRanking.remove(studentId);
+            }
+            int creditScore = credit == null ? 0 : credit;
+            applyCredit(studentId, weight * creditScore, note);
+        }
+
+        private void applyCredit(Long studentId, int creditDelta, Note note){
+            double[] totals = studentTotals.computeIfAbsent(studentId, id -> new double[2]);
+            totals[0] += creditDelta;
+            totals[1] += creditDelta * (note == null ? 0.0 : note.getGradePoint());
+            if(totals[0] > 0){
+                schoolRanking.put(studentId, totals[1] / totals[0]);
+            } else {
+                studentTotals.remove(studentId);
+                schoolRanking.remove(studentId);
+            }
+        }
+    }
+
+    private abstract static class RankingChange {
+
+        //of the writing transaction
+        private final long transactionId;
+
+        private RankingChange(long transactionId) {
+            this.transactionId = transactionId;
+        }
+
+        abstract void applyTo(Rankings rankings);
+    }
+}
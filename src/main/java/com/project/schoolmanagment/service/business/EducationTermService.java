@@ -11,6 +11,9 @@ import com.project.schoolmanagment.payload.request.business.EducationTermRequest
 import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
 import com.project.schoolmanagment.payload.response.business.EducationTermResponse;
 import com.project.schoolmanagment.repository.business.EducationTermRepository;
+import com.project.schoolmanagment.repository.business.LessonProgramRepository;
+import com.project.schoolmanagment.repository.business.MeetSeriesRepository;
+import com.project.schoolmanagment.repository.business.ScheduleVersionRepository;
 import com.project.schoolmanagment.service.helper.PageableHelper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -19,18 +22,25 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class EducationTermService {
 
     private final EducationTermRepository educationTermRepository;
+    private final LessonProgramRepository lessonProgramRepository;
     private final EducationTermMapper educationTermMapper;
     private final PageableHelper pageableHelper;
+    private final LessonProgramFitService lessonProgramFitService;
+    private final MeetSeriesRepository meetSeriesRepository;
+    private final ScheduleVersionRepository scheduleVersionRepository;
 
+    @Transactional
     public ResponseMessage<EducationTermResponse> saveEducationTerm(EducationTermRequest educationTermRequest) {
         //first validation
         validateEducationTerms(educationTermRequest);
@@ -86,6 +96,7 @@ public class EducationTermService {
                 new ResourceNotFoundException(String.format(ErrorMessages.EDUCATION_TERM_NOT_FOUND_MESSAGE, id)));
     }
 
+    @Transactional
     public ResponseMessage<EducationTermResponse> updateEducationTerm(Long id, EducationTermRequest educationTermRequest) {
         isEducationTermExist(id);
 
@@ -93,6 +104,8 @@ public class EducationTermService {
         validateEducationTermDatesForRequest(educationTermRequest);
 
         EducationTerm updatedEducationTerm = educationTermRepository.save(educationTermMapper.mapEducationTermRequestToEducationTermForUpdate(id, educationTermRequest));
+        //the weekly lesson programs of the calendar feeds repeat between the dates of the term
+        scheduleVersionRepository.bumpUsersOfEducationTerm(id);
 
         return ResponseMessage.<EducationTermResponse>
                 builder()
@@ -103,8 +116,14 @@ public class EducationTermService {
 
     }
 
+    @Transactional
     public ResponseMessage<?> deleteById(Long id) {
         isEducationTermExist(id);
+        scheduleVersionRepository.bumpUsersOfEducationTerm(id);
+        //the programs of the term in bulk, the cascade would run @PreRemove per program
+        lessonProgramRepository.deleteAllOfEducationTermWithLinks(id);
+        lessonProgramFitService.evictAll();
+        meetSeriesRepository.deleteAllOfEducationTerm(id);
         educationTermRepository.deleteById(id);
         return ResponseMessage.builder()
                 .message(SuccessMessages.EDUCATION_TERM_DELETE)
@@ -0,0 +1,128 @@
+package com.project.schoolmanagment.service.business;
+
+import com.project.schoolmanagment.entity.concretes.business.ExamWeight;
+import com.project.schoolmanagment.exception.BadRequestException;
+import com.project.schoolmanagment.exception.ResourceNotFoundException;
+import com.project.schoolmanagment.payload.mappers.ExamWeightMapper;
+import com.project.schoolmanagment.payload.messages.ErrorMessages;
+import com.project.schoolmanagment.payload.messages.SuccessMessages;
+import com.project.schoolmanagment.payload.request.business.ExamWeightRequest;
+import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.business.ExamWeightResponse;
+import com.project.schoolmanagment.repository.business.ExamWeightRepository;
+import com.project.schoolmanagment.service.helper.TransactionHelper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Exam weights are looked up on every grade write, so they are cached by scope.
+ * The most specific weight wins: lesson in term, lesson, term, then the global properties.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class ExamWeightService {
+
+    private final Map<String, ExamWeight> examWeights = new ConcurrentHashMap<>();
+
+    private final ExamWeightRepository examWeightRepository;
+    private final ExamWeightMapper examWeightMapper;
+    private final LessonService lessonService;
+    private final EducationTermService educationTermService;
+    private final TransactionHelper transactionHelper;
+
+    @Value("${midterm.exam.impact.percentage}")
+    private Double midtermExamPercentage;
+    @Value("${final.exam.impact.percentage}")
+    private Double finalExamPercentage;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadExamWeights(){
+        examWeights.clear();
+        examWeightRepository.findAll()
+                .forEach(examWeight -> examWeights.put(key(examWeight.getLessonId(), examWeight.getEducationTermId()), examWeight));
+    }
+
+    /**
+     * @return {midterm percentage, final percentage} for the student infos of a lesson in a term
+     */
+    public double[] getWeights(Long lessonId, Long educationTermId){
+        ExamWeight examWeight = examWeights.get(key(lessonId, educationTermId));
+        if(examWeight == null){
+            examWeight = examWeights.get(key(lessonId, null));
+        }
+        if(examWeight == null){
+            examWeight = examWeights.get(key(null, educationTermId));
+        }
+        if(examWeight == null){
+            return new double[]{midtermExamPercentage, finalExamPercentage};
+        }
+        return new double[]{examWeight.getMidtermPercentage(), examWeight.getFinalPercentage()};
+    }
+
+    private static String key(Long lessonId, Long educationTermId){
+        return lessonId + ":" + educationTermId;
+    }
+
+    @Transactional
+    public ResponseMessage<ExamWeightResponse> saveExamWeight(ExamWeightRequest examWeightRequest) {
+        validateExamWeight(examWeightRequest);
+        ExamWeight examWeight = examWeightMapper.mapExamWeightRequestToExamWeight(examWeightRequest);
+        //one weight per scope, an existing one is overwritten
+        examWeightRepository.findByScope(examWeightRequest.getLessonId(), examWeightRequest.getEducationTermId())
+                .ifPresent(existing -> examWeight.setId(existing.getId()));
+        ExamWeight savedExamWeight = examWeightRepository.save(examWeight);
+        //a rolled back weight must not be used for grades
+        transactionHelper.runAfterCommit(() ->
+                examWeights.put(key(savedExamWeight.getLessonId(), savedExamWeight.getEducationTermId()), savedExamWeight));
+        return ResponseMessage.<ExamWeightResponse>builder()
+                .message(SuccessMessages.EXAM_WEIGHT_SAVE)
+                .object(examWeightMapper.mapExamWeightToExamWeightResponse(savedExamWeight))
+                .httpStatus(HttpStatus.CREATED)
+                .build();
+    }
+
+    private void validateExamWeight(ExamWeightRequest examWeightRequest){
+        if(examWeightRequest.getLessonId() == null && examWeightRequest.getEducationTermId() == null){
+            throw new BadRequestException(ErrorMessages.EXAM_WEIGHT_SCOPE_NOT_VALID);
+        }
+        if(Math.abs(examWeightRequest.getMidtermPercentage() + examWeightRequest.getFinalPercentage() - 1.0) > 1e-6){
+            throw new BadRequestException(ErrorMessages.EXAM_WEIGHT_SUM_NOT_VALID);
+        }
+        if(examWeightRequest.getLessonId() != null){
+            lessonService.isLessonExistsById(examWeightRequest.getLessonId());
+        }
+        if(examWeightRequest.getEducationTermId() != null){
+            educationTermService.isEducationTermExist(examWeightRequest.getEducationTermId());
+        }
+    }
+
+    @Transactional
+    public ResponseMessage deleteExamWeightById(Long id) {
+        ExamWeight examWeight = examWeightRepository.findById(id).orElseThrow(()->
+                new ResourceNotFoundException(String.format(ErrorMessages.EXAM_WEIGHT_NOT_FOUND_MESSAGE, id)));
+        examWeightRepository.delete(examWeight);
+        transactionHelper.runAfterCommit(() -> examWeights.remove(key(examWeight.getLessonId(), examWeight.getEducationTermId())));
+        return ResponseMessage.builder()
+                .message(SuccessMessages.EXAM_WEIGHT_DELETE)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    public List<ExamWeightResponse> getAllExamWeights() {
+        return examWeightRepository.findAll()
+                .stream()
+                .map(examWeightMapper::mapExamWeightToExamWeightResponse)
+                .collect(Collectors.toList());
+    }
+}
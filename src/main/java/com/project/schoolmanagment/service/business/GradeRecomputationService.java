@@ -0,0 +1,261 @@
+package com.project.schoolmanagment.service.business;
+
+import com.project.schoolmanagment.entity.concretes.business.GradeRecomputationChunk;
+import com.project.schoolmanagment.entity.concretes.business.GradeRecomputationJob;
+import com.project.schoolmanagment.entity.enums.JobStatus;
+import com.project.schoolmanagment.exception.ConflictException;
+import com.project.schoolmanagment.exception.ResourceNotFoundException;
+import com.project.schoolmanagment.payload.mappers.ExamWeightMapper;
+import com.project.schoolmanagment.payload.messages.ErrorMessages;
+import com.project.schoolmanagment.payload.messages.SuccessMessages;
+import com.project.schoolmanagment.payload.request.business.GradeRecomputationRequest;
+import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.business.GradeRecomputationResponse;
+import com.project.schoolmanagment.repository.business.GradeRecomputationChunkRepository;
+import com.project.schoolmanagment.repository.business.GradeRecomputationJobRepository;
+import com.project.schoolmanagment.repository.business.StudentInfoRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Recomputes stored exam averages and letter grades after exam weights change.
+ * Student infos are split into chunks of at most chunk-size rows of one lesson/term pair,
+ * every chunk is one UPDATE in its own transaction and chunks run in parallel.
+ * Chunks are stored with the job, a job stopped by a failure or a restart continues with the pending chunks.
+ */
+@Service
+@RequiredArgsConstructor
+public class GradeRecomputationService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GradeRecomputationService.class);
+
+    private final GradeRecomputationJobRepository gradeRecomputationJobRepository;
+    private final GradeRecomputationChunkRepository gradeRecomputationChunkRepository;
+    private final StudentInfoRepository studentInfoRepository;
+    private final ExamWeightService examWeightService;
+    private final LessonService lessonService;
+    private final EducationTermService educationTermService;
+    private final GradingSchemeService gradingSchemeService;
+    private final ExamWeightMapper examWeightMapper;
+    private final TranscriptService transcriptService;
+    private final GradeStatisticsService gradeStatisticsService;
+    private final ClassRankingService classRankingService;
+    private final PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${grade.recomputation.threads:4}")
+    private int threads;
+    @Value("${grade.recomputation.chunk-size:1000}")
+    private int chunkSize;
+
+    private ExecutorService executor;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init(){
+        executor = Executors.newFixedThreadPool(threads);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown(){
+        //running chunks are rolled back or committed, pending ones stay in DB for the next start
+        executor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeRunningJobs(){
+        for (GradeRecomputationJob job : gradeRecomputationJobRepository.findByStatus(JobStatus.RUNNING)){
+            LOGGER.info("Resuming grade recomputation job {}", job.getId());
+            submitPendingChunks(job.getId());
+        }
+    }
+
+    public ResponseMessage<GradeRecomputationResponse> startJob(GradeRecomputationRequest gradeRecomputationRequest) {
+        Long lessonId = gradeRecomputationRequest.getLessonId();
+        Long educationTermId = gradeRecomputationRequest.getEducationTermId();
+        if(lessonId != null){
+            lessonService.isLessonExistsById(lessonId);
+        }
+        if(educationTermId != null){
+            educationTermService.isEducationTermExist(educationTermId);
+        }
+        GradeRecomputationJob job = transactionTemplate.execute(status -> createJob(lessonId, educationTermId));
+        submitPendingChunks(job.getId());
+        return ResponseMessage.<GradeRecomputationResponse>builder()
+                .message(SuccessMessages.GRADE_RECOMPUTATION_START)
+                .object(examWeightMapper.mapJobToGradeRecomputationResponse(job))
+                .httpStatus(HttpStatus.CREATED)
+                .build();
+    }
+
+    private GradeRecomputationJob createJob(Long lessonId, Long educationTermId){
+        GradeRecomputationJob job = gradeRecomputationJobRepository.save(GradeRecomputationJob.builder()
+                .lessonId(lessonId)
+                .educationTermId(educationTermId)
+                .status(JobStatus.RUNNING)
+                .totalChunks(0)
+                .completedChunks(0)
+                .updatedRows(0L)
+                .startedAt(LocalDateTime.now())
+                .build());
+
+        //rows come ordered by lesson, term and id, a chunk is closed on a new pair or when it is full
+        List<GradeRecomputationChunk> chunks = new ArrayList<>();
+        GradeRecomputationChunk chunk = null;
+        int rowsInChunk = 0;
+        for (Object[] row : studentInfoRepository.findIdsByLessonAndTerm(lessonId, educationTermId)){
+            Long rowLessonId = (Long) row[0];
+            Long rowEducationTermId = (Long) row[1];
+            Long id = (Long) row[2];
+            if(chunk == null || rowsInChunk == chunkSize
+                    || !chunk.getLessonId().equals(rowLessonId)
+                    || !chunk.getEducationTermId().equals(rowEducationTermId)){
+                double[] weights = examWeightService.getWeights(rowLessonId, rowEducationTermId);
+                chunk = GradeRecomputationChunk.builder()
+                        .jobId(job.getId())
+                        .lessonId(rowLessonId)
+                        .educationTermId(rowEducationTermId)
+                        .lowId(id)
+                        .midtermPercentage(weights[0])
+                        .finalPercentage(weights[1])
+                        .build();
+                chunks.add(chunk);
+                rowsInChunk = 0;
+            }
+            chunk.setHighId(id);
+            rowsInChunk++;
+        }
+        gradeRecomputationChunkRepository.saveAll(chunks);
+        job.setTotalChunks(chunks.size());
+        if(chunks.isEmpty()){
+            job.setStatus(JobStatus.COMPLETED);
+            job.setFinishedAt(LocalDateTime.now());
+        }
+        return gradeRecomputationJobRepository.save(job);
+    }
+
+    private void submitPendingChunks(Long jobId){
+        for (GradeRecomputationChunk chunk : gradeRecomputationChunkRepository.findByJobIdAndDoneFalse(jobId)){
+            executor.submit(() -> runChunk(chunk));
+        }
+    }
+
+    private void runChunk(GradeRecomputationChunk chunk){
+        try {
+            Boolean finished = transactionTemplate.execute(status -> {
+                //a chunk submitted twice (resume while still queued) is only applied once
+                if(gradeRecomputationChunkRepository.markDone(chunk.getId()) == 0){
+                    return false;
+                }
+                int updatedRows = entityManager.createQuery(buildUpdate(chunk))
+                        .setParameter("lowId", chunk.getLowId())
+                        .setParameter("highId", chunk.getHighId())
+                        .setParameter("lessonId", chunk.getLessonId())
+                        .setParameter("educationTermId", chunk.getEducationTermId())
+                        .executeUpdate();
+                gradeRecomputationJobRepository.incrementProgress(chunk.getJobId(), updatedRows);
+                //row lock on the job serializes the workers, only the last chunk sees completed = total
+                return gradeRecomputationJobRepository.completeIfFinished(chunk.getJobId(), LocalDateTime.now()) == 1;
+            });
+            if(Boolean.TRUE.equals(finished)){
+                gradeCurvedClasses(chunk.getJobId());
+                refreshAggregates(chunk.getJobId());
+            }
+        } catch (RuntimeException e){
+            LOGGER.error("Grade recomputation chunk {} of job {} failed", chunk.getId(), chunk.getJobId(), e);
+            gradeRecomputationJobRepository.markFailed(chunk.getJobId(), e.getMessage());
+        }
+    }
+
+    private String buildUpdate(GradeRecomputationChunk chunk){
+        //weights are doubles taken from DB, they are written as literals so the CASE needs no typed parameters
+        String average = "(s.midtermExam * " + BigDecimal.valueOf(chunk.getMidtermPercentage()).toPlainString() +
+                " + s.finalExam * " + BigDecimal.valueOf(chunk.getFinalPercentage()).toPlainString() + ")";
+        //letter grades of curved classes depend on the whole class, they are set once every chunk is done
+        String letterGrade = gradingSchemeService.isCurved(chunk.getLessonId(), chunk.getEducationTermId()) ? "" :
+                ", s.letterGrade = " + gradingSchemeService.getGradeTable(chunk.getLessonId(), chunk.getEducationTermId())
+                        .caseExpression(average);
+        //the version is bumped like an entity update, a grade edit that read the row before fails instead of overwriting it
+        return "UPDATE StudentInfo s SET s.version = s.version + 1, s.examAverage = " + average + letterGrade +
+                " WHERE s.id BETWEEN :lowId AND :highId" +
+                " AND s.lesson.lessonId = :lessonId AND s.educationTerm.id = :educationTermId";
+    }
+
+    private void gradeCurvedClasses(Long jobId){
+        for (Object[] row : gradeRecomputationChunkRepository.findClassesByJobId(jobId)){
+            Long lessonId = (Long) row[0];
+            Long educationTermId = (Long) row[1];
+            if(gradingSchemeService.isCurved(lessonId, educationTermId)){
+                gradingSchemeService.gradeClass(lessonId, educationTermId, false);
+            }
+        }
+    }
+
+    //transcripts, statistics and rankings are derived from the updated rows, they are built again once per job
+    private void refreshAggregates(Long jobId){
+        //only the students of the job, grade writes go on meanwhile
+        transcriptService.recomputeTranscriptsOfJob(jobId);
+        gradeStatisticsService.loadStatistics();
+        classRankingService.loadRankings();
+        LOGGER.info("Grade recomputation job {} completed", jobId);
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseMessage<GradeRecomputationResponse> getJobById(Long jobId) {
+        return ResponseMessage.<GradeRecomputationResponse>builder()
+                .message(SuccessMessages.GRADE_RECOMPUTATION_FOUND)
+                .object(examWeightMapper.mapJobToGradeRecomputationResponse(isJobExist(jobId)))
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    public ResponseMessage<GradeRecomputationResponse> resumeJob(Long jobId) {
+        GradeRecomputationJob job = isJobExist(jobId);
+        if(job.getStatus() != JobStatus.FAILED){
+            throw new ConflictException(ErrorMessages.GRADE_RECOMPUTATION_NOT_FAILED);
+        }
+        job.setStatus(JobStatus.RUNNING);
+        job.setErrorMessage(null);
+        GradeRecomputationJob savedJob = gradeRecomputationJobRepository.save(job);
+        //every chunk may already be done if the failure happened after the last one
+        if(gradeRecomputationJobRepository.completeIfFinished(jobId, LocalDateTime.now()) == 1){
+            gradeCurvedClasses(jobId);
+            refreshAggregates(jobId);
+        } else {
+            submitPendingChunks(jobId);
+        }
+        return ResponseMessage.<GradeRecomputationResponse>builder()
+                .message(SuccessMessages.GRADE_RECOMPUTATION_START)
+                .object(examWeightMapper.mapJobToGradeRecomputationResponse(savedJob))
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    private GradeRecomputationJob isJobExist(Long jobId){
+        return gradeRecomputationJobRepository.findById(jobId).orElseThrow(()->
+                new ResourceNotFoundException(String.format(ErrorMessages.GRADE_RECOMPUTATION_NOT_FOUND_MESSAGE, jobId)));
+    }
+}
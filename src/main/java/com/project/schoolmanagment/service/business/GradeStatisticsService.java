@@ -0,0 +1,214 @@
+package com.project.schoolmanagment.service.business;
+
+import com.project.schoolmanagment.entity.concretes.business.StudentInfo;
+import com.project.schoolmanagment.entity.concretes.user.User;
+import com.project.schoolmanagment.entity.enums.Note;
+import com.project.schoolmanagment.entity.enums.RoleType;
+import com.project.schoolmanagment.payload.mappers.GradeStatisticsMapper;
+import com.project.schoolmanagment.payload.messages.SuccessMessages;
+import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.business.GradeStatisticsResponse;
+import com.project.schoolmanagment.repository.business.StudentInfoRepository;
+import com.project.schoolmanagment.service.helper.MethodHelper;
+import com.project.schoolmanagment.service.helper.TransactionHelper;
+import com.project.schoolmanagment.service.helper.TransactionIds;
+import com.project.schoolmanagment.service.statistics.GradeDistribution;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Grade statistics are kept in memory and changed on every student info write,
+ * the DB is only read at startup and after a grade recomputation.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class GradeStatisticsService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GradeStatisticsService.class);
+
+    //key parts, ALL_TERMS is used instead of a term id for the aggregate over every term
+    private static final String LESSON = "lesson";
+    private static final String TEACHER = "teacher";
+    private static final String TERM = "term";
+    private static final String ALL_TERMS = "*";
+
+    private final StudentInfoRepository studentInfoRepository;
+    private final GradeStatisticsMapper gradeStatisticsMapper;
+    private final MethodHelper methodHelper;
+    private final TransactionHelper transactionHelper;
+    private final TransactionIds transactionIds;
+
+    //replaced as a whole by a reload, readers never see a half loaded map
+    private volatile Map<String, GradeDistribution> distributions = new ConcurrentHashMap<>();
+    //DB snapshot the distributions were loaded from, null before the first load; guarded by this
+    private TransactionIds.Snapshot loadedSnapshot;
+    //changes committed while a reload reads the DB, null when no reload runs; guarded by this
+    private List<GradeChange> pendingChanges;
+    private final Object reloadLock = new Object();
+
+    /**
+     * The new distributions are built aside and swapped in. A change committed during the reload goes to the
+     * old distributions and, unless the transaction is in the snapshot of the reload, to the new ones.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    //on the primary, a lagging replica would miss the commits the reload runs after
+    @Transactional(readOnly = false, isolation = Isolation.REPEATABLE_READ)
+    public void loadStatistics(){
+        synchronized (reloadLock) {
+            synchronized (this) {
+                pendingChanges = new ArrayList<>();
+            }
+            //the first statement, the rows below are read in this snapshot
+            TransactionIds.Snapshot snapshot = transactionIds.snapshot();
+            Map<String, GradeDistribution> loaded = new ConcurrentHashMap<>();
+            int rowCount = 0;
+            for (Object[] row : studentInfoRepository.findAllStatisticRows()){
+                if(row[3] != null){
+                    apply(loaded, new GradeChange((Long) row[0], (Long) row[1], (Long) row[2], (Double) row[3],
+                            (Note) row[4], 1, 0));
+                    rowCount++;
+                }
+            }
+            synchronized (this) {
+                for (GradeChange change : pendingChanges){
+                    if(!snapshot.contains(change.transactionId)){
+                        apply(loaded, change);
+                    }
+                }
+                pendingChanges = null;
+                loadedSnapshot = snapshot;
+                distributions = loaded;
+            }
+            LOGGER.info("Grade statistics loaded from {} student infos", rowCount);
+        }
+    }
+
+    public void addGrade(StudentInfo studentInfo){
+        applyAfterCommit(studentInfo, 1);
+    }
+
+    /**
+     * must be called with the student info as it is stored in DB, before update/delete
+     */
+    public void removeGrade(StudentInfo studentInfo){
+        applyAfterCommit(studentInfo, -1);
+    }
+
+    private void applyAfterCommit(StudentInfo studentInfo, int weight){
+        if(studentInfo.getExamAverage() == null){
+            return;
+        }
+        //values are read now, the entity can be changed by a merge before commit
+        GradeChange change = new GradeChange(studentInfo.getLesson().getLessonId(),
+                studentInfo.getTeacher() == null ? null : studentInfo.getTeacher().getId(),
+                studentInfo.getEducationTerm().getId(), studentInfo.getExamAverage(), studentInfo.getLetterGrade(),
+                weight, transactionIds.current());
+        transactionHelper.runAfterCommit(() -> applyCommitted(change));
+    }
+
+    private synchronized void applyCommitted(GradeChange change){
+        if(loadedSnapshot == null || !loadedSnapshot.contains(change.transactionId)){
+            apply(distributions, change);
+        }
+        if(pendingChanges != null){
+            pendingChanges.add(change);
+        }
+    }
+
+    private static void apply(Map<String, GradeDistribution> distributions, GradeChange change){
+        String termKey = String.valueOf(change.educationTermId);
+        getDistribution(distributions, key(LESSON, change.lessonId, termKey)).add(change.average, change.note, change.weight);
+        getDistribution(distributions, key(LESSON, change.lessonId, ALL_TERMS)).add(change.average, change.note, change.weight);
+        if(change.teacherId != null){
+            getDistribution(distributions, key(TEACHER, change.teacherId, termKey)).add(change.average, change.note, change.weight);
+            getDistribution(distributions, key(TEACHER, change.teacherId, ALL_TERMS)).add(change.average, change.note, change.weight);
+        }
+        getDistribution(distributions, key(TERM, change.educationTermId, termKey)).add(change.average, change.note, change.weight);
+    }
+
+    private static GradeDistribution getDistribution(Map<String, GradeDistribution> distributions, String key){
+        return distributions.computeIfAbsent(key, k -> new GradeDistribution());
+    }
+
+    private static String key(String type, Long id, String educationTermKey){
+        return type + ":" + id + ":" + educationTermKey;
+    }
+
+    private static String termKey(Long educationTermId){
+        return educationTermId == null ? ALL_TERMS : String.valueOf(educationTermId);
+    }
+
+    public ResponseMessage<GradeStatisticsResponse> getStatisticsByLesson(Long lessonId, Long educationTermId) {
+        return buildResponse(key(LESSON, lessonId, termKey(educationTermId)));
+    }
+
+    public ResponseMessage<GradeStatisticsResponse> getStatisticsByTeacher(Long teacherId, Long educationTermId) {
+        User teacher = methodHelper.isUserExist(teacherId);
+        methodHelper.checkRole(teacher, RoleType.TEACHER);
+        return buildResponse(key(TEACHER, teacherId, termKey(educationTermId)));
+    }
+
+    public ResponseMessage<GradeStatisticsResponse> getStatisticsByTerm(Long educationTermId) {
+        return buildResponse(key(TERM, educationTermId, termKey(educationTermId)));
+    }
+
+    public ResponseMessage<GradeStatisticsResponse> getStatisticsForSchool() {
+        //term distributions do not overlap, merging them gives the whole school
+        GradeDistribution school = new GradeDistribution();
+        distributions.forEach((key, distribution) -> {
+            if(key.startsWith(TERM + ":")){
+                school.merge(distribution);
+            }
+        });
+        return ResponseMessage.<GradeStatisticsResponse>builder()
+                .message(SuccessMessages.GRADE_STATISTICS_FOUND)
+                .object(gradeStatisticsMapper.mapGradeDistributionToGradeStatisticsResponse(school))
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    private ResponseMessage<GradeStatisticsResponse> buildResponse(String key){
+        GradeDistribution distribution = distributions.getOrDefault(key, new GradeDistribution());
+        return ResponseMessage.<GradeStatisticsResponse>builder()
+                .message(SuccessMessages.GRADE_STATISTICS_FOUND)
+                .object(gradeStatisticsMapper.mapGradeDistributionToGradeStatisticsResponse(distribution))
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    private static class GradeChange {
+
+        private final Long lessonId;
+        private final Long teacherId;
+        private final Long educationTermId;
+        private final double average;
+        private final Note note;
+        private final int weight;
+        //of the writing transaction, 0 for a loaded row
+        private final long transactionId;
+
+        private GradeChange(Long lessonId, Long teacherId, Long educationTermId, double average, Note note,
+                            int weight, long transactionId) {
+            this.lessonId = lessonId;
+            this.teacherId = teacherId;
+            this.educationTermId = educationTermId;
+            this.average = average;
+            this.note = note;
+            this.weight = weight;
+            this.transactionId = transactionId;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.project.schoolmanagment.service.business;
+
+import com.project.schoolmanagment.entity.concretes.business.GradingScheme;
+import com.project.schoolmanagment.entity.concretes.business.StudentInfo;
+import com.project.schoolmanagment.entity.enums.GradingType;
+import com.project.schoolmanagment.entity.enums.Note;
+import com.project.schoolmanagment.exception.BadRequestException;
+import com.project.schoolmanagment.exception.ResourceNotFoundException;
+import com.project.schoolmanagment.payload.mappers.GradingSchemeMapper;
+import com.project.schoolmanagment.payload.messages.ErrorMessages;
+import com.project.schoolmanagment.payload.messages.SuccessMessages;
+import com.project.schoolmanagment.payload.request.business.GradingSchemeRequest;
+import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.business.GradingSchemeResponse;
+import com.project.schoolmanagment.repository.business.GradingSchemeRepository;
+import com.project.schoolmanagment.repository.business.StudentInfoRepository;
+import com.project.schoolmanagment.service.helper.GradeCalculator;
+import com.project.schoolmanagment.service.helper.GradeTable;
+import com.project.schoolmanagment.service.helper.TransactionHelper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Grading schemes are cached by scope together with their lookup tables.
+ * The most specific scheme wins: lesson in term, lesson, term, then the default bounds of GradeCalculator.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class GradingSchemeService {
+
+    private final Map<String, GradingScheme> gradingSchemes = new ConcurrentHashMap<>();
+    private final Map<String, GradeTable> gradeTables = new ConcurrentHashMap<>();
+
+    private final GradingSchemeRepository gradingSchemeRepository;
+    private final GradingSchemeMapper gradingSchemeMapper;
+    private final StudentInfoRepository studentInfoRepository;
+    private final GradeCalculator gradeCalculator;
+    private final LessonService lessonService;
+    private final EducationTermService educationTermService;
+    private final TranscriptService transcriptService;
+    private final GradeStatisticsService gradeStatisticsService;
+    private final ClassRankingService classRankingService;
+    private final TransactionHelper transactionHelper;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadGradingSchemes(){
+        gradingSchemes.clear();
+        gradeTables.clear();
+        gradingSchemeRepository.findAll().forEach(this::cache);
+    }
+
+    private void cache(GradingScheme gradingScheme){
+        String key = key(gradingScheme.getLessonId(), gradingScheme.getEducationTermId());
+        gradeTables.put(key, new GradeTable(gradingSchemeMapper.mapBoundaries(gradingScheme)));
+        gradingSchemes.put(key, gradingScheme);
+    }
+
+    private String resolveKey(Long lessonId, Long educationTermId){
+        String key = key(lessonId, educationTermId);
+        if(gradingSchemes.containsKey(key)){
+            return key;
+        }
+        key = key(lessonId, null);
+        if(gradingSchemes.containsKey(key)){
+            return key;
+        }
+        key = key(null, educationTermId);
+        return gradingSchemes.containsKey(key) ? key : null;
+    }
+
+    private static String key(Long lessonId, Long educationTermId){
+        return lessonId + ":" + educationTermId;
+    }
+
+    public boolean isCurved(Long lessonId, Long educationTermId){
+        String key = resolveKey(lessonId, educationTermId);
+        return key != null && gradingSchemes.get(key).getGradingType() == GradingType.CURVE;
+    }
+
+    /**
+     * table of the absolute scheme of a lesson in a term, the default table for curved or unconfigured ones
+     */
+    public GradeTable getGradeTable(Long lessonId, Long educationTermId){
+        String key = resolveKey(lessonId, educationTermId);
+        if(key == null || gradingSchemes.get(key).getGradingType() == GradingType.CURVE){
+            return gradeCalculator.getDefaultTable();
+        }
+        return gradeTables.get(key);
+    }
+
+    /**
+     * O(1) letter grade of one average; for a curved class this is provisional until gradeClass runs
+     */
+    public Note checkLetterGrade(Long lessonId, Long educationTermId, Double average){
+        return getGradeTable(lessonId, educationTermId).lookup(average);
+    }
+
+    /**
+     * regrades a curved class in one pass over its sorted averages, nothing is done for absolute schemes.
+     * In-memory aggregates are updated per changed grade
+     */
+    @Transactional
+    public void gradeClassIfCurved(Long lessonId, Long educationTermId){
+        if(isCurved(lessonId, educationTermId)){
+            gradeClass(lessonId, educationTermId, true);
+        }
+    }
+
+    /**
+     * @param updateAggregates false when the caller rebuilds transcripts, statistics and rankings itself
+     */
+    @Transactional
+    public void gradeClass(Long lessonId, Long educationTermId, boolean updateAggregates){
+        GradeTable gradeTable = gradeTables.get(resolveKey(lessonId, educationTermId));
+        List<StudentInfo> studentInfos = studentInfoRepository.findByLesson_LessonIdAndEducationTerm_Id(lessonId, educationTermId)
+                .stream()
+                .filter(studentInfo -> studentInfo.getExamAverage() != null)
+                .sorted(Comparator.comparing(StudentInfo::getExamAverage))
+                .collect(Collectors.toList());
+        int size = studentInfos.size();
+        int i = 0;
+        while (i < size){
+            //equal averages share the percentile of the last one of them
+            int j = i;
+            while (j + 1 < size && studentInfos.get(j + 1).getExamAverage().equals(studentInfos.get(i).getExamAverage())){
+                j++;
+            }
+            Note note = gradeTable.lookup(100.0 * (j + 1) / size);
+            for (int k = i; k <= j; k++) {
+                setLetterGrade(studentInfos.get(k), note, updateAggregates);
+            }
+            i = j + 1;
+        }
+    }
+
+    private void setLetterGrade(StudentInfo studentInfo, Note note, boolean updateAggregates){
+        if(studentInfo.getLetterGrade() == note){
+            return;
+        }
+        if(updateAggregates){
+            transcriptService.removeGrade(studentInfo);
+            gradeStatisticsService.removeGrade(studentInfo);
+            classRankingService.removeGrade(studentInfo);
+        }
+        //managed entity, written on commit
+        studentInfo.setLetterGrade(note);
+        if(updateAggregates){
+            transcriptService.addGrade(studentInfo);
+            gradeStatisticsService.addGrade(studentInfo);
+            classRankingService.addGrade(studentInfo);
+        }
+    }
+
+    @Transactional
+    public ResponseMessage applyCurve(Long lessonId, Long educationTermId) {
+        lessonService.isLessonExistsById(lessonId);
+        educationTermService.isEducationTermExist(educationTermId);
+        if(!isCurved(lessonId, educationTermId)){
+            throw new BadRequestException(String.format(ErrorMessages.GRADING_SCHEME_NOT_CURVED, lessonId, educationTermId));
+        }
+        gradeClass(lessonId, educationTermId, true);
+        return ResponseMessage.builder()
+                .message(SuccessMessages.GRADING_CURVE_APPLIED)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    @Transactional
+    public ResponseMessage<GradingSchemeResponse> saveGradingScheme(GradingSchemeRequest gradingSchemeRequest) {
+        validateGradingScheme(gradingSchemeRequest);
+        GradingScheme gradingScheme = gradingSchemeMapper.mapGradingSchemeRequestToGradingScheme(gradingSchemeRequest);
+        //one scheme per scope, an existing one is overwritten
+        gradingSchemeRepository.findByScope(gradingSchemeRequest.getLessonId(), gradingSchemeRequest.getEducationTermId())
+                .ifPresent(existing -> gradingScheme.setId(existing.getId()));
+        GradingScheme savedGradingScheme = gradingSchemeRepository.save(gradingScheme);
+        //a rolled back scheme never grades anything
+        transactionHelper.runAfterCommit(() -> cache(savedGradingScheme));
+        return ResponseMessage.<GradingSchemeResponse>builder()
+                .message(SuccessMessages.GRADING_SCHEME_SAVE)
+                .object(gradingSchemeMapper.mapGradingSchemeToGradingSchemeResponse(savedGradingScheme))
+                .httpStatus(HttpStatus.CREATED)
+                .build();
+    }
+
+    private void validateGradingScheme(GradingSchemeRequest gradingSchemeRequest){
+        if(gradingSchemeRequest.getLessonId() == null && gradingSchemeRequest.getEducationTermId() == null){
+            throw new BadRequestException(ErrorMessages.GRADING_SCHEME_SCOPE_NOT_VALID);
+        }
+        //EnumMap keeps AA..FF order, bounds must go down strictly
+        double previous = Double.POSITIVE_INFINITY;
+        for (Double lowerBound : new EnumMap<>(gradingSchemeRequest.getBoundaries()).values()){
+            if(lowerBound == null || lowerBound < 0 || lowerBound > 100 || lowerBound >= previous){
+                throw new BadRequestException(ErrorMessages.GRADING_SCHEME_BOUNDARY_NOT_VALID);
+            }
+            previous = lowerBound;
+        }
+        if(gradingSchemeRequest.getLessonId() != null){
+            lessonService.isLessonExistsById(gradingSchemeRequest.getLessonId());
+        }
+        if(gradingSchemeRequest.getEducationTermId() != null){
+            educationTermService.isEducationTermExist(gradingSchemeRequest.getEducationTermId());
+        }
+    }
+
+    @Transactional
+    public ResponseMessage deleteGradingSchemeById(Long id) {
+        GradingScheme gradingScheme = gradingSchemeRepository.findById(id).orElseThrow(()->
+                new ResourceNotFoundException(String.format(ErrorMessages.GRADING_SCHEME_NOT_FOUND_MESSAGE, id)));
+        gradingSchemeRepository.delete(gradingScheme);
+        String key = key(gradingScheme.getLessonId(), gradingScheme.getEducationTermId());
+        //until commit the grades still use the stored scheme, a rolled back delete leaves the cache as it is
+        transactionHelper.runAfterCommit(() -> {
+            gradingSchemes.remove(key);
+            gradeTables.remove(key);
+        });
+        return ResponseMessage.builder()
+                .message(SuccessMessages.GRADING_SCHEME_DELETE)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    public List<GradingSchemeResponse> getAllGradingSchemes() {
+        return gradingSchemeRepository.findAll()
+                .stream()
+                .map(gradingSchemeMapper::mapGradingSchemeToGradingSchemeResponse)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,132 @@
+package com.project.schoolmanagment.service.business;
+
+import com.project.schoolmanagment.entity.enums.Day;
+import com.project.schoolmanagment.exception.ResourceNotFoundException;
+import com.project.schoolmanagment.payload.messages.ErrorMessages;
+import com.project.schoolmanagment.payload.response.business.LessonProgramFitResponse;
+import com.project.schoolmanagment.repository.business.EducationTermRepository;
+import com.project.schoolmanagment.repository.business.LessonProgramRepository;
+import com.project.schoolmanagment.security.service.CurrentUser;
+import com.project.schoolmanagment.service.helper.TransactionHelper;
+import com.project.schoolmanagment.service.schedule.WeeklyMask;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Finds the lesson programs of a term that fit the timetable of a student. The programs of a term are read
+ * once into weekly bitmasks, a request builds the mask of the student's programs and tests every program
+ * of the term against it with one or two AND operations.
+ * <p>
+ * The masks of the terms are dropped whenever lesson programs are created or deleted, see evictAll.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class LessonProgramFitService {
+
+    private final LessonProgramRepository lessonProgramRepository;
+    private final EducationTermRepository educationTermRepository;
+    private final CurrentUser currentUser;
+    private final TransactionHelper transactionHelper;
+
+    //education term id -> programs of the term
+    private final Map<Long, TermPrograms> programsByTerm = new ConcurrentHashMap<>();
+    //a term read before an eviction is not cached, it may miss the change
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * @param educationTermId null for the running term, or the next one while its registration is open
+     */
+    public List<LessonProgramFitResponse> getFittingLessonPrograms(Long educationTermId) {
+        Long termId = educationTermId != null ? educationTermId : educationTermRepository
+                .findFirstByEndDateGreaterThanEqualOrderByStartDateAsc(LocalDate.now())
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.EDUCATION_TERM_NOT_CURRENT))
+                .getId();
+        TermPrograms termPrograms = getTermPrograms(termId);
+
+        //programs of the student are in the mask, so they never fit
+        WeeklyMask timetable = WeeklyMask.emptyWeek();
+        for (Object[] slot : lessonProgramRepository.findSlotsOfUserByEducationTerm(currentUser.getId(), termId)) {
+            timetable.add(WeeklyMask.of((Day) slot[0], (LocalTime) slot[1], (LocalTime) slot[2]));
+        }
+        List<LessonProgramFitResponse> fitting = new ArrayList<>();
+        for (int i = 0; i < termPrograms.masks.length; i++) {
+            if (!timetable.intersects(termPrograms.masks[i])) {
+                fitting.add(termPrograms.responses[i]);
+            }
+        }
+        return fitting;
+    }
+
+    /**
+     * drops the masks of every term after the commit, lesson programs change a few times a term
+     */
+    public void evictAll() {
+        transactionHelper.runAfterCommit(() -> {
+            generation.incrementAndGet();
+            programsByTerm.clear();
+        });
+    }
+
+    private TermPrograms getTermPrograms(Long educationTermId) {
+        TermPrograms termPrograms = programsByTerm.get(educationTermId);
+        if (termPrograms != null) {
+            return termPrograms;
+        }
+        if (!educationTermRepository.existsById(educationTermId)) {
+            throw new ResourceNotFoundException(String.format(ErrorMessages.EDUCATION_TERM_NOT_FOUND_MESSAGE, educationTermId));
+        }
+        long readGeneration = generation.get();
+        termPrograms = loadTermPrograms(educationTermId);
+        if (generation.get() == readGeneration) {
+            programsByTerm.putIfAbsent(educationTermId, termPrograms);
+        }
+        return termPrograms;
+    }
+
+    private TermPrograms loadTermPrograms(Long educationTermId) {
+        //rows of a program follow each other, one per lesson
+        List<LessonProgramFitResponse> responses = new ArrayList<>();
+        List<WeeklyMask> masks = new ArrayList<>();
+        LessonProgramFitResponse current = null;
+        for (Object[] row : lessonProgramRepository.findFitRowsByEducationTerm(educationTermId)) {
+            Long lessonProgramId = (Long) row[0];
+            if (current == null || !current.getLessonProgramId().equals(lessonProgramId)) {
+                current = LessonProgramFitResponse.builder()
+                        .lessonProgramId(lessonProgramId)
+                        .day((Day) row[1])
+                        .startTime((LocalTime) row[2])
+                        .stopTime((LocalTime) row[3])
+                        .capacity((Integer) row[4])
+                        .lessonNames(new ArrayList<>())
+                        .build();
+                responses.add(current);
+                masks.add(WeeklyMask.of(current.getDay(), current.getStartTime(), current.getStopTime()));
+            }
+            current.getLessonNames().add((String) row[5]);
+        }
+        return new TermPrograms(masks.toArray(new WeeklyMask[0]),
+                responses.toArray(new LessonProgramFitResponse[0]));
+    }
+
+    private static class TermPrograms {
+
+        private final WeeklyMask[] masks;
+        //same index as masks
+        private final LessonProgramFitResponse[] responses;
+
+        private TermPrograms(WeeklyMask[] masks, LessonProgramFitResponse[] responses) {
+            this.masks = masks;
+            this.responses = responses;
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package com.project.schoolmanagment.service.business;
+
+import com.project.schoolmanagment.entity.concretes.business.WaitlistEntry;
+import com.project.schoolmanagment.entity.enums.Day;
+import com.project.schoolmanagment.entity.enums.RegistrationStatus;
+import com.project.schoolmanagment.exception.BadRequestException;
+import com.project.schoolmanagment.exception.ResourceNotFoundException;
+import com.project.schoolmanagment.exception.ServiceUnavailableException;
+import com.project.schoolmanagment.payload.messages.ErrorMessages;
+import com.project.schoolmanagment.payload.messages.SuccessMessages;
+import com.project.schoolmanagment.payload.request.user.ChooseLessonProgramWithId;
+import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.business.LessonProgramRegistrationResponse;
+import com.project.schoolmanagment.payload.response.business.LessonProgramSeatsResponse;
+import com.project.schoolmanagment.repository.business.LessonProgramRepository;
+import com.project.schoolmanagment.repository.business.ScheduleVersionRepository;
+import com.project.schoolmanagment.repository.business.WaitlistEntryRepository;
+import com.project.schoolmanagment.repository.user.UserRepository;
+import com.project.schoolmanagment.security.service.CurrentUser;
+import com.project.schoolmanagment.service.helper.TransactionHelper;
+import com.project.schoolmanagment.service.registration.SeatCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Student registration to lesson programs with seat capacities, built for the registration rush.
+ * <p>
+ * Every program belongs to one lane, a single thread with a bounded queue, by its id modulo the lane count.
+ * The registrations of a program run one after the other on its lane, different programs run in parallel
+ * on the other lanes. A registration writes one user_lesson_program row in a short transaction instead of
+ * loading and saving the whole student.
+ * <p>
+ * Seats are counted in memory (SeatCounter). A full program puts the student on its waitlist, a dropped seat
+ * goes to the first waitlisted student without a time conflict right away. The counters are reset from the DB
+ * every reconcile interval; the reset runs on the lane as well, so no registration of the lane is half done.
+ */
+@Service
+@RequiredArgsConstructor
+public class LessonProgramRegistrationService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LessonProgramRegistrationService.class);
+
+    private static final String REGISTRATIONS = "school.registration";
+    private static final String QUEUED = "school.registration.queued";
+    //waitlist entries looked at per promotion
+    private static final int PROMOTION_PAGE_SIZE = 100;
+
+    private final LessonProgramRepository lessonProgramRepository;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final UserRepository userRepository;
+    private final ScheduleVersionRepository scheduleVersionRepository;
+    private final CurrentUser currentUser;
+    private final TransactionHelper transactionHelper;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${registration.lanes:8}")
+    private int laneCount;
+    @Value("${registration.queue-capacity:10000}")
+    private int queueCapacity;
+    @Value("${registration.timeout-ms:10000}")
+    private long timeoutMillis;
+    @Value("${registration.reconcile-interval-ms:30000}")
+    private long reconcileIntervalMillis;
+
+    //lesson program id -> seats, entries are only added and removed by the lane of the program
+    private final Map<Long, SeatCounter> seats = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor[] lanes;
+    private ScheduledExecutorService reconciler;
+    //read-write on purpose, a replica may miss the last registrations
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init(){
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String name = "registration-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity), runnable -> new Thread(runnable, name));
+        }
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "registration-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder(QUEUED, this, service -> service.queued())
+                .description("registrations and drops waiting for their lane")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown(){
+        reconciler.shutdownNow();
+        //queued registrations are lost, the students were not answered REGISTERED for them
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdownNow();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startReconciliation(){
+        reconciler.scheduleWithFixedDelay(this::reconcileAll, 0, reconcileIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registers the current student to every selected program, each on the lane of the program.
+     * Waits for the lanes at most timeout-ms, a registration still in the queue then is answered QUEUED.
+     */
+    public ResponseMessage<List<LessonProgramRegistrationResponse>> register(ChooseLessonProgramWithId chooseLessonProgramWithId) {
+        Long studentId = currentUser.getId();
+        Set<Long> lessonProgramIds = chooseLessonProgramWithId.getLessonProgramId();
+        List<Object[]> slots = lessonProgramRepository.findSlotsByIds(lessonProgramIds);
+        if (slots.size() < lessonProgramIds.size()) {
+            Set<Long> missing = new HashSet<>(lessonProgramIds);
+            slots.forEach(slot -> missing.remove((Long) slot[0]));
+            throw new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_LESSON_PROGRAM_MESSAGE, missing));
+        }
+        //the selected programs among themselves, the ones the student has are checked on the lanes
+        for (int i = 0; i < slots.size(); i++) {
+            for (int j = i + 1; j < slots.size(); j++) {
+                if (overlap(slots.get(i), slots.get(j))) {
+                    throw new BadRequestException(ErrorMessages.LESSON_PROGRAM_ALREADY_EXIST);
+                }
+            }
+        }
+
+        //a full queue rejects the request, the programs queued before it are still registered
+        Map<Long, Future<LessonProgramRegistrationResponse>> futures = new LinkedHashMap<>();
+        for (Object[] slot : slots) {
+            futures.put((Long) slot[0], submit((Long) slot[0], () -> registerInLane(studentId, slot)));
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        List<LessonProgramRegistrationResponse> responses = new ArrayList<>();
+        futures.forEach((lessonProgramId, future) -> responses.add(await(lessonProgramId, future, deadline)));
+        return ResponseMessage.<List<LessonProgramRegistrationResponse>>builder()
+                .message(SuccessMessages.LESSON_PROGRAM_REGISTRATION)
+                .object(responses)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    /**
+     * Takes the current student out of the program or off its waitlist, a freed seat goes to the waitlist.
+     */
+    public ResponseMessage dropLessonProgram(Long lessonProgramId) {
+        Long studentId = currentUser.getId();
+        if (!lessonProgramRepository.existsById(lessonProgramId)) {
+            throw new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_LESSON_PROGRAM_MESSAGE, lessonProgramId));
+        }
+        Future<String> future = submit(lessonProgramId, () -> dropInLane(studentId, lessonProgramId));
+        try {
+            return ResponseMessage.builder()
+                    .message(future.get(timeoutMillis, TimeUnit.MILLISECONDS))
+                    .httpStatus(HttpStatus.OK)
+                    .build();
+        } catch (TimeoutException e) {
+            return ResponseMessage.builder()
+                    .message(SuccessMessages.LESSON_PROGRAM_DROP)
+                    .httpStatus(HttpStatus.ACCEPTED)
+                    .build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(ErrorMessages.LESSON_PROGRAM_REGISTRATION_BUSY);
+        } catch (ExecutionException e) {
+            throw rethrow(e);
+        }
+    }
+
+    public ResponseMessage<LessonProgramSeatsResponse> getSeats(Long lessonProgramId) {
+        SeatCounter counter = seats.get(lessonProgramId);
+        if (counter == null) {
+            //no registration since the last reconciliation, read once without keeping it, only the lane adds counters
+            counter = loadSeats(lessonProgramId);
+        }
+        Integer capacity = counter.getCapacity();
+        return ResponseMessage.<LessonProgramSeatsResponse>builder()
+                .message(SuccessMessages.LESSON_PROGRAM_SEATS_FOUND)
+                .object(LessonProgramSeatsResponse.builder()
+                        .lessonProgramId(lessonProgramId)
+                        .capacity(capacity)
+                        .taken(counter.getTaken())
+                        .available(capacity == null ? null : counter.getAvailable())
+                        .waiting(counter.getWaiting())
+                        .build())
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    private LessonProgramRegistrationResponse registerInLane(Long studentId, Object[] slot) {
+        Long lessonProgramId = (Long) slot[0];
+        SeatCounter counter = laneSeats(lessonProgramId);
+        //the seat is taken before the transaction and given back unless the student got it
+        boolean seat = counter.tryAcquire();
+        boolean registered = false;
+        try {
+            LessonProgramRegistrationResponse response = transactionTemplate.execute(status -> seat
+                    ? enroll(studentId, slot, counter)
+                    : waitlist(studentId, slot, counter));
+            registered = response.getStatus() == RegistrationStatus.REGISTERED;
+            meterRegistry.counter(REGISTRATIONS, "status", response.getStatus().name()).increment();
+            return response;
+        } finally {
+            if (seat && !registered) {
+                counter.release();
+            }
+        }
+    }
+
+    private LessonProgramRegistrationResponse enroll(Long studentId, Object[] slot, SeatCounter counter) {
+        Long lessonProgramId = (Long) slot[0];
+        if (lessonProgramRepository.existsUserLink(lessonProgramId, studentId)) {
+            return response(lessonProgramId, RegistrationStatus.ALREADY_REGISTERED, null);
+        }
+        if (hasOverlappingProgramLocked(studentId, slot)) {
+            return response(lessonProgramId, RegistrationStatus.TIME_CONFLICT, null);
+        }
+        lessonProgramRepository.insertUserLink(studentId, lessonProgramId);
+        scheduleVersionRepository.bumpUsers(Collections.singleton(studentId));
+        //a waitlisted student asking again when a seat is free
+        if (waitlistEntryRepository.deleteByLessonProgramAndStudent(lessonProgramId, studentId) > 0) {
+            transactionHelper.runAfterCommit(() -> counter.addWaiting(-1));
+        }
+        return response(lessonProgramId, RegistrationStatus.REGISTERED, null);
+    }
+
+    private LessonProgramRegistrationResponse waitlist(Long studentId, Object[] slot, SeatCounter counter) {
+        Long lessonProgramId = (Long) slot[0];
+        if (lessonProgramRepository.existsUserLink(lessonProgramId, studentId)) {
+            return response(lessonProgramId, RegistrationStatus.ALREADY_REGISTERED, null);
+        }
+        Long entryId = waitlistEntryRepository.findIdByLessonProgramAndStudent(lessonProgramId, studentId);
+        if (entryId != null) {
+            return response(lessonProgramId, RegistrationStatus.ALREADY_WAITLISTED,
+                    waitlistEntryRepository.getPosition(lessonProgramId, entryId));
+        }
+        if (hasOverlappingProgramLocked(studentId, slot)) {
+            return response(lessonProgramId, RegistrationStatus.TIME_CONFLICT, null);
+        }
+        WaitlistEntry entry = waitlistEntryRepository.save(WaitlistEntry.builder()
+                .lessonProgram(lessonProgramRepository.getReferenceById(lessonProgramId))
+                .student(userRepository.getReferenceById(studentId))
+                .createdAt(LocalDateTime.now())
+                .build());
+        transactionHelper.runAfterCommit(() -> counter.addWaiting(1));
+        return response(lessonProgramId, RegistrationStatus.WAITLISTED,
+                waitlistEntryRepository.getPosition(lessonProgramId, entry.getId()));
+    }
+
+    private String dropInLane(Long studentId, Long lessonProgramId) {
+        SeatCounter counter = laneSeats(lessonProgramId);
+        String message = transactionTemplate.execute(status -> {
+            if (lessonProgramRepository.deleteUserLink(studentId, lessonProgramId) > 0) {
+                scheduleVersionRepository.bumpUsers(Collections.singleton(studentId));
+                transactionHelper.runAfterCommit(counter::release);
+                return SuccessMessages.LESSON_PROGRAM_DROP;
+            }
+            if (waitlistEntryRepository.deleteByLessonProgramAndStudent(lessonProgramId, studentId) > 0) {
+                transactionHelper.runAfterCommit(() -> counter.addWaiting(-1));
+                return SuccessMessages.LESSON_PROGRAM_WAITLIST_LEAVE;
+            }
+            throw new ResourceNotFoundException(String.format(ErrorMessages.LESSON_PROGRAM_NOT_REGISTERED, lessonProgramId));
+        });
+        promote(lessonProgramId, counter);
+        return message;
+    }
+
+    /**
+     * gives the free seats to the waitlist in order, a student with a time conflict keeps the place
+     */
+    private void promote(Long lessonProgramId, SeatCounter counter) {
+        if (counter.getWaiting() == 0 || counter.getAvailable() == 0) {
+            return;
+        }
+        AtomicInteger acquired = new AtomicInteger();
+        try {
+            int promoted = transactionTemplate.execute(status -> {
+                List<Object[]> slots = lessonProgramRepository.findSlotsByIds(Collections.singleton(lessonProgramId));
+                if (slots.isEmpty()) {
+                    return 0;
+                }
+                int count = 0;
+                for (Object[] entry : waitlistEntryRepository.findQueue(lessonProgramId, PageRequest.of(0, PROMOTION_PAGE_SIZE))) {
+                    Long studentId = (Long) entry[1];
+                    if (!counter.tryAcquire()) {
+                        break;
+                    }
+                    acquired.incrementAndGet();
+                    if (hasOverlappingProgramLocked(studentId, slots.get(0))
+                            || lessonProgramRepository.insertUserLink(studentId, lessonProgramId) == 0) {
+                        counter.release();
+                        acquired.decrementAndGet();
+                        continue;
+                    }
+                    waitlistEntryRepository.deleteByLessonProgramAndStudent(lessonProgramId, studentId);
+                    scheduleVersionRepository.bumpUsers(Collections.singleton(studentId));
+                    count++;
+                }
+                int waitingLeft = count;
+                transactionHelper.runAfterCommit(() -> counter.addWaiting(-waitingLeft));
+                return count;
+            });
+            if (promoted > 0) {
+                LOGGER.info("{} waitlisted students registered to lesson program {}", promoted, lessonProgramId);
+                meterRegistry.counter(REGISTRATIONS, "status", "PROMOTED").increment(promoted);
+            }
+        } catch (RuntimeException e) {
+            for (int i = 0; i < acquired.get(); i++) {
+                counter.release();
+            }
+            LOGGER.warn("Waitlist of lesson program {} could not be promoted, the next reconciliation retries", lessonProgramId, e);
+        }
+    }
+
+    private void reconcileAll() {
+        for (int lane = 0; lane < laneCount; lane++) {
+            int current = lane;
+            try {
+                lanes[lane].execute(() -> reconcileLane(current));
+            } catch (RejectedExecutionException e) {
+                //the lane is busy enough, the counters are checked next round
+                LOGGER.debug("Registration lane {} is full, reconciliation skipped", lane);
+            }
+        }
+    }
+
+    private void reconcileLane(int lane) {
+        try {
+            List<Object[]> rows = transactionTemplate.execute(status -> lessonProgramRepository.findSeatsByLane(laneCount, lane));
+            Set<Long> lessonProgramIds = new HashSet<>();
+            for (Object[] row : rows) {
+                Long lessonProgramId = ((Number) row[0]).longValue();
+                reset(seats.computeIfAbsent(lessonProgramId, id -> new SeatCounter()), row);
+                lessonProgramIds.add(lessonProgramId);
+            }
+            //deleted programs
+            seats.keySet().removeIf(id -> laneOf(id) == lane && !lessonProgramIds.contains(id));
+            //seats freed outside the lanes, e.g. a student removed by a manager or a raised capacity
+            lessonProgramIds.forEach(id -> promote(id, seats.get(id)));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Seats of registration lane {} could not be reconciled", lane, e);
+        }
+    }
+
+    /**
+     * only called on the lane of the program
+     */
+    private SeatCounter laneSeats(Long lessonProgramId) {
+        SeatCounter counter = seats.get(lessonProgramId);
+        if (counter == null) {
+            counter = loadSeats(lessonProgramId);
+            seats.put(lessonProgramId, counter);
+        }
+        return counter;
+    }
+
+    private SeatCounter loadSeats(Long lessonProgramId) {
+        List<Object[]> rows = transactionTemplate.execute(status -> lessonProgramRepository.findSeatsById(lessonProgramId));
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_LESSON_PROGRAM_MESSAGE, lessonProgramId));
+        }
+        SeatCounter counter = new SeatCounter();
+        reset(counter, rows.get(0));
+        return counter;
+    }
+
+    //row of findSeatsByLane/findSeatsById: id, capacity, taken, waiting
+    private static void reset(SeatCounter counter, Object[] row) {
+        counter.reset(row[1] == null ? null : ((Number) row[1]).intValue(),
+                ((Number) row[2]).intValue(), ((Number) row[3]).intValue());
+    }
+
+    /**
+     * The lanes only serialize the registrations of one program. The registrations of a student to programs
+     * on other lanes, and promotions of the student, wait for this lock until the transaction holding it ends,
+     * so the check sees their committed programs.
+     */
+    private boolean hasOverlappingProgramLocked(Long studentId, Object[] slot) {
+        userRepository.lockRegistrations(studentId);
+        return lessonProgramRepository.existsOverlappingProgramOfUser(studentId, (Long) slot[0], (Long) slot[4],
+                (Day) slot[1], (LocalTime) slot[2], (LocalTime) slot[3]);
+    }
+
+    //row of findSlotsByIds: id, day, start time, stop time, education term id
+    private static boolean overlap(Object[] first, Object[] second) {
+        return first[4].equals(second[4]) && first[1] == second[1]
+                && ((LocalTime) first[2]).isBefore((LocalTime) second[3])
+                && ((LocalTime) second[2]).isBefore((LocalTime) first[3]);
+    }
+
+    private int laneOf(Long lessonProgramId) {
+        return (int) Math.floorMod(lessonProgramId, (long) laneCount);
+    }
+
+    private <T> Future<T> submit(Long lessonProgramId, Callable<T> task) {
+        try {
+            return lanes[laneOf(lessonProgramId)].submit(task);
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter(REGISTRATIONS, "status", "REJECTED").increment();
+            throw new ServiceUnavailableException(ErrorMessages.LESSON_PROGRAM_REGISTRATION_BUSY);
+        }
+    }
+
+    private static LessonProgramRegistrationResponse await(Long lessonProgramId, Future<LessonProgramRegistrationResponse> future,
+                                                           long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return response(lessonProgramId, RegistrationStatus.QUEUED, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return response(lessonProgramId, RegistrationStatus.QUEUED, null);
+        } catch (ExecutionException e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static RuntimeException rethrow(ExecutionException e) {
+        //the exceptions of the lane keep their response status
+        return e.getCause() instanceof RuntimeException
+                ? (RuntimeException) e.getCause()
+                : new IllegalStateException(e.getCause());
+    }
+
+    private static LessonProgramRegistrationResponse response(Long lessonProgramId, RegistrationStatus status, Integer position) {
+        return LessonProgramRegistrationResponse.builder()
+                .lessonProgramId(lessonProgramId)
+                .status(status)
+                .waitlistPosition(position)
+                .build();
+    }
+
+    private int queued() {
+        int queued = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            queued += lane.getQueue().size();
+        }
+        return queued;
+    }
+}
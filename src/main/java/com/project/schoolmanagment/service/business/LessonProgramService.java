@@ -12,6 +12,7 @@ import com.project.schoolmanagment.payload.request.business.LessonProgramRequest
 import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
 import com.project.schoolmanagment.payload.response.business.LessonProgramResponse;
 import com.project.schoolmanagment.repository.business.LessonProgramRepository;
+import com.project.schoolmanagment.repository.business.ScheduleVersionRepository;
 import com.project.schoolmanagment.service.helper.PageableHelper;
 import com.project.schoolmanagment.service.validator.DateTimeValidator;
 import lombok.RequiredArgsConstructor;
@@ -19,12 +20,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class LessonProgramService {
 
@@ -34,7 +38,10 @@ public class LessonProgramService {
     private final DateTimeValidator dateTimeValidator;
     private final LessonProgramMapper lessonProgramMapper;
     private final PageableHelper pageableHelper;
+    private final LessonProgramFitService lessonProgramFitService;
+    private final ScheduleVersionRepository scheduleVersionRepository;
 
+    @Transactional
     public ResponseMessage<LessonProgramResponse> saveLessonProgram(LessonProgramRequest lessonProgramRequest) {
         //validate if the lesson ID exists
         Set<Lesson> lessons = lessonService.getAllLessonByLessonId(lessonProgramRequest.getLessonIdList());
@@ -52,6 +59,7 @@ public class LessonProgramService {
         //mapping
         LessonProgram lessonProgram = lessonProgramMapper.mapLessonProgramRequestToLessonProgram(lessonProgramRequest, lessons, educationTerm);
         LessonProgram savedLessonProgram = lessonProgramRepository.save(lessonProgram);
+        lessonProgramFitService.evictAll();
         return ResponseMessage.<LessonProgramResponse>builder()
                 .message(SuccessMessages.LESSON_PROGRAM_SAVE)
                 .object(lessonProgramMapper.mapLessonProgramToLessonProgramResponse(savedLessonProgram))
@@ -103,16 +111,35 @@ public class LessonProgramService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public ResponseMessage deleteLessonProgramById(Long id) {
-        //validate first
-        isLessonProgramExistById(id);
-        lessonProgramRepository.deleteById(id);
+        //validate first, without loading the program and its users
+        if (!lessonProgramRepository.existsById(id)){
+            throw new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_LESSON_PROGRAM_MESSAGE, id));
+        }
+        scheduleVersionRepository.bumpUsersOfLessonPrograms(Collections.singleton(id));
+        lessonProgramRepository.deleteAllWithLinks(Collections.singleton(id));
+        lessonProgramFitService.evictAll();
         return ResponseMessage.builder()
                 .message(SuccessMessages.LESSON_PROGRAM_DELETE)
                 .httpStatus(HttpStatus.OK)
                 .build();
     }
 
+    @Transactional
+    public ResponseMessage<Integer> deleteAllLessonProgramsByEducationTerm(Long educationTermId) {
+        //validate if this education term exists
+        educationTermService.isEducationTermExist(educationTermId);
+        scheduleVersionRepository.bumpUsersOfEducationTerm(educationTermId);
+        int deleted = lessonProgramRepository.deleteAllOfEducationTermWithLinks(educationTermId);
+        lessonProgramFitService.evictAll();
+        return ResponseMessage.<Integer>builder()
+                .message(String.format(SuccessMessages.LESSON_PROGRAMS_OF_TERM_DELETE, deleted, educationTermId))
+                .object(deleted)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
     public Set<LessonProgram> getLessonProgramById(Set<Long> lessonIdSet){
         Set<LessonProgram> lessonPrograms = lessonProgramRepository.getLessonProgramByUsersUsername(lessonIdSet);
         if (lessonPrograms.isEmpty()){
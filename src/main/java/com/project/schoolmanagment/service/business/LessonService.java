@@ -9,30 +9,40 @@ import com.project.schoolmanagment.payload.messages.SuccessMessages;
 import com.project.schoolmanagment.payload.request.business.LessonRequest;
 import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
 import com.project.schoolmanagment.payload.response.business.LessonResponse;
+import com.project.schoolmanagment.repository.business.LessonProgramRepository;
 import com.project.schoolmanagment.repository.business.LessonRepository;
+import com.project.schoolmanagment.repository.business.ScheduleVersionRepository;
 import com.project.schoolmanagment.service.helper.PageableHelper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class LessonService {
 
     private final LessonRepository lessonRepository;
+    private final LessonProgramRepository lessonProgramRepository;
     private final LessonMapper lessonMapper;
     private final PageableHelper pageableHelper;
+    private final TranscriptService transcriptService;
+    private final ClassRankingService classRankingService;
+    private final LessonProgramFitService lessonProgramFitService;
+    private final ScheduleVersionRepository scheduleVersionRepository;
 
     /**
      *
      * @param lessonRequest DTO to save a lesson
      * @return response message with the lessonResponse DTO
      */
+    @Transactional
     public ResponseMessage<LessonResponse> saveLesson(LessonRequest lessonRequest) {
         //only one lesson should exist with the name of the lesson
         isLessonExistByLessonName(lessonRequest.getLessonName());
@@ -64,8 +74,13 @@ public class LessonService {
                 new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_LESSON_MESSAGE, id)));
     }
 
+    @Transactional
     public ResponseMessage deleteLessonById(Long id) {
         isLessonExistsById(id);
+        //the programs of the lesson go with it, in bulk instead of the cascade running @PreRemove per program
+        scheduleVersionRepository.bumpUsersOfLesson(id);
+        lessonProgramRepository.deleteAllWithLinks(lessonProgramRepository.findIdsByLessonId(id));
+        lessonProgramFitService.evictAll();
         lessonRepository.deleteById(id);
         return ResponseMessage.builder()
                 .message(SuccessMessages.LESSON_DELETE)
@@ -99,6 +114,7 @@ public class LessonService {
                 .collect(Collectors.toSet());
     }
 
+    @Transactional
     public LessonResponse updateLesson(Long lessonId, LessonRequest lessonRequest) {
         //validation 1 : Does the lesson exist
         Lesson lesson = isLessonExistsById(lessonId);
@@ -112,13 +128,16 @@ public class LessonService {
             );
             }
 
-            Lesson updatedLesson = lessonMapper.mapLessonRequestToLesson(lessonRequest);
-        //lesson programs is not suitable to put them in mapper
-        //because while we are creating a lesson we are not specifying the lesson program
-            updatedLesson.setLessonId(lesson.getLessonId());
-            updatedLesson.setLessonPrograms(lesson.getLessonPrograms());
-            Lesson savedLesson = lessonRepository.save(updatedLesson);
-            return lessonMapper.mapLessonToLessonResponse(savedLesson);
+            //read before the managed lesson is changed
+            Integer oldCreditScore = lesson.getCreditScore();
+            //lesson programs stay as they are, only the changed columns are written
+            lessonMapper.mapLessonRequestToUpdatedLesson(lessonRequest, lesson);
+            transcriptService.updateCreditScore(lesson.getLessonId(), oldCreditScore, lesson.getCreditScore());
+            //the fit finder and the calendar feeds show the lesson names
+            lessonProgramFitService.evictAll();
+            scheduleVersionRepository.bumpUsersOfLesson(lessonId);
+            classRankingService.updateCreditScore(lessonId, oldCreditScore, lesson.getCreditScore());
+            return lessonMapper.mapLessonToLessonResponse(lesson);
         }
     }
 
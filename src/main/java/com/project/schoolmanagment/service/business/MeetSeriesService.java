@@ -0,0 +1,254 @@
+package com.project.schoolmanagment.service.business;
+
+import com.project.schoolmanagment.entity.concretes.business.EducationTerm;
+import com.project.schoolmanagment.entity.concretes.business.Meet;
+import com.project.schoolmanagment.entity.concretes.business.MeetSeries;
+import com.project.schoolmanagment.entity.concretes.business.MeetSeriesOverride;
+import com.project.schoolmanagment.entity.concretes.user.User;
+import com.project.schoolmanagment.entity.enums.RoleType;
+import com.project.schoolmanagment.exception.BadRequestException;
+import com.project.schoolmanagment.exception.ResourceNotFoundException;
+import com.project.schoolmanagment.payload.mappers.MeetSeriesMapper;
+import com.project.schoolmanagment.payload.messages.ErrorMessages;
+import com.project.schoolmanagment.payload.messages.SuccessMessages;
+import com.project.schoolmanagment.payload.request.business.MeetOccurrenceRequest;
+import com.project.schoolmanagment.payload.request.business.MeetSeriesRequest;
+import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.business.MeetOccurrenceResponse;
+import com.project.schoolmanagment.payload.response.business.MeetSeriesResponse;
+import com.project.schoolmanagment.repository.business.MeetSeriesOverrideRepository;
+import com.project.schoolmanagment.repository.business.MeetSeriesRepository;
+import com.project.schoolmanagment.repository.business.MeetingRepository;
+import com.project.schoolmanagment.repository.business.ScheduleVersionRepository;
+import com.project.schoolmanagment.security.service.CurrentUser;
+import com.project.schoolmanagment.service.helper.MeetOccurrenceHelper;
+import com.project.schoolmanagment.service.helper.MethodHelper;
+import com.project.schoolmanagment.service.user.UserService;
+import com.project.schoolmanagment.service.validator.DateTimeValidator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Weekly and biweekly meetings of an advisor. A series is one row, its occurrences are computed by
+ * MeetOccurrenceHelper for the dates a query, a conflict check or the meeting reminders ask for.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class MeetSeriesService {
+
+    private final MeetSeriesRepository meetSeriesRepository;
+    private final MeetSeriesOverrideRepository meetSeriesOverrideRepository;
+    private final MeetOccurrenceHelper meetOccurrenceHelper;
+    private final MeetingReminderService meetingReminderService;
+    private final MeetingRepository meetingRepository;
+    private final ScheduleVersionRepository scheduleVersionRepository;
+    private final EducationTermService educationTermService;
+    private final UserService userService;
+    private final MethodHelper methodHelper;
+    private final DateTimeValidator dateTimeValidator;
+    private final MeetSeriesMapper meetSeriesMapper;
+    private final CurrentUser currentUser;
+
+    @Value("${meeting.series.max-days:366}")
+    private int maxDays;
+
+    @Transactional
+    public ResponseMessage<MeetSeriesResponse> saveMeetSeries(MeetSeriesRequest meetSeriesRequest) {
+        //validate is advisor teacher
+        methodHelper.checkAdvisor(currentUser);
+        dateTimeValidator.checkTimeWithException(meetSeriesRequest.getStartTime(), meetSeriesRequest.getStopTime());
+        EducationTerm educationTerm = educationTermService.isEducationTermExist(meetSeriesRequest.getEducationTermId());
+        if (meetSeriesRequest.getFirstDate().isBefore(educationTerm.getStartDate())
+                || meetSeriesRequest.getFirstDate().isAfter(educationTerm.getEndDate())) {
+            throw new BadRequestException(ErrorMessages.MEET_SERIES_NOT_IN_TERM);
+        }
+
+        List<User> students = userService.findUsersByIdArray(meetSeriesRequest.getStudentIds());
+        //validate if they are a student
+        for (User user : students) {
+            methodHelper.checkRole(user, RoleType.STUDENT);
+        }
+
+        MeetSeries meetSeries = meetSeriesMapper.mapMeetSeriesRequestToMeetSeries(meetSeriesRequest);
+        meetSeries.setUntilDate(educationTerm.getEndDate());
+        meetSeries.setEducationTerm(educationTerm);
+        meetSeries.setAdvisoryTeacher(methodHelper.getUserReference(currentUser.getId()));
+        meetSeries.setStudentList(new HashSet<>(students));
+
+        //every occurrence against the meetings and the other series of the advisor in the term
+        Map<LocalDate, List<Meet>> busy = getAdvisorBusy(currentUser.getId(), meetSeries.getFirstDate(),
+                meetSeries.getUntilDate(), null, null);
+        for (MeetOccurrenceResponse occurrence : MeetOccurrenceHelper.expand(meetSeries, Collections.emptyMap(),
+                meetSeries.getFirstDate(), meetSeries.getUntilDate())) {
+            dateTimeValidator.checkMeetingConflicts(busy.getOrDefault(occurrence.getDate(), Collections.emptyList()),
+                    occurrence.getDate(), occurrence.getStartTime(), occurrence.getStopTime());
+        }
+
+        MeetSeries savedMeetSeries = meetSeriesRepository.save(meetSeries);
+        scheduleVersionRepository.bumpUsersOfMeetSeries(savedMeetSeries.getId());
+        meetingReminderService.scheduleSeriesReminders(savedMeetSeries);
+        return ResponseMessage.<MeetSeriesResponse>builder()
+                .message(SuccessMessages.MEET_SERIES_SAVE)
+                .object(meetSeriesMapper.mapMeetSeriesToMeetSeriesResponse(savedMeetSeries))
+                .httpStatus(HttpStatus.CREATED)
+                .build();
+    }
+
+    /**
+     * occurrences of the series of the caller, as advisor or as student
+     */
+    public List<MeetOccurrenceResponse> getOccurrencesOfCurrentUser(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate) || ChronoUnit.DAYS.between(startDate, endDate) >= maxDays) {
+            throw new BadRequestException(String.format(ErrorMessages.MEET_DATE_RANGE_NOT_VALID, maxDays));
+        }
+        List<MeetSeries> series = currentUser.getRoleType() == RoleType.STUDENT
+                ? meetSeriesRepository.findByStudentBetween(currentUser.getId(), startDate, endDate)
+                : meetSeriesRepository.findByAdvisorBetween(currentUser.getId(), startDate, endDate);
+        return meetOccurrenceHelper.getOccurrences(series, startDate, endDate);
+    }
+
+    /**
+     * occurrences of a user's series as unsaved meets, for the conflict checks of the single meetings
+     */
+    public List<Meet> getOccurrencesAsMeets(Long userId, boolean advisor, LocalDate startDate, LocalDate endDate) {
+        List<MeetSeries> series = advisor
+                ? meetSeriesRepository.findByAdvisorBetween(userId, startDate, endDate)
+                : meetSeriesRepository.findByStudentBetween(userId, startDate, endDate);
+        return meetOccurrenceHelper.getOccurrences(series, startDate, endDate)
+                .stream()
+                .map(MeetSeriesService::mapOccurrenceToMeet)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * occurrences of the series of an advisor and of the series any of the students are in
+     */
+    public List<MeetOccurrenceResponse> getOccurrencesOfUsers(Long advisorId, Collection<Long> studentIds,
+                                                              LocalDate startDate, LocalDate endDate) {
+        List<MeetSeries> series = meetSeriesRepository.findByUsersBetween(advisorId, studentIds, startDate, endDate);
+        return meetOccurrenceHelper.getOccurrences(series, startDate, endDate);
+    }
+
+    @Transactional
+    public ResponseMessage<MeetOccurrenceResponse> updateOccurrence(Long seriesId, MeetOccurrenceRequest request) {
+        MeetSeries meetSeries = isMeetSeriesExist(seriesId);
+        isMeetSeriesAssignToThisTeacher(meetSeries);
+        LocalDate occurrenceDate = request.getOccurrenceDate();
+        if (!isOccurrenceDate(meetSeries, occurrenceDate)) {
+            throw new ResourceNotFoundException(String.format(ErrorMessages.MEET_OCCURRENCE_NOT_FOUND, seriesId, occurrenceDate));
+        }
+
+        MeetSeriesOverride override = meetSeriesOverrideRepository.findBySeries_IdAndOccurrenceDate(seriesId, occurrenceDate)
+                .orElseGet(() -> MeetSeriesOverride.builder()
+                        .series(meetSeries)
+                        .occurrenceDate(occurrenceDate)
+                        .build());
+        override.setCancelled(request.isCancelled());
+        if (request.isCancelled()) {
+            override.setDate(null);
+            override.setStartTime(null);
+            override.setStopTime(null);
+        } else {
+            LocalDate date = request.getDate();
+            if (date == null || request.getStartTime() == null || request.getStopTime() == null) {
+                throw new BadRequestException(ErrorMessages.MEET_OCCURRENCE_TIME_REQUIRED);
+            }
+            //within the series, so the queries by first and until date still find it
+            if (date.isBefore(meetSeries.getFirstDate()) || date.isAfter(meetSeries.getUntilDate())) {
+                throw new BadRequestException(ErrorMessages.MEET_OCCURRENCE_NOT_IN_SERIES);
+            }
+            dateTimeValidator.checkTimeWithException(request.getStartTime(), request.getStopTime());
+            Map<LocalDate, List<Meet>> busy = getAdvisorBusy(meetSeries.getAdvisoryTeacher().getId(), date, date,
+                    seriesId, occurrenceDate);
+            dateTimeValidator.checkMeetingConflicts(busy.getOrDefault(date, Collections.emptyList()),
+                    date, request.getStartTime(), request.getStopTime());
+            override.setDate(date);
+            override.setStartTime(request.getStartTime());
+            override.setStopTime(request.getStopTime());
+        }
+        meetSeriesOverrideRepository.save(override);
+        scheduleVersionRepository.bumpUsersOfMeetSeries(seriesId);
+        meetingReminderService.scheduleSeriesReminders(meetSeries);
+
+        return ResponseMessage.<MeetOccurrenceResponse>builder()
+                .message(SuccessMessages.MEET_OCCURRENCE_UPDATE)
+                .object(request.isCancelled() ? null : MeetOccurrenceHelper.mapOverrideToOccurrence(meetSeries, override))
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    @Transactional
+    public ResponseMessage deleteById(Long id) {
+        MeetSeries meetSeries = isMeetSeriesExist(id);
+        isMeetSeriesAssignToThisTeacher(meetSeries);
+        scheduleVersionRepository.bumpUsersOfMeetSeries(id);
+        meetingReminderService.cancelSeriesReminders(meetSeries);
+        //the student links go with the series, the overrides are dropped by the database
+        meetSeriesRepository.delete(meetSeries);
+        return ResponseMessage.builder()
+                .message(SuccessMessages.MEET_SERIES_DELETE)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    private MeetSeries isMeetSeriesExist(Long id) {
+        return meetSeriesRepository
+                .findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessages.MEET_SERIES_NOT_FOUND_MESSAGE, id)));
+    }
+
+    private void isMeetSeriesAssignToThisTeacher(MeetSeries meetSeries) {
+        if (currentUser.getRoleType() == RoleType.TEACHER
+                && !meetSeries.getAdvisoryTeacher().getId().equals(currentUser.getId())) {
+            throw new BadRequestException(ErrorMessages.NOT_PERMITTED_METHOD_MESSAGE);
+        }
+    }
+
+    /**
+     * meetings and series occurrences of the advisor by date, without the given occurrence of a series
+     */
+    private Map<LocalDate, List<Meet>> getAdvisorBusy(Long advisorId, LocalDate startDate, LocalDate endDate,
+                                                      Long seriesId, LocalDate occurrenceDate) {
+        Map<LocalDate, List<Meet>> busy = new HashMap<>();
+        for (Meet meet : meetingRepository.findByAdvisoryTeacher_IdAndDateBetween(advisorId, startDate, endDate)) {
+            busy.computeIfAbsent(meet.getDate(), date -> new ArrayList<>()).add(meet);
+        }
+        List<MeetSeries> series = meetSeriesRepository.findByAdvisorBetween(advisorId, startDate, endDate);
+        for (MeetOccurrenceResponse occurrence : meetOccurrenceHelper.getOccurrences(series, startDate, endDate)) {
+            if (occurrence.getSeriesId().equals(seriesId) && occurrence.getOccurrenceDate().equals(occurrenceDate)) {
+                continue;
+            }
+            busy.computeIfAbsent(occurrence.getDate(), date -> new ArrayList<>()).add(mapOccurrenceToMeet(occurrence));
+        }
+        return busy;
+    }
+
+    private static boolean isOccurrenceDate(MeetSeries meetSeries, LocalDate date) {
+        return !date.isBefore(meetSeries.getFirstDate()) && !date.isAfter(meetSeries.getUntilDate())
+                && ChronoUnit.DAYS.between(meetSeries.getFirstDate(), date) % (meetSeries.getRecurrence().getWeeks() * 7L) == 0;
+    }
+
+    private static Meet mapOccurrenceToMeet(MeetOccurrenceResponse occurrence) {
+        return Meet.builder()
+                .description(occurrence.getDescription())
+                .date(occurrence.getDate())
+                .startTime(occurrence.getStartTime())
+                .stopTime(occurrence.getStopTime())
+                .build();
+    }
+}
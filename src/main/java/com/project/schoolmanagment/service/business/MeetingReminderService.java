@@ -0,0 +1,344 @@
+package com.project.schoolmanagment.service.business;
+
+import com.project.schoolmanagment.entity.concretes.business.MeetSeries;
+import com.project.schoolmanagment.payload.response.business.MeetOccurrenceResponse;
+import com.project.schoolmanagment.repository.business.MeetSeriesRepository;
+import com.project.schoolmanagment.repository.business.MeetingRepository;
+import com.project.schoolmanagment.service.helper.MeetOccurrenceHelper;
+import com.project.schoolmanagment.service.helper.TransactionHelper;
+import com.project.schoolmanagment.service.mail.BatchMailSender;
+import com.project.schoolmanagment.service.reminder.HashedTimingWheel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mails a reminder lead-minutes before every meeting and every occurrence of a meet series to the advisor and
+ * every student of it.
+ * <p>
+ * One timer per meeting, and per occurrence of a series keyed by the date the rule gives it, on a hashed timing
+ * wheel (HashedTimingWheel). The recipients and the time are read again when it expires, so a changed student
+ * list needs no new timer and a timer of a moved, cancelled or deleted meeting sends nothing. The wheel only
+ * holds the reminders of the next horizon-minutes: every load interval the loader adds the meetings and series
+ * occurrences whose reminder falls in the newly covered time, and saving, updating or deleting a meeting or
+ * a series occurrence changes its timer after commit when the reminder is in the covered time.
+ * The mails go through BatchMailSender.
+ */
+@Service
+@RequiredArgsConstructor
+public class MeetingReminderService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MeetingReminderService.class);
+
+    private static final String TIMERS = "school.reminder.timers";
+    private static final String SUBJECT = "Meeting reminder: %s";
+    private static final String TEXT = "Dear %s %s,%n%nyou have a meeting on %s from %s to %s.%n%n%s%n";
+
+    private final MeetingRepository meetingRepository;
+    private final MeetSeriesRepository meetSeriesRepository;
+    private final MeetOccurrenceHelper meetOccurrenceHelper;
+    private final BatchMailSender batchMailSender;
+    private final TransactionHelper transactionHelper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${reminder.enabled:true}")
+    private boolean enabled;
+    @Value("${reminder.lead-minutes:60}")
+    private long leadMinutes;
+    @Value("${reminder.horizon-minutes:360}")
+    private long horizonMinutes;
+    @Value("${reminder.load-interval-ms:600000}")
+    private long loadIntervalMillis;
+    @Value("${reminder.tick-ms:1000}")
+    private long tickMillis;
+    @Value("${reminder.wheel-size:4096}")
+    private int wheelSize;
+    //meetings or series whose recipients are read with one query
+    @Value("${reminder.batch-size:500}")
+    private int batchSize;
+
+    private HashedTimingWheel<ReminderKey> wheel;
+    //loads the wheel and reads the recipients of expired timers, one after the other
+    private ScheduledExecutorService scheduler;
+    //the reminders up to here are on the wheel, null until the wheel is started
+    private volatile LocalDateTime loadedUntil;
+
+    @PostConstruct
+    public void init(){
+        //the wheel thread only hands the expired reminders over
+        wheel = new HashedTimingWheel<>("reminder-wheel", tickMillis, wheelSize,
+                keys -> scheduler.execute(() -> remind(keys)));
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "meeting-reminder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder(TIMERS, this, service -> service.wheel.size())
+                .description("meeting reminders waiting on the timing wheel")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown(){
+        scheduler.shutdownNow();
+        wheel.stop();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start(){
+        if (!enabled) {
+            return;
+        }
+        //reminders due while the application was down are not sent late
+        loadedUntil = LocalDateTime.now();
+        wheel.start();
+        scheduler.scheduleWithFixedDelay(this::load, 0, loadIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * for a saved or updated meeting, takes effect after commit
+     */
+    public void scheduleReminder(Long meetId, LocalDate date, LocalTime startTime) {
+        transactionHelper.runAfterCommit(() -> schedule(ReminderKey.meet(meetId), date.atTime(startTime)));
+    }
+
+    /**
+     * for a deleted meeting, takes effect after commit
+     */
+    public void cancelReminder(Long meetId) {
+        transactionHelper.runAfterCommit(() -> wheel.cancel(ReminderKey.meet(meetId)));
+    }
+
+    /**
+     * for a saved series or a changed occurrence, the occurrences are read in the transaction of the change
+     * and their timers replaced after commit
+     */
+    public void scheduleSeriesReminders(MeetSeries meetSeries) {
+        //no wheel to change before it started
+        if (loadedUntil == null) {
+            return;
+        }
+        LocalDate startDate = LocalDate.now();
+        LocalDate endDate = seriesEndDate();
+        List<MeetOccurrenceResponse> ruleOccurrences = MeetOccurrenceHelper.expand(meetSeries, Collections.emptyMap(),
+                startDate, endDate);
+        List<MeetOccurrenceResponse> occurrences = meetOccurrenceHelper.getOccurrences(
+                Collections.singletonList(meetSeries), startDate, endDate);
+        transactionHelper.runAfterCommit(() -> {
+            //a cancelled occurrence keeps no timer
+            for (MeetOccurrenceResponse occurrence : ruleOccurrences) {
+                wheel.cancel(ReminderKey.occurrence(occurrence.getSeriesId(), occurrence.getOccurrenceDate()));
+            }
+            for (MeetOccurrenceResponse occurrence : occurrences) {
+                schedule(ReminderKey.occurrence(occurrence.getSeriesId(), occurrence.getOccurrenceDate()),
+                        occurrence.getDate().atTime(occurrence.getStartTime()));
+            }
+        });
+    }
+
+    /**
+     * for a deleted series, takes effect after commit. a timer left for a moved occurrence finds no series
+     */
+    public void cancelSeriesReminders(MeetSeries meetSeries) {
+        if (loadedUntil == null) {
+            return;
+        }
+        List<MeetOccurrenceResponse> ruleOccurrences = MeetOccurrenceHelper.expand(meetSeries, Collections.emptyMap(),
+                LocalDate.now(), seriesEndDate());
+        transactionHelper.runAfterCommit(() -> {
+            for (MeetOccurrenceResponse occurrence : ruleOccurrences) {
+                wheel.cancel(ReminderKey.occurrence(occurrence.getSeriesId(), occurrence.getOccurrenceDate()));
+            }
+        });
+    }
+
+    //the covered time can move on until the commit, the occurrences are read up to where it can get by then
+    private LocalDate seriesEndDate() {
+        return LocalDateTime.now().plusMinutes(horizonMinutes + leadMinutes)
+                .plus(loadIntervalMillis, ChronoUnit.MILLIS).toLocalDate();
+    }
+
+    private void schedule(ReminderKey key, LocalDateTime start) {
+        LocalDateTime until = loadedUntil;
+        if (until == null) {
+            return;
+        }
+        LocalDateTime reminder = start.minusMinutes(leadMinutes);
+        //a reminder after the covered time is added by the loader later
+        if (!start.isAfter(LocalDateTime.now()) || reminder.isAfter(until)) {
+            wheel.cancel(key);
+            return;
+        }
+        //a reminder that is already due, for a meeting starting soon, expires with the next tick
+        wheel.schedule(key, toMillis(reminder));
+    }
+
+    private void load() {
+        LocalDateTime from = loadedUntil;
+        LocalDateTime until = LocalDateTime.now().plusMinutes(horizonMinutes);
+        if (!until.isAfter(from)) {
+            return;
+        }
+        //moved before the query, a meeting committed after the query is scheduled by its own after commit
+        loadedUntil = until;
+        try {
+            int count = 0;
+            LocalDateTime firstStart = from.plusMinutes(leadMinutes);
+            LocalDateTime lastStart = until.plusMinutes(leadMinutes);
+            LocalDate startDate = firstStart.toLocalDate();
+            LocalDate endDate = lastStart.toLocalDate();
+            for (Object[] row : meetingRepository.findStartsBetween(startDate, endDate)) {
+                LocalDateTime start = ((LocalDate) row[1]).atTime((LocalTime) row[2]);
+                if (start.isAfter(firstStart) && !start.isAfter(lastStart)) {
+                    wheel.schedule(ReminderKey.meet((Long) row[0]), toMillis(start.minusMinutes(leadMinutes)));
+                    count++;
+                }
+            }
+            List<MeetSeries> series = meetSeriesRepository.findBetween(startDate, endDate);
+            for (MeetOccurrenceResponse occurrence : meetOccurrenceHelper.getOccurrences(series, startDate, endDate)) {
+                LocalDateTime start = occurrence.getDate().atTime(occurrence.getStartTime());
+                if (start.isAfter(firstStart) && !start.isAfter(lastStart)) {
+                    wheel.schedule(ReminderKey.occurrence(occurrence.getSeriesId(), occurrence.getOccurrenceDate()),
+                            toMillis(start.minusMinutes(leadMinutes)));
+                    count++;
+                }
+            }
+            LOGGER.debug("{} meeting reminders until {} loaded", count, until);
+        } catch (RuntimeException e) {
+            //the next load covers the time again
+            loadedUntil = from;
+            LOGGER.error("Loading meeting reminders failed", e);
+        }
+    }
+
+    private void remind(List<ReminderKey> keys) {
+        List<Long> meetIds = new ArrayList<>();
+        //series id -> occurrence dates due
+        Map<Long, Set<LocalDate>> occurrenceDates = new HashMap<>();
+        for (ReminderKey key : keys) {
+            if (key.meetId != null) {
+                meetIds.add(key.meetId);
+            } else {
+                occurrenceDates.computeIfAbsent(key.seriesId, id -> new HashSet<>()).add(key.occurrenceDate);
+            }
+        }
+        try {
+            remindMeets(meetIds);
+            remindOccurrences(occurrenceDates);
+        } catch (RuntimeException e) {
+            LOGGER.error("Meeting reminders of {} meetings and occurrences failed", keys.size(), e);
+        }
+    }
+
+    private void remindMeets(List<Long> meetIds) {
+        for (int from = 0; from < meetIds.size(); from += batchSize) {
+            List<Long> ids = meetIds.subList(from, Math.min(meetIds.size(), from + batchSize));
+            List<Object[]> recipients = new ArrayList<>(meetingRepository.findAdvisorRecipientsByIds(ids));
+            recipients.addAll(meetingRepository.findStudentRecipientsByIds(ids));
+            LocalDateTime now = LocalDateTime.now();
+            for (Object[] row : recipients) {
+                LocalDateTime start = ((LocalDate) row[2]).atTime((LocalTime) row[3]);
+                if (!isDue(start, now)) {
+                    continue;
+                }
+                if (row[5] != null) {
+                    batchMailSender.send((String) row[5], String.format(SUBJECT, row[1]),
+                            String.format(TEXT, row[6], row[7], row[2], row[3], row[4], row[1]));
+                }
+            }
+        }
+    }
+
+    private void remindOccurrences(Map<Long, Set<LocalDate>> occurrenceDates) {
+        List<Long> seriesIds = new ArrayList<>(occurrenceDates.keySet());
+        for (int from = 0; from < seriesIds.size(); from += batchSize) {
+            List<Long> ids = seriesIds.subList(from, Math.min(seriesIds.size(), from + batchSize));
+            LocalDateTime now = LocalDateTime.now();
+            //the occurrences as they are now, a deleted series is not found and a cancelled occurrence not listed
+            List<MeetOccurrenceResponse> due = new ArrayList<>();
+            for (MeetOccurrenceResponse occurrence : meetOccurrenceHelper.getOccurrences(meetSeriesRepository.findAllById(ids),
+                    now.toLocalDate(), now.plusMinutes(leadMinutes).plus(tickMillis, ChronoUnit.MILLIS).toLocalDate())) {
+                if (occurrenceDates.get(occurrence.getSeriesId()).contains(occurrence.getOccurrenceDate())
+                        && isDue(occurrence.getDate().atTime(occurrence.getStartTime()), now)) {
+                    due.add(occurrence);
+                }
+            }
+            if (due.isEmpty()) {
+                continue;
+            }
+            //series id -> recipient rows
+            Map<Long, List<Object[]>> recipients = new HashMap<>();
+            List<Object[]> rows = new ArrayList<>(meetSeriesRepository.findAdvisorRecipientsByIds(ids));
+            rows.addAll(meetSeriesRepository.findStudentRecipientsByIds(ids));
+            for (Object[] row : rows) {
+                recipients.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(row);
+            }
+            for (MeetOccurrenceResponse occurrence : due) {
+                for (Object[] row : recipients.getOrDefault(occurrence.getSeriesId(), Collections.emptyList())) {
+                    if (row[2] != null) {
+                        batchMailSender.send((String) row[2], String.format(SUBJECT, row[1]),
+                                String.format(TEXT, row[3], row[4], occurrence.getDate(), occurrence.getStartTime(),
+                                        occurrence.getStopTime(), row[1]));
+                    }
+                }
+            }
+        }
+    }
+
+    //started or moved to a later time since the timer was set, the new timer sends it
+    private boolean isDue(LocalDateTime start, LocalDateTime now) {
+        return start.isAfter(now) && !start.minusMinutes(leadMinutes).isAfter(now.plus(tickMillis, ChronoUnit.MILLIS));
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    //a meeting, or an occurrence of a series by the date its rule gives it
+    @EqualsAndHashCode
+    private static final class ReminderKey {
+
+        private final Long meetId;
+        private final Long seriesId;
+        private final LocalDate occurrenceDate;
+
+        private ReminderKey(Long meetId, Long seriesId, LocalDate occurrenceDate) {
+            this.meetId = meetId;
+            this.seriesId = seriesId;
+            this.occurrenceDate = occurrenceDate;
+        }
+
+        private static ReminderKey meet(Long meetId) {
+            return new ReminderKey(meetId, null, null);
+        }
+
+        private static ReminderKey occurrence(Long seriesId, LocalDate occurrenceDate) {
+            return new ReminderKey(null, seriesId, occurrenceDate);
+        }
+    }
+}
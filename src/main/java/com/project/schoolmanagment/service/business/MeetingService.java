@@ -4,7 +4,6 @@ import com.project.schoolmanagment.entity.concretes.business.Meet;
 import com.project.schoolmanagment.entity.concretes.user.User;
 import com.project.schoolmanagment.entity.enums.RoleType;
 import com.project.schoolmanagment.exception.BadRequestException;
-import com.project.schoolmanagment.exception.ConflictException;
 import com.project.schoolmanagment.exception.ResourceNotFoundException;
 import com.project.schoolmanagment.payload.mappers.MeetingMapper;
 import com.project.schoolmanagment.payload.messages.ErrorMessages;
@@ -13,6 +12,8 @@ import com.project.schoolmanagment.payload.request.business.MeetingRequest;
 import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
 import com.project.schoolmanagment.payload.response.business.MeetingResponse;
 import com.project.schoolmanagment.repository.business.MeetingRepository;
+import com.project.schoolmanagment.repository.business.ScheduleVersionRepository;
+import com.project.schoolmanagment.security.service.CurrentUser;
 import com.project.schoolmanagment.service.helper.MethodHelper;
 import com.project.schoolmanagment.service.helper.PageableHelper;
 import com.project.schoolmanagment.service.user.UserService;
@@ -23,14 +24,18 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.HttpServletRequest;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class MeetingService {
 
@@ -40,18 +45,19 @@ public class MeetingService {
     private final DateTimeValidator dateTimeValidator;
     private final MeetingMapper meetingMapper;
     private final PageableHelper pageableHelper;
+    private final CurrentUser currentUser;
+    private final MeetSeriesService meetSeriesService;
+    private final ScheduleVersionRepository scheduleVersionRepository;
+    private final MeetingReminderService meetingReminderService;
 
+    @Transactional
     public ResponseMessage<MeetingResponse> saveMeeting(HttpServletRequest request, MeetingRequest meetingRequest) {
-        String username = (String) request.getAttribute("username");
-
-        //validate username
-        User advisorTeacher = methodHelper.isUserExistByUsername(username);
-        //validate is advisor teacher
-        methodHelper.checkAdvisor(advisorTeacher);
+        //validate is advisor teacher, the caller was loaded by the token filter
+        methodHelper.checkAdvisor(currentUser);
 
         dateTimeValidator.checkTimeWithException(meetingRequest.getStartTime(), meetingRequest.getStopTime());
 
-        checkMeetingConflicts(advisorTeacher.getId(),
+        checkAdvisorMeetingConflicts(currentUser.getId(),
                                 meetingRequest.getDate(),
                                 meetingRequest.getStartTime(),
                                 meetingRequest.getStopTime());
@@ -63,9 +69,11 @@ public class MeetingService {
         }
 
         Meet meet = meetingMapper.mapMeetRequestToMeet(meetingRequest);
-        meet.setStudentList(students);
-        meet.setAdvisoryTeacher(advisorTeacher);
+        meet.setStudentList(new HashSet<>(students));
+        meet.setAdvisoryTeacher(methodHelper.getUserReference(currentUser.getId()));
         Meet savedMeet = meetingRepository.save(meet);
+        scheduleVersionRepository.bumpUsersOfMeet(savedMeet.getId());
+        meetingReminderService.scheduleReminder(savedMeet.getId(), savedMeet.getDate(), savedMeet.getStartTime());
 
         return ResponseMessage.<MeetingResponse>builder()
                 .message(SuccessMessages.MEET_SAVE)
@@ -78,28 +86,24 @@ public class MeetingService {
         List<Meet> meets;
 
         //Student or advisor
-        if (methodHelper.isUserExist(userId).getIsAdvisor()) {
-            meets = meetingRepository.findByAdvisoryTeacher_IdEquals(userId);
+        boolean advisor = methodHelper.isUserExist(userId).getIsAdvisor();
+        if (advisor) {
+            meets = new ArrayList<>(meetingRepository.findByAdvisoryTeacher_IdEquals(userId));
         } else {
-            meets = meetingRepository.findByStudentList_IdEquals(userId);
+            meets = new ArrayList<>(meetingRepository.findByStudentList_IdEquals(userId));
 
         }
+        //occurrences of the meet series on the day
+        meets.addAll(meetSeriesService.getOccurrencesAsMeets(userId, advisor, date, date));
 
-        //conflict validation
-        for (Meet meet : meets) {
-            LocalTime existingStartTime = meet.getStartTime();
-            LocalTime existingStopTime = meet.getStopTime();
-
-            if (meet.getDate().equals(date)
-                    && (
-                    startTime.isAfter(existingStartTime) && startTime.isBefore(existingStopTime) ||
-                            startTime.isAfter(existingStartTime) && stopTime.isBefore(existingStopTime) ||
-                            startTime.isBefore(existingStartTime) && stopTime.isAfter(existingStopTime) ||
-                            startTime.equals(existingStartTime) || stopTime.equals(existingStopTime))) {
+        dateTimeValidator.checkMeetingConflicts(meets, date, startTime, stopTime);
+    }
 
-                throw new ConflictException(ErrorMessages.MEET_HOURS_CONFLICT);
-            }
-        }
+    private void checkAdvisorMeetingConflicts(Long advisorId, LocalDate date, LocalTime startTime, LocalTime stopTime) {
+        List<Meet> meets = new ArrayList<>(meetingRepository.findByAdvisoryTeacher_IdEquals(advisorId));
+        //occurrences of the meet series on the day
+        meets.addAll(meetSeriesService.getOccurrencesAsMeets(advisorId, true, date, date));
+        dateTimeValidator.checkMeetingConflicts(meets, date, startTime, stopTime);
     }
 
     public List<MeetingResponse> getAll() {
@@ -123,15 +127,19 @@ public class MeetingService {
                 .orElseThrow(()-> new ResourceNotFoundException(String.format(ErrorMessages.MEET_NOT_FOUND_MESSAGE, id)));
     }
 
+    @Transactional
     public ResponseMessage deleteById(Long id) {
         Meet meet = isMeetingExist(id);
+        scheduleVersionRepository.bumpUsersOfMeet(meet.getId());
         meetingRepository.deleteById(meet.getId());
+        meetingReminderService.cancelReminder(meet.getId());
         return ResponseMessage.builder()
                 .message(SuccessMessages.MEET_DELETE)
                 .httpStatus(HttpStatus.OK)
                 .build();
     }
 
+    @Transactional
     public ResponseMessage<MeetingResponse> updateMeeting(Long meetingId, MeetingRequest meetingRequest, HttpServletRequest request) {
         Meet meet = isMeetingExist(meetingId);
         //validate is teacher is updating his/her own meeting
@@ -149,46 +157,42 @@ public class MeetingService {
                         meetingRequest.getStopTime());
             }
             //conflicts related to teacher
-            checkMeetingConflicts(meet.getAdvisoryTeacher().getId(),
+            checkAdvisorMeetingConflicts(meet.getAdvisoryTeacher().getId(),
                     meetingRequest.getDate(),
                     meetingRequest.getStartTime(),
                     meetingRequest.getStopTime());
         }
 
         List<User>students = userService.findUsersByIdArray(meetingRequest.getStudentIds());
-        Meet updateMeet = meetingMapper.mapMeetUpdateRequestToMeet(meetingRequest,meetingId);
-        //set missing properties
-        updateMeet.setStudentList(students);
-        updateMeet.setAdvisoryTeacher(meet.getAdvisoryTeacher());
-        Meet savedMeeting = meetingRepository.save(updateMeet);
+        //the students before and after the change
+        scheduleVersionRepository.bumpUsersOfMeet(meetingId);
+        //changed on the managed meeting, the advisor stays and only the changed columns and student rows are written
+        meetingMapper.mapMeetUpdateRequestToMeet(meetingRequest, meet);
+        methodHelper.replaceElements(meet.getStudentList(), students);
+        scheduleVersionRepository.bumpUsersOfMeet(meetingId);
+        meetingReminderService.scheduleReminder(meetingId, meet.getDate(), meet.getStartTime());
         return ResponseMessage.<MeetingResponse>builder()
                 .message(SuccessMessages.MEET_UPDATE)
                 .httpStatus(HttpStatus.OK)
-                .object(meetingMapper.mapMeetToMeetingResponse(savedMeeting))
+                .object(meetingMapper.mapMeetToMeetingResponse(meet))
                 .build();
     }
 
     private void isMeetingAssignToThisTeacher(Meet meet, HttpServletRequest request){
-        String username = (String) request.getAttribute("username");
-        User user = methodHelper.isUserExistByUsername(username);
-        if(user.getUserRole().getRoleType().getName().equals("Teacher") &&
-                (meet.getAdvisoryTeacher().getAdvisorTeacherId()!=(user.getId()))){
+        if(currentUser.getRoleType() == RoleType.TEACHER &&
+                (meet.getAdvisoryTeacher().getAdvisorTeacherId()!=(currentUser.getId()))){
             throw new BadRequestException(ErrorMessages.NOT_PERMITTED_METHOD_MESSAGE);
         }
     }
 
     public ResponseEntity<List<MeetingResponse>> getAllMeetByTeacher(HttpServletRequest request) {
-        //get username from header/attribute
-        String username = (String) request.getAttribute("username");
-        //get user from db
-        User advisorTeacher = methodHelper.isUserExistByUsername(username);
         //validate teacher is advisor or not
-        methodHelper.checkAdvisor(advisorTeacher);
+        methodHelper.checkAdvisor(currentUser);
 
         List<MeetingResponse> meetResponseList =
                 meetingRepository.findAll()
                         .stream()
-                        .filter(x -> x.getAdvisoryTeacher().getId() == advisorTeacher.getId())
+                        .filter(x -> x.getAdvisoryTeacher().getId().equals(currentUser.getId()))
                         .map(meetingMapper::mapMeetToMeetingResponse)
                         .collect(Collectors.toList());
         return ResponseEntity.ok(meetResponseList);
@@ -203,10 +207,8 @@ public class MeetingService {
 
 
     public ResponseEntity<List<MeetingResponse>> getAllMeetByStudent(HttpServletRequest request) {
-        String username = (String) request.getAttribute("username");
-        User student = methodHelper.isUserExistByUsername(username);
         List<MeetingResponse> meetResponseList =
-                meetingRepository.findByStudentList_IdEquals(student.getId())
+                meetingRepository.findByStudentList_IdEquals(currentUser.getId())
                         .stream()
                         .map(meetingMapper::mapMeetToMeetingResponse)
                         .collect(Collectors.toList());
@@ -221,16 +223,14 @@ public class MeetingService {
     }
 
     public ResponseEntity<Page<MeetingResponse>> getAllMeetByAdvisorAsPage(HttpServletRequest request, int page, int size) {
-        String username = (String) request.getAttribute("username");
-        User advisorTeacher = methodHelper.isUserExistByUsername(username);
-        methodHelper.checkAdvisor(advisorTeacher);
+        methodHelper.checkAdvisor(currentUser);
         Pageable pageable = pageableHelper.getPageableWithProperties(page, size);
 
 //        return meetingRepository.findByAdvisoryTeacher_IdEquals(advisorTeacher.getId(), pageable)
 //                .map(meetingMapper::mapMeetToMeetingResponse);
         return ResponseEntity
                 .ok(
-                        (meetingRepository.findByAdvisoryTeacher_IdEquals(advisorTeacher.getId(), pageable)
+                        (meetingRepository.findByAdvisoryTeacher_IdEquals(currentUser.getId(), pageable)
                                 .map(meetingMapper::mapMeetToMeetingResponse))
                 );
     }
@@ -0,0 +1,196 @@
+package com.project.schoolmanagment.service.business;
+
+import com.project.schoolmanagment.entity.enums.Day;
+import com.project.schoolmanagment.entity.enums.RoleType;
+import com.project.schoolmanagment.exception.BadRequestException;
+import com.project.schoolmanagment.exception.ResourceNotFoundException;
+import com.project.schoolmanagment.payload.messages.ErrorMessages;
+import com.project.schoolmanagment.payload.request.business.MeetingSlotRequest;
+import com.project.schoolmanagment.payload.response.business.MeetOccurrenceResponse;
+import com.project.schoolmanagment.payload.response.business.MeetingSlotResponse;
+import com.project.schoolmanagment.repository.business.LessonProgramRepository;
+import com.project.schoolmanagment.repository.business.MeetingRepository;
+import com.project.schoolmanagment.repository.user.UserRepository;
+import com.project.schoolmanagment.security.service.CurrentUser;
+import com.project.schoolmanagment.service.helper.MethodHelper;
+import com.project.schoolmanagment.service.validator.DateTimeValidator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Free/busy of an advisor and students: the earliest common free slots for a meeting. Their meetings, meet
+ * series occurrences and weekly lesson programs are read once, then every day of the range is a linear merge
+ * of the lists sorted by start time and a sweep over the merged busy intervals.
+ * <p>
+ * A returned slot passes the conflict check of MeetingService.saveMeeting.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class MeetingSlotService {
+
+    private final MeetingRepository meetingRepository;
+    private final LessonProgramRepository lessonProgramRepository;
+    private final UserRepository userRepository;
+    private final MethodHelper methodHelper;
+    private final DateTimeValidator dateTimeValidator;
+    private final CurrentUser currentUser;
+    private final MeetSeriesService meetSeriesService;
+
+    @Value("${meeting.slots.day-start:08:00}")
+    private String dayStart;
+    @Value("${meeting.slots.day-stop:18:00}")
+    private String dayStop;
+    @Value("${meeting.slots.max-days:62}")
+    private int maxDays;
+
+    public List<MeetingSlotResponse> getCommonFreeSlots(MeetingSlotRequest request) {
+        //validate is advisor teacher, the slots are searched for the caller
+        methodHelper.checkAdvisor(currentUser);
+
+        LocalDate startDate = request.getStartDate();
+        LocalDate endDate = request.getEndDate();
+        if (endDate.isBefore(startDate) || ChronoUnit.DAYS.between(startDate, endDate) >= maxDays) {
+            throw new BadRequestException(String.format(ErrorMessages.MEET_DATE_RANGE_NOT_VALID, maxDays));
+        }
+        LocalTime dayStartTime = request.getDayStartTime() != null ? request.getDayStartTime() : LocalTime.parse(dayStart);
+        LocalTime dayStopTime = request.getDayStopTime() != null ? request.getDayStopTime() : LocalTime.parse(dayStop);
+        dateTimeValidator.checkTimeWithException(dayStartTime, dayStopTime);
+
+        //validate if they are students, with a count instead of loading them
+        Set<Long> studentIds = new HashSet<>(Arrays.asList(request.getStudentIds()));
+        if (userRepository.countByIdsAndRoleType(studentIds, RoleType.STUDENT) != studentIds.size()) {
+            throw new ResourceNotFoundException(String.format(ErrorMessages.MEET_SLOT_STUDENTS_NOT_FOUND, studentIds));
+        }
+        Set<Long> userIds = new HashSet<>(studentIds);
+        userIds.add(currentUser.getId());
+
+        List<Object[]> meets = meetingRepository.findSlotsOfUsers(currentUser.getId(), studentIds, startDate, endDate);
+        List<MeetOccurrenceResponse> occurrences = meetSeriesService.getOccurrencesOfUsers(currentUser.getId(), studentIds,
+                startDate, endDate);
+        Map<DayOfWeek, List<WeeklySlot>> weeklySlots = getWeeklySlots(userIds, startDate, endDate);
+
+        List<MeetingSlotResponse> slots = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        int meetIndex = 0;
+        int occurrenceIndex = 0;
+        for (LocalDate date = startDate; !date.isAfter(endDate) && slots.size() < request.getCount(); date = date.plusDays(1)) {
+            //all lists are sorted by start time
+            List<int[]> meetsOfDay = new ArrayList<>();
+            for (; meetIndex < meets.size() && meets.get(meetIndex)[0].equals(date); meetIndex++) {
+                meetsOfDay.add(new int[]{minuteOf((LocalTime) meets.get(meetIndex)[1]), minuteOf((LocalTime) meets.get(meetIndex)[2])});
+            }
+            List<int[]> occurrencesOfDay = new ArrayList<>();
+            for (; occurrenceIndex < occurrences.size() && occurrences.get(occurrenceIndex).getDate().equals(date); occurrenceIndex++) {
+                occurrencesOfDay.add(new int[]{minuteOf(occurrences.get(occurrenceIndex).getStartTime()),
+                        minuteOf(occurrences.get(occurrenceIndex).getStopTime())});
+            }
+            List<int[]> programsOfDay = new ArrayList<>();
+            for (WeeklySlot slot : weeklySlots.get(date.getDayOfWeek())) {
+                if (!date.isBefore(slot.termStartDate) && !date.isAfter(slot.termEndDate)) {
+                    programsOfDay.add(slot.minutes);
+                }
+            }
+
+            int from = minuteOf(dayStartTime);
+            if (date.equals(today)) {
+                //nothing in the past, from the next full minute on
+                from = Math.max(from, minuteOf(LocalTime.now()) + 1);
+            }
+            int to = minuteOf(dayStopTime);
+            for (int[] busy : merge(merge(meetsOfDay, occurrencesOfDay), programsOfDay)) {
+                if (busy[1] <= from) {
+                    continue;
+                }
+                addSlots(slots, date, from, Math.min(busy[0], to), request);
+                from = Math.max(from, busy[1]);
+                if (from >= to) {
+                    break;
+                }
+            }
+            addSlots(slots, date, from, to, request);
+        }
+        return slots;
+    }
+
+    private Map<DayOfWeek, List<WeeklySlot>> getWeeklySlots(Set<Long> userIds, LocalDate startDate, LocalDate endDate) {
+        Map<DayOfWeek, List<WeeklySlot>> weeklySlots = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            weeklySlots.put(dayOfWeek, new ArrayList<>());
+        }
+        for (Object[] row : lessonProgramRepository.findWeeklySlotsOfUsers(userIds, startDate, endDate)) {
+            weeklySlots.get(DayOfWeek.valueOf(((Day) row[0]).name())).add(new WeeklySlot(
+                    new int[]{minuteOf((LocalTime) row[1]), minuteOf((LocalTime) row[2])},
+                    (LocalDate) row[3], (LocalDate) row[4]));
+        }
+        for (List<WeeklySlot> slots : weeklySlots.values()) {
+            slots.sort(Comparator.comparingInt(slot -> slot.minutes[0]));
+        }
+        return weeklySlots;
+    }
+
+    /**
+     * merges two lists of intervals sorted by start, overlapping and touching intervals become one
+     */
+    private static List<int[]> merge(List<int[]> first, List<int[]> second) {
+        List<int[]> merged = new ArrayList<>(first.size() + second.size());
+        int i = 0;
+        int j = 0;
+        while (i < first.size() || j < second.size()) {
+            int[] next = j == second.size() || i < first.size() && first.get(i)[0] <= second.get(j)[0]
+                    ? first.get(i++) : second.get(j++);
+            int[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && next[0] <= last[1]) {
+                last[1] = Math.max(last[1], next[1]);
+            } else {
+                //a copy, the weekly slots are used again for the next week
+                merged.add(new int[]{next[0], next[1]});
+            }
+        }
+        return merged;
+    }
+
+    //back to back slots of the requested length in a free interval
+    private static void addSlots(List<MeetingSlotResponse> slots, LocalDate date, int from, int to, MeetingSlotRequest request) {
+        for (int start = from; start + request.getMinutes() <= to && slots.size() < request.getCount(); start += request.getMinutes()) {
+            slots.add(MeetingSlotResponse.builder()
+                    .date(date)
+                    .startTime(LocalTime.of(start / 60, start % 60))
+                    .stopTime(LocalTime.of((start + request.getMinutes()) / 60, (start + request.getMinutes()) % 60))
+                    .build());
+        }
+    }
+
+    private static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static class WeeklySlot {
+
+        //start and stop minute of the day
+        private final int[] minutes;
+        private final LocalDate termStartDate;
+        private final LocalDate termEndDate;
+
+        private WeeklySlot(int[] minutes, LocalDate termStartDate, LocalDate termEndDate) {
+            this.minutes = minutes;
+            this.termStartDate = termStartDate;
+            this.termEndDate = termEndDate;
+        }
+    }
+}
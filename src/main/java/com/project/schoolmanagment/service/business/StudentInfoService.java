@@ -16,20 +16,23 @@ import com.project.schoolmanagment.payload.request.business.UpdateStudentInfoReq
 import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
 import com.project.schoolmanagment.payload.response.business.StudentInfoResponse;
 import com.project.schoolmanagment.repository.business.StudentInfoRepository;
+import com.project.schoolmanagment.security.service.CurrentUser;
+import com.project.schoolmanagment.service.helper.GradeCalculator;
 import com.project.schoolmanagment.service.helper.MethodHelper;
 import com.project.schoolmanagment.service.helper.PageableHelper;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class StudentInfoService {
 
@@ -39,21 +42,23 @@ public class StudentInfoService {
     private final EducationTermService educationTermService;
     private final StudentInfoMapper studentInfoMapper;
     private final PageableHelper pageableHelper;
-
-    @Value("${midterm.exam.impact.percentage}")
-    private Double midtermExamPercentage;
-    @Value("${final.exam.impact.percentage}")
-    private Double finalExamPercentage;
-
+    private final TranscriptService transcriptService;
+    private final GradeStatisticsService gradeStatisticsService;
+    private final ClassRankingService classRankingService;
+    private final ExamWeightService examWeightService;
+    private final GradeCalculator gradeCalculator;
+    private final GradingSchemeService gradingSchemeService;
+    private final CurrentUser currentUser;
+
+    @Transactional
     public ResponseMessage<StudentInfoResponse> saveStudentInfo(HttpServletRequest request, StudentInfoRequest studentInfoRequest) {
 
-        String teacherUsername = (String) request.getAttribute("username");
         // get student
         User student = methodHelper.isUserExist(studentInfoRequest.getStudentId());
         // validate user is a student
         methodHelper.checkRole(student, RoleType.STUDENT);
-        // get teacher
-        User teacher = methodHelper.isUserExistByUsername(teacherUsername);
+        // get teacher, already loaded by the token filter
+        User teacher = methodHelper.getUserReference(currentUser.getId());
         // get lesson
         Lesson lesson = lessonService.isLessonExistsById(studentInfoRequest.getLessonId());
         //get educationTerm
@@ -62,9 +67,11 @@ public class StudentInfoService {
         isDuplicatedLessonAndInfo(studentInfoRequest.getStudentId(), lesson.getLessonName());
         //calculate the average note and get the suitable note
         Double averageNote = calculateAverageNote(  studentInfoRequest.getMidtermExam(),
-                studentInfoRequest.getFinalExam());
+                studentInfoRequest.getFinalExam(),
+                lesson.getLessonId(),
+                educationTerm.getId());
 
-        Note note = checkLetterGrade(averageNote);
+        Note note = gradingSchemeService.checkLetterGrade(lesson.getLessonId(), educationTerm.getId(), averageNote);
 
         // map DTO -> domainObject
         StudentInfo studentInfo = studentInfoMapper.mapStudentInfoRequestToStudentInfo(
@@ -78,6 +85,11 @@ public class StudentInfoService {
         studentInfo.setTeacher(teacher);
         studentInfo.setLesson(lesson);
         StudentInfo savedStudentInfo = studentInfoRepository.save(studentInfo);
+        transcriptService.addGrade(savedStudentInfo);
+        gradeStatisticsService.addGrade(savedStudentInfo);
+        classRankingService.addGrade(savedStudentInfo);
+        //a new average moves the curve of the whole class
+        gradingSchemeService.gradeClassIfCurved(lesson.getLessonId(), educationTerm.getId());
         return ResponseMessage.<StudentInfoResponse>builder()
                 .message(SuccessMessages.STUDENT_INFO_SAVE)
                 .object(studentInfoMapper.mapStudentInfoToStudentInfoResponse(savedStudentInfo))
@@ -95,33 +107,20 @@ public class StudentInfoService {
         }
     }
 
-    private Double calculateAverageNote(Double midtermExam, Double finalExam){
-        return (midtermExam*midtermExamPercentage) + (finalExam*finalExamPercentage);
-    }
-
-    private Note checkLetterGrade(Double average){
-
-        if(average<50.0) {
-            return Note.FF;
-        } else if (average<60) {
-            return Note.DD;
-        } else if (average<65) {
-            return Note.CC;
-        } else if (average<70) {
-            return  Note.CB;
-        } else if (average<75) {
-            return  Note.BB;
-        } else if (average<80) {
-            return Note.BA;
-        } else {
-            return Note.AA;
-        }
+    private Double calculateAverageNote(Double midtermExam, Double finalExam, Long lessonId, Long educationTermId){
+        double[] weights = examWeightService.getWeights(lessonId, educationTermId);
+        return gradeCalculator.calculateAverageNote(midtermExam, finalExam, weights[0], weights[1]);
     }
 
+    @Transactional
     public ResponseMessage deleteById(Long studentInfoId) {
         //validate if studentInfo Exists
         StudentInfo studentInfo = isStudentInfoExist(studentInfoId);
+        transcriptService.removeGrade(studentInfo);
+        gradeStatisticsService.removeGrade(studentInfo);
+        classRankingService.removeGrade(studentInfo);
         studentInfoRepository.deleteById(studentInfoId);
+        gradingSchemeService.gradeClassIfCurved(studentInfo.getLesson().getLessonId(), studentInfo.getEducationTerm().getId());
         return ResponseMessage.builder()
                 .message(SuccessMessages.STUDENT_INFO_DELETE)
                 .httpStatus(HttpStatus.OK)
@@ -147,6 +146,7 @@ public class StudentInfoService {
                 .map(studentInfoMapper::mapStudentInfoToStudentInfoResponse);
     }
 
+    @Transactional
     public ResponseMessage<StudentInfoResponse> update(UpdateStudentInfoRequest studentInfoRequest, Long studentInfoId) {
         //validate if student info exists
         StudentInfo studentInfo = isStudentInfoExist(studentInfoId);
@@ -155,25 +155,36 @@ public class StudentInfoService {
         //get education term from update request DTO
         EducationTerm educationTerm = educationTermService.isEducationTermExist(studentInfoRequest.getEducationTermId());
 
-        Double averageNote = calculateAverageNote(studentInfoRequest.getMidtermExam(), studentInfoRequest.getFinalExam());
-
-        Note note = checkLetterGrade(averageNote);
-
-        StudentInfo mappedStudentInfo = studentInfoMapper.mapStudentInfoUpdateRequestToStudentInfo(studentInfoRequest,
-                                                                                                    studentInfoId,
-                                                                                                    lesson,
-                                                                                                    educationTerm,
-                                                                                                    note,
-                                                                                                    averageNote);
-
-        mappedStudentInfo.setStudent(studentInfo.getStudent());
-        mappedStudentInfo.setTeacher(studentInfo.getTeacher());
-        StudentInfo savedStudentInfo = studentInfoRepository.save(mappedStudentInfo);
+        Double averageNote = calculateAverageNote(studentInfoRequest.getMidtermExam(), studentInfoRequest.getFinalExam(),
+                lesson.getLessonId(), educationTerm.getId());
+
+        Note note = gradingSchemeService.checkLetterGrade(lesson.getLessonId(), educationTerm.getId(), averageNote);
+
+        //old grade has to be taken back before the fields change
+        Long oldLessonId = studentInfo.getLesson().getLessonId();
+        Long oldEducationTermId = studentInfo.getEducationTerm().getId();
+        transcriptService.removeGrade(studentInfo);
+        gradeStatisticsService.removeGrade(studentInfo);
+        classRankingService.removeGrade(studentInfo);
+        //changed on the managed entity, flushed as one UPDATE of the changed columns, student and teacher stay
+        studentInfoMapper.mapStudentInfoUpdateRequestToStudentInfo(studentInfoRequest,
+                                                                   studentInfo,
+                                                                   lesson,
+                                                                   educationTerm,
+                                                                   note,
+                                                                   averageNote);
+        transcriptService.addGrade(studentInfo);
+        gradeStatisticsService.addGrade(studentInfo);
+        classRankingService.addGrade(studentInfo);
+        gradingSchemeService.gradeClassIfCurved(lesson.getLessonId(), educationTerm.getId());
+        if(!oldLessonId.equals(lesson.getLessonId()) || !oldEducationTermId.equals(educationTerm.getId())){
+            gradingSchemeService.gradeClassIfCurved(oldLessonId, oldEducationTermId);
+        }
 
         return ResponseMessage.<StudentInfoResponse>builder()
                 .message(SuccessMessages.STUDENT_INFO_UPDATE)
                 .httpStatus(HttpStatus.OK)
-                .object(studentInfoMapper.mapStudentInfoToStudentInfoResponse(savedStudentInfo))
+                .object(studentInfoMapper.mapStudentInfoToStudentInfoResponse(studentInfo))
                 .build();
 
 
@@ -0,0 +1,153 @@
+package com.project.schoolmanagment.service.business;
+
+import com.project.schoolmanagment.exception.BadRequestException;
+import com.project.schoolmanagment.exception.ConflictException;
+import com.project.schoolmanagment.payload.messages.ErrorMessages;
+import com.project.schoolmanagment.payload.messages.SuccessMessages;
+import com.project.schoolmanagment.payload.request.business.TermRolloverRequest;
+import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.business.TeacherScheduleConflictResponse;
+import com.project.schoolmanagment.payload.response.business.TermRolloverResponse;
+import com.project.schoolmanagment.repository.business.ScheduleVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copies the timetable of an education term into another one: the lesson programs, their lessons and
+ * optionally their teachers, with one INSERT ... SELECT per table instead of a save call per program.
+ * A source program the target term already has (same day, hours and lessons) is skipped, so a rollover
+ * that is run twice copies nothing the second time.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class TermRolloverService {
+
+    //the lessons of a program as one comparable value, e.g. "3,7"
+    //duplicate: the target term has a program with the same day, hours and lessons
+    private static final String SOURCE_PROGRAMS = "WITH lesson_sets AS (" +
+            "SELECT pl.lessonprogram_id, string_agg(CAST(pl.lesson_id AS text), ',' ORDER BY pl.lesson_id) AS lesson_ids " +
+            "FROM lesson_program_lesson pl JOIN lesson_program p ON p.id = pl.lessonprogram_id " +
+            "WHERE p.education_term_id IN (:source, :target) GROUP BY pl.lessonprogram_id), " +
+            "source AS (" +
+            "SELECT p.id, p.day, p.start_time, p.stop_time, p.capacity, EXISTS (" +
+            "SELECT 1 FROM lesson_program t LEFT JOIN lesson_sets tl ON tl.lessonprogram_id = t.id " +
+            "WHERE t.education_term_id = :target AND t.day = p.day AND t.start_time = p.start_time " +
+            "AND t.stop_time = p.stop_time AND tl.lesson_ids IS NOT DISTINCT FROM sl.lesson_ids) AS duplicate " +
+            "FROM lesson_program p LEFT JOIN lesson_sets sl ON sl.lessonprogram_id = p.id " +
+            "WHERE p.education_term_id = :source) ";
+
+    private static final String TEACHER_LINKS = "JOIN user_lesson_program ulp ON ulp.lesson_program_id = s.id " +
+            "JOIN t_user u ON u.id = ulp.user_id " +
+            "JOIN roles r ON r.id = u.user_role_id AND r.role_type = 'TEACHER' ";
+
+    private static final String SKIPPED = SOURCE_PROGRAMS +
+            "SELECT id FROM source WHERE duplicate ORDER BY id";
+
+    private static final String COUNTS = SOURCE_PROGRAMS +
+            "SELECT (SELECT count(*) FROM source s WHERE NOT s.duplicate) AS lesson_programs, " +
+            "(SELECT count(*) FROM source s JOIN lesson_program_lesson pl ON pl.lessonprogram_id = s.id " +
+            "WHERE NOT s.duplicate) AS lesson_links, " +
+            "(SELECT count(*) FROM source s " + TEACHER_LINKS + "WHERE NOT s.duplicate AND :copyTeachers) AS teacher_assignments";
+
+    //a copied program overlapping another program its teacher already has in the target term
+    private static final String TEACHER_CONFLICTS = SOURCE_PROGRAMS +
+            "SELECT ulp.user_id AS teacher_id, s.id AS source_id, t.id AS target_id FROM source s " + TEACHER_LINKS +
+            "JOIN user_lesson_program tu ON tu.user_id = ulp.user_id " +
+            "JOIN lesson_program t ON t.id = tu.lesson_program_id AND t.education_term_id = :target " +
+            "WHERE NOT s.duplicate AND t.day = s.day AND t.start_time < s.stop_time AND s.start_time < t.stop_time " +
+            "ORDER BY ulp.user_id, s.id, t.id";
+
+    //the new ids come from lesson_program_seq in the blocks hibernate's pooled optimizer uses, nextval returns
+    //the last id of a block, so one nextval per allocation size programs and no id hibernate can hand out twice.
+    //the three inserts run in one statement, the foreign keys are checked at its end
+    private static final String COPY = SOURCE_PROGRAMS + ", " +
+            "copied AS (SELECT s.*, row_number() OVER (ORDER BY s.id) - 1 AS rn FROM source s WHERE NOT s.duplicate), " +
+            "step AS (SELECT increment_by AS size FROM pg_sequences " +
+            "WHERE schemaname = current_schema() AND sequencename = 'lesson_program_seq'), " +
+            "blocks AS (SELECT b, nextval('lesson_program_seq') AS hi FROM step, " +
+            "generate_series(0, ((SELECT count(*) FROM copied) + step.size - 1) / step.size - 1) b), " +
+            "ids AS (SELECT c.id AS old_id, bl.hi - st.size + 1 + c.rn % st.size AS new_id, " +
+            "c.day, c.start_time, c.stop_time, c.capacity FROM copied c CROSS JOIN step st JOIN blocks bl ON bl.b = c.rn / st.size), " +
+            "programs AS (INSERT INTO lesson_program (id, day, start_time, stop_time, capacity, education_term_id) " +
+            "SELECT new_id, day, start_time, stop_time, capacity, :target FROM ids RETURNING id), " +
+            "lesson_links AS (INSERT INTO lesson_program_lesson (lessonprogram_id, lesson_id) " +
+            "SELECT i.new_id, pl.lesson_id FROM ids i JOIN lesson_program_lesson pl ON pl.lessonprogram_id = i.old_id " +
+            "RETURNING lesson_id), " +
+            "teacher_links AS (INSERT INTO user_lesson_program (user_id, lesson_program_id) " +
+            "SELECT ulp.user_id, s.new_id FROM (SELECT old_id AS id, new_id FROM ids) s " + TEACHER_LINKS +
+            "WHERE :copyTeachers RETURNING user_id) " +
+            "SELECT (SELECT count(*) FROM programs) AS lesson_programs, (SELECT count(*) FROM lesson_links) AS lesson_links, " +
+            "(SELECT count(*) FROM teacher_links) AS teacher_assignments";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EducationTermService educationTermService;
+    private final LessonProgramFitService lessonProgramFitService;
+    private final ScheduleVersionRepository scheduleVersionRepository;
+
+    //the dry run runs on the primary as well, a replica may not have the target term yet
+    @Transactional
+    public ResponseMessage<TermRolloverResponse> rollover(TermRolloverRequest request) {
+        Long sourceId = request.getSourceEducationTermId();
+        Long targetId = request.getTargetEducationTermId();
+        if (sourceId.equals(targetId)) {
+            throw new BadRequestException(ErrorMessages.TERM_ROLLOVER_SAME_TERM);
+        }
+        //validate if the education terms exist
+        educationTermService.isEducationTermExist(sourceId);
+        educationTermService.isEducationTermExist(targetId);
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("source", sourceId)
+                .addValue("target", targetId)
+                .addValue("copyTeachers", request.isCopyTeachers());
+        if (!request.isDryRun()) {
+            //a second rollover into the same term waits until this one committed, then skips what it copied
+            jdbcTemplate.queryForList("SELECT id FROM education_term WHERE id = :target FOR UPDATE", parameters, Long.class);
+        }
+
+        List<Long> skipped = jdbcTemplate.queryForList(SKIPPED, parameters, Long.class);
+        List<TeacherScheduleConflictResponse> conflicts = request.isCopyTeachers()
+                ? jdbcTemplate.query(TEACHER_CONFLICTS, parameters, (resultSet, rowNum) -> TeacherScheduleConflictResponse.builder()
+                        .teacherId(resultSet.getLong("teacher_id"))
+                        .sourceLessonProgramId(resultSet.getLong("source_id"))
+                        .targetLessonProgramId(resultSet.getLong("target_id"))
+                        .build())
+                : Collections.emptyList();
+        if (!request.isDryRun() && !conflicts.isEmpty()) {
+            throw new ConflictException(String.format(ErrorMessages.TERM_ROLLOVER_TEACHER_CONFLICT, conflicts.size()));
+        }
+
+        Map<String, Object> counts = jdbcTemplate.queryForMap(request.isDryRun() ? COUNTS : COPY, parameters);
+        if (!request.isDryRun()) {
+            lessonProgramFitService.evictAll();
+            if (request.isCopyTeachers()) {
+                scheduleVersionRepository.bumpUsersOfEducationTerm(targetId);
+            }
+        }
+        TermRolloverResponse response = TermRolloverResponse.builder()
+                .sourceEducationTermId(sourceId)
+                .targetEducationTermId(targetId)
+                .dryRun(request.isDryRun())
+                .lessonPrograms(((Number) counts.get("lesson_programs")).longValue())
+                .lessonLinks(((Number) counts.get("lesson_links")).longValue())
+                .teacherAssignments(((Number) counts.get("teacher_assignments")).longValue())
+                .skippedLessonProgramIds(skipped)
+                .teacherConflicts(conflicts)
+                .build();
+        return ResponseMessage.<TermRolloverResponse>builder()
+                .message(String.format(request.isDryRun() ? SuccessMessages.EDUCATION_TERM_ROLLOVER_DRY_RUN
+                        : SuccessMessages.EDUCATION_TERM_ROLLOVER, response.getLessonPrograms(), targetId))
+                .object(response)
+                .httpStatus(request.isDryRun() ? HttpStatus.OK : HttpStatus.CREATED)
+                .build();
+    }
+}
@@ -0,0 +1,264 @@
+package com.project.schoolmanagment.service.business;
+
+import com.project.schoolmanagment.entity.concretes.business.StudentInfo;
+import com.project.schoolmanagment.entity.concretes.business.TermTranscript;
+import com.project.schoolmanagment.entity.concretes.business.Transcript;
+import com.project.schoolmanagment.entity.concretes.user.User;
+import com.project.schoolmanagment.entity.enums.Note;
+import com.project.schoolmanagment.entity.enums.RoleType;
+import com.project.schoolmanagment.exception.ResourceNotFoundException;
+import com.project.schoolmanagment.payload.mappers.TranscriptMapper;
+import com.project.schoolmanagment.payload.messages.ErrorMessages;
+import com.project.schoolmanagment.payload.messages.SuccessMessages;
+import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.business.TermTranscriptResponse;
+import com.project.schoolmanagment.payload.response.business.TranscriptResponse;
+import com.project.schoolmanagment.repository.business.EducationTermRepository;
+import com.project.schoolmanagment.repository.business.StudentInfoRepository;
+import com.project.schoolmanagment.repository.business.TermTranscriptRepository;
+import com.project.schoolmanagment.repository.business.TranscriptRepository;
+import com.project.schoolmanagment.repository.user.UserRepository;
+import com.project.schoolmanagment.security.service.CurrentUser;
+import com.project.schoolmanagment.service.helper.MethodHelper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class TranscriptService {
+
+    //grade point of a letter grade in SQL, from the Note enum
+    private static final String GRADE_POINT = Arrays.stream(Note.values())
+            .map(note -> "WHEN '" + note.name() + "' THEN " + note.getGradePoint())
+            .collect(Collectors.joining(" ", "CASE si.letter_grade ", " ELSE 0 END"));
+
+    //students with a student info in a chunk of the job
+    private static final String JOB_STUDENTS = "SELECT si.student_id FROM student_info si " +
+            "JOIN grade_recomputation_chunk c ON si.lesson_id = c.lesson_id AND si.education_term_id = c.education_term_id " +
+            "AND si.id BETWEEN c.low_id AND c.high_id WHERE c.job_id = :jobId";
+
+    //grade writes increment these rows, they wait until the totals are recomputed
+    private static final String LOCK_JOB_TRANSCRIPTS = "SELECT t.id FROM transcript t WHERE t.student_id IN (" +
+            JOB_STUDENTS + ") ORDER BY t.student_id FOR UPDATE";
+    private static final String LOCK_JOB_TERM_TRANSCRIPTS = "SELECT t.id FROM term_transcript t WHERE t.student_id IN (" +
+            JOB_STUDENTS + ") ORDER BY t.student_id, t.education_term_id FOR UPDATE";
+
+    private static final String RECOMPUTE_JOB_TRANSCRIPTS = "UPDATE transcript t SET total_credit = x.total_credit, " +
+            "total_grade_point = x.total_grade_point, lesson_count = x.lesson_count " +
+            "FROM (SELECT si.student_id, sum(coalesce(l.credit_score, 0)) AS total_credit, " +
+            "sum(coalesce(l.credit_score, 0) * " + GRADE_POINT + ") AS total_grade_point, count(*) AS lesson_count " +
+            "FROM student_info si JOIN lesson l ON l.lesson_id = si.lesson_id " +
+            "WHERE si.student_id IN (" + JOB_STUDENTS + ") GROUP BY si.student_id) x " +
+            "WHERE t.student_id = x.student_id";
+    private static final String RECOMPUTE_JOB_TERM_TRANSCRIPTS = "UPDATE term_transcript t SET total_credit = x.total_credit, " +
+            "total_grade_point = x.total_grade_point, lesson_count = x.lesson_count " +
+            "FROM (SELECT si.student_id, si.education_term_id, sum(coalesce(l.credit_score, 0)) AS total_credit, " +
+            "sum(coalesce(l.credit_score, 0) * " + GRADE_POINT + ") AS total_grade_point, count(*) AS lesson_count " +
+            "FROM student_info si JOIN lesson l ON l.lesson_id = si.lesson_id " +
+            "WHERE si.student_id IN (" + JOB_STUDENTS + ") GROUP BY si.student_id, si.education_term_id) x " +
+            "WHERE t.student_id = x.student_id AND t.education_term_id = x.education_term_id";
+
+    //a changed credit score of a lesson as a delta on the totals of its students, one row per student (and term)
+    private static final String ADD_LESSON_CREDIT = "UPDATE transcript t SET total_credit = t.total_credit + x.total_credit, " +
+            "total_grade_point = t.total_grade_point + x.total_grade_point " +
+            "FROM (SELECT si.student_id, count(*) * :creditDelta AS total_credit, " +
+            "sum(:creditDelta * " + GRADE_POINT + ") AS total_grade_point FROM student_info si " +
+            "WHERE si.lesson_id = :lessonId GROUP BY si.student_id) x WHERE t.student_id = x.student_id";
+    private static final String ADD_LESSON_TERM_CREDIT = "UPDATE term_transcript t SET total_credit = t.total_credit + x.total_credit, " +
+            "total_grade_point = t.total_grade_point + x.total_grade_point " +
+            "FROM (SELECT si.student_id, si.education_term_id, count(*) * :creditDelta AS total_credit, " +
+            "sum(:creditDelta * " + GRADE_POINT + ") AS total_grade_point FROM student_info si " +
+            "WHERE si.lesson_id = :lessonId GROUP BY si.student_id, si.education_term_id) x " +
+            "WHERE t.student_id = x.student_id AND t.education_term_id = x.education_term_id";
+
+    private final TranscriptRepository transcriptRepository;
+    private final TermTranscriptRepository termTranscriptRepository;
+    private final StudentInfoRepository studentInfoRepository;
+    private final EducationTermRepository educationTermRepository;
+    private final UserRepository userRepository;
+    private final TranscriptMapper transcriptMapper;
+    private final MethodHelper methodHelper;
+    private final CurrentUser currentUser;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * adds the weighted grade of a saved student info to the cumulative and the term totals
+     * @param studentInfo saved student info
+     */
+    @Transactional
+    public void addGrade(StudentInfo studentInfo){
+        createTranscriptsIfAbsent(studentInfo);
+        applyGrade(studentInfo, 1);
+    }
+
+    /**
+     * takes the weighted grade of a student info back, must be called with the values before update/delete
+     * @param studentInfo student info as it is stored in DB
+     */
+    @Transactional
+    public void removeGrade(StudentInfo studentInfo){
+        applyGrade(studentInfo, -1);
+    }
+
+    private void applyGrade(StudentInfo studentInfo, int sign){
+        int credit = getCredit(studentInfo);
+        double gradePoint = credit * getGradePoint(studentInfo.getLetterGrade());
+        Long studentId = studentInfo.getStudent().getId();
+
+        transcriptRepository.incrementTotals(studentId, sign * credit, sign * gradePoint, sign);
+        termTranscriptRepository.incrementTotals(studentId,
+                studentInfo.getEducationTerm().getId(),
+                sign * credit,
+                sign * gradePoint,
+                sign);
+    }
+
+    /**
+     * credit score of a lesson is part of every stored total, so a changed credit is applied as a delta
+     * @param lessonId updated lesson
+     * @param oldCredit credit score before the update
+     */
+    @Transactional
+    public void updateCreditScore(Long lessonId, Integer oldCredit, Integer newCredit){
+        int creditDelta = (newCredit == null ? 0 : newCredit) - (oldCredit == null ? 0 : oldCredit);
+        if(creditDelta == 0){
+            return;
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource("lessonId", lessonId)
+                .addValue("creditDelta", creditDelta);
+        jdbcTemplate.update(ADD_LESSON_CREDIT, parameters);
+        jdbcTemplate.update(ADD_LESSON_TERM_CREDIT, parameters);
+    }
+
+    /**
+     * Sets the totals of the students of a grade recomputation job from their student infos. Their transcript
+     * rows are locked first, so the totals are read after every grade write that got there earlier and a later
+     * grade write increments the recomputed totals.
+     */
+    @Transactional
+    public void recomputeTranscriptsOfJob(Long jobId){
+        MapSqlParameterSource parameters = new MapSqlParameterSource("jobId", jobId);
+        jdbcTemplate.queryForList(LOCK_JOB_TRANSCRIPTS, parameters);
+        jdbcTemplate.queryForList(LOCK_JOB_TERM_TRANSCRIPTS, parameters);
+        jdbcTemplate.update(RECOMPUTE_JOB_TRANSCRIPTS, parameters);
+        jdbcTemplate.update(RECOMPUTE_JOB_TERM_TRANSCRIPTS, parameters);
+    }
+
+    //insert or skip in one statement, two first grades of a student at the same time do not both insert
+    private void createTranscriptsIfAbsent(StudentInfo studentInfo){
+        Long studentId = studentInfo.getStudent().getId();
+        transcriptRepository.insertIfAbsent(studentId);
+        termTranscriptRepository.insertIfAbsent(studentId, studentInfo.getEducationTerm().getId());
+    }
+
+    private int getCredit(StudentInfo studentInfo){
+        Integer creditScore = studentInfo.getLesson().getCreditScore();
+        return creditScore == null ? 0 : creditScore;
+    }
+
+    private double getGradePoint(Note note){
+        return note == null ? 0.0 : note.getGradePoint();
+    }
+
+    public ResponseMessage<TranscriptResponse> getGpaByStudentId(Long studentId) {
+        //one lookup on the unique student column, terms are not loaded
+        return ResponseMessage.<TranscriptResponse>builder()
+                .message(SuccessMessages.TRANSCRIPT_FOUND)
+                .object(transcriptMapper.mapTranscriptToTranscriptResponse(isTranscriptExist(studentId), null))
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    public ResponseMessage<TranscriptResponse> getTranscriptByStudentId(Long studentId) {
+        User student = methodHelper.isUserExist(studentId);
+        methodHelper.checkRole(student, RoleType.STUDENT);
+        return ResponseMessage.<TranscriptResponse>builder()
+                .message(SuccessMessages.TRANSCRIPT_FOUND)
+                .object(getTranscript(studentId))
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    public ResponseMessage<TranscriptResponse> getTranscriptForStudent(HttpServletRequest request) {
+        return ResponseMessage.<TranscriptResponse>builder()
+                .message(SuccessMessages.TRANSCRIPT_FOUND)
+                .object(getTranscript(currentUser.getId()))
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    private TranscriptResponse getTranscript(Long studentId){
+        Transcript transcript = isTranscriptExist(studentId);
+        List<TermTranscriptResponse> terms = termTranscriptRepository
+                .findByStudent_IdOrderByEducationTerm_StartDateAsc(studentId)
+                .stream()
+                .map(transcriptMapper::mapTermTranscriptToTermTranscriptResponse)
+                .collect(Collectors.toList());
+        return transcriptMapper.mapTranscriptToTranscriptResponse(transcript, terms);
+    }
+
+    private Transcript isTranscriptExist(Long studentId){
+        return transcriptRepository.findByStudent_Id(studentId).orElseThrow(()->
+                new ResourceNotFoundException(String.format(ErrorMessages.TRANSCRIPT_NOT_FOUND_MESSAGE, studentId)));
+    }
+
+    /**
+     * one time full recomputation, needed only for student infos saved before transcripts existed
+     */
+    @Transactional
+    public ResponseMessage rebuildTranscripts() {
+        Map<Long, Transcript> transcripts = new HashMap<>();
+        Map<String, TermTranscript> termTranscripts = new HashMap<>();
+
+        for (Object[] row : studentInfoRepository.findAllGradeRows()){
+            Long studentId = (Long) row[0];
+            Long educationTermId = (Long) row[1];
+            int credit = row[2] == null ? 0 : (Integer) row[2];
+            double gradePoint = credit * getGradePoint((Note) row[3]);
+
+            Transcript transcript = transcripts.computeIfAbsent(studentId, id -> Transcript.builder()
+                    .student(userRepository.getReferenceById(id))
+                    .totalCredit(0)
+                    .totalGradePoint(0.0)
+                    .lessonCount(0)
+                    .build());
+            transcript.setTotalCredit(transcript.getTotalCredit() + credit);
+            transcript.setTotalGradePoint(transcript.getTotalGradePoint() + gradePoint);
+            transcript.setLessonCount(transcript.getLessonCount() + 1);
+
+            TermTranscript termTranscript = termTranscripts.computeIfAbsent(studentId + ":" + educationTermId,
+                    key -> TermTranscript.builder()
+                            .student(transcript.getStudent())
+                            .educationTerm(educationTermRepository.getReferenceById(educationTermId))
+                            .totalCredit(0)
+                            .totalGradePoint(0.0)
+                            .lessonCount(0)
+                            .build());
+            termTranscript.setTotalCredit(termTranscript.getTotalCredit() + credit);
+            termTranscript.setTotalGradePoint(termTranscript.getTotalGradePoint() + gradePoint);
+            termTranscript.setLessonCount(termTranscript.getLessonCount() + 1);
+        }
+
+        termTranscriptRepository.deleteAllInBatch();
+        transcriptRepository.deleteAllInBatch();
+        transcriptRepository.saveAll(transcripts.values());
+        termTranscriptRepository.saveAll(termTranscripts.values());
+
+        return ResponseMessage.builder()
+                .message(SuccessMessages.TRANSCRIPT_REBUILD)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+}
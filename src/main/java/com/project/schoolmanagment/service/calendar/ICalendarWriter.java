@@ -0,0 +1,100 @@
+package com.project.schoolmanagment.service.calendar;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes an iCalendar (RFC 5545) stream event by event, nothing is kept in memory. Times are written as
+ * floating local times, the times of the school as they are stored.
+ */
+public class ICalendarWriter {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final String CRLF = "\r\n";
+    //content lines are folded after 75 octets, continuation lines start with a space
+    private static final int LINE_LENGTH = 75;
+
+    private final Writer writer;
+    //DTSTAMP of every event, UTC
+    private final String stamp;
+
+    public ICalendarWriter(Writer writer, LocalDateTime stampUtc) {
+        this.writer = writer;
+        this.stamp = DATE_TIME.format(stampUtc) + "Z";
+    }
+
+    public void begin(String name) throws IOException {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//schoolmanagment//schedule//EN");
+        line("CALSCALE:GREGORIAN");
+        line("X-WR-CALNAME:" + escape(name));
+    }
+
+    public void end() throws IOException {
+        line("END:VCALENDAR");
+        writer.flush();
+    }
+
+    /**
+     * @param recurrenceRule RRULE value, null for a single event
+     * @param exceptionDates EXDATE values, null for none
+     * @param recurrenceId start of the occurrence of a recurring event this event replaces, null otherwise
+     */
+    public void event(String uid, LocalDate date, LocalTime startTime, LocalTime stopTime, String summary,
+                      String recurrenceRule, String exceptionDates, LocalDateTime recurrenceId) throws IOException {
+        line("BEGIN:VEVENT");
+        line("UID:" + uid);
+        line("DTSTAMP:" + stamp);
+        if (recurrenceId != null) {
+            line("RECURRENCE-ID:" + DATE_TIME.format(recurrenceId));
+        }
+        line("DTSTART:" + DATE_TIME.format(date.atTime(startTime)));
+        line("DTEND:" + DATE_TIME.format(date.atTime(stopTime)));
+        if (recurrenceRule != null) {
+            line("RRULE:" + recurrenceRule);
+        }
+        if (exceptionDates != null) {
+            line("EXDATE:" + exceptionDates);
+        }
+        line("SUMMARY:" + escape(summary == null ? "" : summary));
+        line("END:VEVENT");
+    }
+
+    public static String format(LocalDateTime dateTime) {
+        return DATE_TIME.format(dateTime);
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n");
+    }
+
+    private void line(String line) throws IOException {
+        //counted in chars, a multi byte char makes a folded line a few octets longer than allowed, clients accept it
+        int start = 0;
+        //the space of a continuation line counts
+        int length = LINE_LENGTH;
+        while (line.length() - start > length) {
+            int end = start + length;
+            //never between the two chars of a surrogate pair
+            if (Character.isLowSurrogate(line.charAt(end))) {
+                end--;
+            }
+            writer.write(line, start, end - start);
+            writer.write(CRLF);
+            writer.write(' ');
+            start = end;
+            length = LINE_LENGTH - 1;
+        }
+        writer.write(line, start, line.length() - start);
+        writer.write(CRLF);
+    }
+}
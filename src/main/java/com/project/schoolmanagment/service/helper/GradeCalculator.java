@@ -0,0 +1,38 @@
+package com.project.schoolmanagment.service.helper;
+
+import com.project.schoolmanagment.entity.enums.Note;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+public class GradeCalculator {
+
+    //used where no grading scheme is defined, same bounds as the grades given so far
+    private static final GradeTable DEFAULT_TABLE = new GradeTable(defaultLowerBounds());
+
+    private static Map<Note, Double> defaultLowerBounds(){
+        Map<Note, Double> lowerBounds = new EnumMap<>(Note.class);
+        lowerBounds.put(Note.AA, 80.0);
+        lowerBounds.put(Note.BA, 75.0);
+        lowerBounds.put(Note.BB, 70.0);
+        lowerBounds.put(Note.CB, 65.0);
+        lowerBounds.put(Note.CC, 60.0);
+        lowerBounds.put(Note.DD, 50.0);
+        return lowerBounds;
+    }
+
+    public Double calculateAverageNote(Double midtermExam, Double finalExam,
+                                       double midtermExamPercentage, double finalExamPercentage){
+        return (midtermExam*midtermExamPercentage) + (finalExam*finalExamPercentage);
+    }
+
+    public Note checkLetterGrade(Double average){
+        return DEFAULT_TABLE.lookup(average);
+    }
+
+    public GradeTable getDefaultTable(){
+        return DEFAULT_TABLE;
+    }
+}
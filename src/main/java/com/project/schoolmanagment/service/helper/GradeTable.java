@@ -0,0 +1,67 @@
+package com.project.schoolmanagment.service.helper;
+
+import com.project.schoolmanagment.entity.enums.Note;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Precomputed score -> letter grade table with 0.01 resolution over [0, 100],
+ * a lookup is one array access whatever the number of boundaries is.
+ * Used for exam averages of absolute schemes and for class percentiles of curve schemes.
+ */
+public class GradeTable {
+
+    private static final int STEPS_PER_POINT = 100;
+    private static final int MAX_SCORE = 100;
+    //averages like 0.29 * 100 are a hair below the exact value
+    private static final double EPSILON = 1e-9;
+
+    private final Note[] table = new Note[MAX_SCORE * STEPS_PER_POINT + 1];
+    private final Map<Note, Double> lowerBounds;
+
+    /**
+     * @param lowerBounds lowest score of each note, a better note must have a higher bound
+     */
+    public GradeTable(Map<Note, Double> lowerBounds) {
+        this.lowerBounds = Collections.unmodifiableMap(new EnumMap<>(lowerBounds));
+        //EnumMap iterates from AA to FF, every note fills the slots from its bound up to the previous bound
+        int upper = table.length;
+        for (Map.Entry<Note, Double> entry : this.lowerBounds.entrySet()) {
+            int lower = toIndex(entry.getValue());
+            for (int i = lower; i < upper; i++) {
+                table[i] = entry.getKey();
+            }
+            upper = Math.min(upper, lower);
+        }
+        for (int i = 0; i < upper; i++) {
+            table[i] = Note.FF;
+        }
+    }
+
+    public Note lookup(double score){
+        return table[toIndex(score)];
+    }
+
+    public Map<Note, Double> getLowerBounds() {
+        return lowerBounds;
+    }
+
+    private static int toIndex(double score){
+        int index = (int) Math.floor(score * STEPS_PER_POINT + EPSILON);
+        return Math.min(MAX_SCORE * STEPS_PER_POINT, Math.max(0, index));
+    }
+
+    /**
+     * same boundaries as a JPQL CASE expression, used by set based updates.
+     * letter grade is stored as STRING so note names are written as string literals
+     * @param scoreExpression JPQL expression of the score
+     */
+    public String caseExpression(String scoreExpression){
+        StringBuilder expression = new StringBuilder("CASE");
+        lowerBounds.forEach((note, lowerBound) -> expression.append(" WHEN ").append(scoreExpression)
+                .append(" >= ").append(lowerBound).append(" THEN '").append(note.name()).append('\''));
+        return expression.append(" ELSE '").append(Note.FF.name()).append("' END").toString();
+    }
+}
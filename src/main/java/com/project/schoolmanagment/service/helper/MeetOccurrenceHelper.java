@@ -0,0 +1,99 @@
+package com.project.schoolmanagment.service.helper;
+
+import com.project.schoolmanagment.entity.concretes.business.MeetSeries;
+import com.project.schoolmanagment.entity.concretes.business.MeetSeriesOverride;
+import com.project.schoolmanagment.payload.response.business.MeetOccurrenceResponse;
+import com.project.schoolmanagment.repository.business.MeetSeriesOverrideRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Occurrences of meet series for the dates asked for, starting directly at the first occurrence in the range.
+ * Cancelled and moved occurrences are read with one query for all the series of a call.
+ */
+@Component
+@RequiredArgsConstructor
+public class MeetOccurrenceHelper {
+
+    private final MeetSeriesOverrideRepository meetSeriesOverrideRepository;
+
+    /**
+     * occurrences of the series between the dates, sorted by date and start time
+     */
+    @Transactional(readOnly = true)
+    public List<MeetOccurrenceResponse> getOccurrences(List<MeetSeries> series, LocalDate startDate, LocalDate endDate) {
+        if (series.isEmpty()) {
+            return Collections.emptyList();
+        }
+        //series id -> occurrence date -> override
+        Map<Long, Map<LocalDate, MeetSeriesOverride>> overrides = new HashMap<>();
+        List<Long> seriesIds = series.stream().map(MeetSeries::getId).collect(Collectors.toList());
+        for (MeetSeriesOverride override : meetSeriesOverrideRepository.findBySeries_IdIn(seriesIds)) {
+            overrides.computeIfAbsent(override.getSeries().getId(), id -> new HashMap<>())
+                    .put(override.getOccurrenceDate(), override);
+        }
+        List<MeetOccurrenceResponse> occurrences = new ArrayList<>();
+        for (MeetSeries meetSeries : series) {
+            occurrences.addAll(expand(meetSeries, overrides.getOrDefault(meetSeries.getId(), Collections.emptyMap()),
+                    startDate, endDate));
+        }
+        occurrences.sort(Comparator.comparing(MeetOccurrenceResponse::getDate)
+                .thenComparing(MeetOccurrenceResponse::getStartTime));
+        return occurrences;
+    }
+
+    /**
+     * occurrences of one series between the dates, not sorted. the loop starts at the first occurrence
+     * in the range, the weeks before it are never visited
+     */
+    public static List<MeetOccurrenceResponse> expand(MeetSeries meetSeries, Map<LocalDate, MeetSeriesOverride> overrides,
+                                                      LocalDate startDate, LocalDate endDate) {
+        List<MeetOccurrenceResponse> occurrences = new ArrayList<>();
+        long step = meetSeries.getRecurrence().getWeeks() * 7L;
+        long daysBefore = Math.max(0, ChronoUnit.DAYS.between(meetSeries.getFirstDate(), startDate));
+        LocalDate last = endDate.isBefore(meetSeries.getUntilDate()) ? endDate : meetSeries.getUntilDate();
+        for (LocalDate date = meetSeries.getFirstDate().plusDays((daysBefore + step - 1) / step * step);
+             !date.isAfter(last); date = date.plusDays(step)) {
+            if (!overrides.containsKey(date)) {
+                occurrences.add(MeetOccurrenceResponse.builder()
+                        .seriesId(meetSeries.getId())
+                        .occurrenceDate(date)
+                        .date(date)
+                        .startTime(meetSeries.getStartTime())
+                        .stopTime(meetSeries.getStopTime())
+                        .description(meetSeries.getDescription())
+                        .build());
+            }
+        }
+        //moved occurrences are where they were moved to
+        for (MeetSeriesOverride override : overrides.values()) {
+            if (!override.isCancelled() && !override.getDate().isBefore(startDate) && !override.getDate().isAfter(endDate)) {
+                occurrences.add(mapOverrideToOccurrence(meetSeries, override));
+            }
+        }
+        return occurrences;
+    }
+
+    public static MeetOccurrenceResponse mapOverrideToOccurrence(MeetSeries meetSeries, MeetSeriesOverride override) {
+        return MeetOccurrenceResponse.builder()
+                .seriesId(meetSeries.getId())
+                .occurrenceDate(override.getOccurrenceDate())
+                .date(override.getDate())
+                .startTime(override.getStartTime())
+                .stopTime(override.getStopTime())
+                .description(meetSeries.getDescription())
+                .moved(true)
+                .build();
+    }
+}
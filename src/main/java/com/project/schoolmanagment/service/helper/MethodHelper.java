@@ -6,9 +6,13 @@ import com.project.schoolmanagment.exception.BadRequestException;
 import com.project.schoolmanagment.exception.ResourceNotFoundException;
 import com.project.schoolmanagment.payload.messages.ErrorMessages;
 import com.project.schoolmanagment.repository.user.UserRepository;
+import com.project.schoolmanagment.security.service.CurrentUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.HashSet;
+
 @Component
 @RequiredArgsConstructor
 public class MethodHelper {
@@ -39,6 +43,28 @@ public class MethodHelper {
         }
     }
 
+    public void checkAdvisor(CurrentUser currentUser){
+        if(!currentUser.isAdvisor()){
+            throw new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_ADVISOR_MESSAGE, currentUser.getId()));
+        }
+    }
+
+    /**
+     * lazy reference for relations, e.g. the teacher of a new student info, no query is run unless it is read
+     */
+    public User getUserReference(Long userId){
+        return userRepository.getReferenceById(userId);
+    }
+
+    /**
+     * makes a collection hibernate loaded hold exactly the wanted elements without replacing it,
+     * so only the join rows of the added and removed elements are written
+     */
+    public <T> void replaceElements(Collection<T> current, Collection<T> wanted){
+        current.retainAll(new HashSet<>(wanted));
+        current.addAll(wanted);
+    }
+
     public User isUserExistByUsername(String username){
         User user = userRepository.findByUsername(username);
         if(user==null){
@@ -0,0 +1,26 @@
+package com.project.schoolmanagment.service.helper;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class TransactionHelper {
+
+    /**
+     * in memory structures must not see the changes of a transaction that is rolled back
+     * @param action runs after commit, or immediately when there is no transaction
+     */
+    public void runAfterCommit(Runnable action){
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,82 @@
+package com.project.schoolmanagment.service.helper;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Postgres transaction ids. An in memory aggregate reads the snapshot together with its rows, an after commit
+ * change whose transaction is already in that snapshot is in the rows as well and must not be applied again.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionIds {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * id of the current write transaction, read once per transaction
+     */
+    public long current(){
+        Long id = (Long) TransactionSynchronizationManager.getResource(this);
+        if(id != null){
+            return id;
+        }
+        id = jdbcTemplate.queryForObject("SELECT txid_current()", Long.class);
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.bindResource(this, id);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TransactionIds.this);
+                }
+            });
+        }
+        return id;
+    }
+
+    /**
+     * snapshot of the current transaction, it is the snapshot of the later queries in a REPEATABLE READ transaction
+     */
+    public Snapshot snapshot(){
+        return Snapshot.parse(jdbcTemplate.queryForObject("SELECT txid_current_snapshot()::text", String.class));
+    }
+
+    public static class Snapshot {
+
+        private final long xmin;
+        private final long xmax;
+        //running when the snapshot was taken, between xmin and xmax
+        private final Set<Long> running;
+
+        private Snapshot(long xmin, long xmax, Set<Long> running) {
+            this.xmin = xmin;
+            this.xmax = xmax;
+            this.running = running;
+        }
+
+        //xmin:xmax:xip1,xip2,...
+        static Snapshot parse(String text){
+            String[] parts = text.split(":", -1);
+            Set<Long> running = new HashSet<>();
+            if(!parts[2].isEmpty()){
+                for (String id : parts[2].split(",")){
+                    running.add(Long.parseLong(id));
+                }
+            }
+            return new Snapshot(Long.parseLong(parts[0]), Long.parseLong(parts[1]), running);
+        }
+
+        /**
+         * @return true if the committed transaction is visible in the snapshot
+         */
+        public boolean contains(long transactionId){
+            return transactionId < xmin || transactionId < xmax && !running.contains(transactionId);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.project.schoolmanagment.service.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Sends plain text mails on its own thread, callers only put a mail into a bounded queue. The thread takes up to
+ * batch-size queued mails at once and sends them over one SMTP connection instead of connecting per mail.
+ * A mail that can not be sent is counted and logged, not retried.
+ * <p>
+ * spring.mail.host and spring.mail.port point to the SMTP server, e.g. MailHog on localhost:1025 for local tests.
+ */
+@Component
+@RequiredArgsConstructor
+public class BatchMailSender {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchMailSender.class);
+
+    private static final String SENT = "school.mail.sent";
+    private static final String FAILED = "school.mail.failed";
+    private static final String QUEUED = "school.mail.queued";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${spring.mail.host:localhost}")
+    private String host;
+    @Value("${spring.mail.port:25}")
+    private int port;
+    @Value("${spring.mail.username:}")
+    private String username;
+    @Value("${spring.mail.password:}")
+    private String password;
+    @Value("${mail.from:noreply@schoolmanagment.com}")
+    private String from;
+    @Value("${mail.batch-size:100}")
+    private int batchSize;
+    @Value("${mail.queue-capacity:100000}")
+    private int queueCapacity;
+    @Value("${mail.timeout-ms:10000}")
+    private long timeoutMillis;
+
+    private BlockingQueue<Mail> queue;
+    private Session session;
+    private Thread thread;
+    private Counter sent;
+    private Counter failed;
+
+    @PostConstruct
+    public void init(){
+        Properties properties = new Properties();
+        properties.put("mail.smtp.host", host);
+        properties.put("mail.smtp.port", String.valueOf(port));
+        properties.put("mail.smtp.auth", String.valueOf(!username.isEmpty()));
+        properties.put("mail.smtp.connectiontimeout", String.valueOf(timeoutMillis));
+        properties.put("mail.smtp.timeout", String.valueOf(timeoutMillis));
+        session = Session.getInstance(properties);
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        sent = meterRegistry.counter(SENT);
+        failed = meterRegistry.counter(FAILED);
+        Gauge.builder(QUEUED, this, sender -> sender.queue.size())
+                .description("mails waiting to be sent")
+                .register(meterRegistry);
+        thread = new Thread(this::drain, "mail-sender");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void shutdown(){
+        //queued mails are lost
+        thread.interrupt();
+    }
+
+    /**
+     * @return false when the queue is full and the mail is dropped
+     */
+    public boolean send(String to, String subject, String text) {
+        if (!queue.offer(new Mail(to, subject, text))) {
+            failed.increment();
+            LOGGER.warn("Mail queue is full, mail to {} dropped", to);
+            return false;
+        }
+        return true;
+    }
+
+    private void drain() {
+        List<Mail> batch = new ArrayList<>(batchSize);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                sendBatch(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void sendBatch(List<Mail> batch) {
+        Transport transport = null;
+        try {
+            transport = session.getTransport("smtp");
+            transport.connect(host, port, username.isEmpty() ? null : username, password.isEmpty() ? null : password);
+            for (Mail mail : batch) {
+                try {
+                    MimeMessage message = new MimeMessage(session);
+                    message.setFrom(new InternetAddress(from));
+                    message.setRecipient(Message.RecipientType.TO, new InternetAddress(mail.to));
+                    message.setSubject(mail.subject, StandardCharsets.UTF_8.name());
+                    message.setText(mail.text, StandardCharsets.UTF_8.name());
+                    transport.sendMessage(message, message.getAllRecipients());
+                    sent.increment();
+                } catch (MessagingException e) {
+                    //a bad address fails its own mail, the connection is used for the rest
+                    failed.increment();
+                    LOGGER.warn("Mail to {} failed: {}", mail.to, e.getMessage());
+                }
+            }
+        } catch (MessagingException e) {
+            failed.increment(batch.size());
+            LOGGER.error("SMTP server {}:{} not available, {} mails dropped", host, port, batch.size(), e);
+        } finally {
+            close(transport);
+        }
+    }
+
+    private static void close(Transport transport) {
+        if (transport == null || !transport.isConnected()) {
+            return;
+        }
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            LOGGER.warn("Closing the SMTP connection failed: {}", e.getMessage());
+        }
+    }
+
+    private static class Mail {
+
+        private final String to;
+        private final String subject;
+        private final String text;
+
+        private Mail(String to, String subject, String text) {
+            this.to = to;
+            this.subject = subject;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.project.schoolmanagment.service.registration;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Seats of one lesson program: taken seats and waitlist length, kept next to the DB and reset from it
+ * by the reconciliation. Reads never block, a seat is taken with a compare-and-set so the counter can not
+ * go over the capacity even when it is changed from more than one thread.
+ */
+public class SeatCounter {
+
+    private static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private final AtomicInteger taken = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private volatile int capacity = UNLIMITED;
+
+    /**
+     * @param capacity null for a program without seat limit
+     */
+    public void reset(Integer capacity, int taken, int waiting){
+        this.capacity = capacity == null ? UNLIMITED : capacity;
+        this.taken.set(taken);
+        this.waiting.set(waiting);
+    }
+
+    /**
+     * @return false when every seat is taken, nothing is changed then
+     */
+    public boolean tryAcquire(){
+        while (true) {
+            int current = taken.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (taken.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(){
+        //a drop the counter did not see, e.g. a registration of the old endpoint, is fixed by the next reconciliation
+        taken.updateAndGet(current -> Math.max(0, current - 1));
+    }
+
+    public void addWaiting(int delta){
+        waiting.updateAndGet(current -> Math.max(0, current + delta));
+    }
+
+    public int getTaken(){
+        return taken.get();
+    }
+
+    public int getWaiting(){
+        return waiting.get();
+    }
+
+    /**
+     * @return null for a program without seat limit
+     */
+    public Integer getCapacity(){
+        int current = capacity;
+        return current == UNLIMITED ? null : current;
+    }
+
+    public int getAvailable(){
+        int current = capacity;
+        return current == UNLIMITED ? UNLIMITED : Math.max(0, current - taken.get());
+    }
+}
@@ -0,0 +1,165 @@
+package com.project.schoolmanagment.service.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: a ring of buckets, one per tick. A timer goes to the bucket of its deadline tick modulo
+ * the ring size and keeps the number of full turns left until it is due. Every tick the worker thread looks at
+ * one bucket only, so scheduling, cancelling and expiring cost the same with ten or a million timers.
+ * <p>
+ * Timers are keyed, scheduling a key again replaces its timer. Only the worker touches the buckets, other
+ * threads queue new timers and mark cancelled ones, a cancelled timer is dropped when its bucket comes up.
+ * The keys due in a tick are handed to the expiry consumer together, on the worker thread.
+ */
+public class HashedTimingWheel<K> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HashedTimingWheel.class);
+
+    private final long tickMillis;
+    private final int mask;
+    //heads of singly linked lists
+    private final Timer<K>[] buckets;
+    //live timers, a key is removed when its timer is cancelled or expires
+    private final Map<K, Timer<K>> timers = new ConcurrentHashMap<>();
+    private final Queue<Timer<K>> added = new ConcurrentLinkedQueue<>();
+    private final Consumer<List<K>> expiry;
+    private final Thread worker;
+    private volatile boolean running;
+    private long startMillis;
+    //the tick the worker handles next
+    private long tick;
+
+    /**
+     * @param wheelSize buckets, rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(String name, long tickMillis, int wheelSize, Consumer<List<K>> expiry) {
+        int size = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.buckets = new Timer[size];
+        this.expiry = expiry;
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+    }
+
+    public void start() {
+        startMillis = System.currentTimeMillis();
+        running = true;
+        worker.start();
+    }
+
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    /**
+     * a deadline in the past expires with the next tick
+     */
+    public void schedule(K key, long deadlineMillis) {
+        Timer<K> timer = new Timer<>(key, deadlineMillis);
+        Timer<K> replaced = timers.put(key, timer);
+        if (replaced != null) {
+            replaced.cancelled = true;
+        }
+        added.add(timer);
+    }
+
+    public void cancel(K key) {
+        Timer<K> timer = timers.remove(key);
+        if (timer != null) {
+            timer.cancelled = true;
+        }
+    }
+
+    public int size() {
+        return timers.size();
+    }
+
+    private void run() {
+        while (running) {
+            long sleepMillis = startMillis + (tick + 1) * tickMillis - System.currentTimeMillis();
+            if (sleepMillis > 0) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    //stopped
+                    return;
+                }
+            }
+            transferAdded();
+            List<K> expired = expireBucket();
+            tick++;
+            if (!expired.isEmpty()) {
+                try {
+                    expiry.accept(expired);
+                } catch (RuntimeException e) {
+                    //the wheel keeps turning
+                    LOGGER.error("Expiry of {} timers failed", expired.size(), e);
+                }
+            }
+        }
+    }
+
+    private void transferAdded() {
+        for (Timer<K> timer = added.poll(); timer != null; timer = added.poll()) {
+            if (timer.cancelled) {
+                continue;
+            }
+            //processed at the end of its deadline tick, never early
+            long deadlineTick = Math.max((timer.deadlineMillis - startMillis) / tickMillis, tick);
+            timer.rounds = (deadlineTick - tick) / buckets.length;
+            int index = (int) (deadlineTick & mask);
+            timer.next = buckets[index];
+            buckets[index] = timer;
+        }
+    }
+
+    private List<K> expireBucket() {
+        int index = (int) (tick & mask);
+        List<K> expired = new ArrayList<>();
+        Timer<K> kept = null;
+        Timer<K> timer = buckets[index];
+        while (timer != null) {
+            Timer<K> next = timer.next;
+            if (timer.cancelled) {
+                //already removed from the map
+            } else if (timer.rounds > 0) {
+                timer.rounds--;
+                timer.next = kept;
+                kept = timer;
+            } else if (timers.remove(timer.key, timer)) {
+                expired.add(timer.key);
+            }
+            timer = next;
+        }
+        buckets[index] = kept;
+        return expired;
+    }
+
+    private static class Timer<K> {
+
+        private final K key;
+        private final long deadlineMillis;
+        private volatile boolean cancelled;
+        //only used by the worker
+        private long rounds;
+        private Timer<K> next;
+
+        private Timer(K key, long deadlineMillis) {
+            this.key = key;
+            this.deadlineMillis = deadlineMillis;
+        }
+    }
+}
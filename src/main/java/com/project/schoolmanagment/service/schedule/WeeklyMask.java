@@ -0,0 +1,72 @@
+package com.project.schoolmanagment.service.schedule;
+
+import com.project.schoolmanagment.entity.enums.Day;
+
+import java.time.LocalTime;
+
+/**
+ * Occupied minutes of a week as bits, minute m of day d is bit d * 1440 + m. Programs are stored with
+ * HH:mm times, so one bit per minute is exact and a stop time equal to the next start time does not overlap.
+ * <p>
+ * Only the words between the first and the last occupied minute are kept: a 90 minute lesson program needs two
+ * or three longs, depending on where it starts in a word, a student's whole week 158. Two masks intersect when
+ * one of their shared words has a common bit.
+ */
+public final class WeeklyMask {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int WORDS_PER_WEEK = (Day.values().length * MINUTES_PER_DAY + Long.SIZE - 1) / Long.SIZE;
+
+    //week index of words[0]
+    private final int offset;
+    private final long[] words;
+
+    private WeeklyMask(int offset, long[] words) {
+        this.offset = offset;
+        this.words = words;
+    }
+
+    /**
+     * a mask of the whole week to add programs to
+     */
+    public static WeeklyMask emptyWeek() {
+        return new WeeklyMask(0, new long[WORDS_PER_WEEK]);
+    }
+
+    /**
+     * the minutes from start, inclusive, to stop, exclusive
+     */
+    public static WeeklyMask of(Day day, LocalTime start, LocalTime stop) {
+        int from = day.ordinal() * MINUTES_PER_DAY + start.getHour() * 60 + start.getMinute();
+        int to = day.ordinal() * MINUTES_PER_DAY + stop.getHour() * 60 + stop.getMinute();
+        if (to <= from) {
+            return new WeeklyMask(0, new long[0]);
+        }
+        int firstWord = from / Long.SIZE;
+        long[] words = new long[(to - 1) / Long.SIZE - firstWord + 1];
+        for (int minute = from; minute < to; minute++) {
+            words[minute / Long.SIZE - firstWord] |= 1L << (minute % Long.SIZE);
+        }
+        return new WeeklyMask(firstWord, words);
+    }
+
+    /**
+     * only on a mask made by emptyWeek
+     */
+    public void add(WeeklyMask other) {
+        for (int i = 0; i < other.words.length; i++) {
+            words[other.offset + i - offset] |= other.words[i];
+        }
+    }
+
+    public boolean intersects(WeeklyMask other) {
+        int from = Math.max(offset, other.offset);
+        int to = Math.min(offset + words.length, other.offset + other.words.length);
+        for (int word = from; word < to; word++) {
+            if ((words[word - offset] & other.words[word - other.offset]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,108 @@
+package com.project.schoolmanagment.service.statistics;
+
+import com.project.schoolmanagment.entity.enums.Note;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Running aggregate of exam averages: count per letter grade, first two moments and a histogram sketch.
+ * Exam averages are bounded to [0, 100], so a fixed histogram with one bucket per 0.1 point is used as the
+ * quantile sketch. Unlike sampling sketches it supports removing a value, and two sketches merge by adding buckets.
+ */
+public class GradeDistribution {
+
+    private static final int BUCKETS_PER_POINT = 10;
+    private static final int BUCKET_COUNT = 100 * BUCKETS_PER_POINT + 1;
+
+    private final long[] noteCounts = new long[Note.values().length];
+    private final long[] buckets = new long[BUCKET_COUNT];
+    private long count;
+    private double sum;
+    private double sumOfSquares;
+
+    /**
+     * @param weight 1 to add the grade, -1 to take it back
+     */
+    public synchronized void add(double average, Note note, int weight){
+        count += weight;
+        sum += weight * average;
+        sumOfSquares += weight * average * average;
+        buckets[toBucket(average)] += weight;
+        if(note != null){
+            noteCounts[note.ordinal()] += weight;
+        }
+    }
+
+    public synchronized void merge(GradeDistribution other){
+        GradeDistribution snapshot = other.copy();
+        count += snapshot.count;
+        sum += snapshot.sum;
+        sumOfSquares += snapshot.sumOfSquares;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] += snapshot.buckets[i];
+        }
+        for (int i = 0; i < noteCounts.length; i++) {
+            noteCounts[i] += snapshot.noteCounts[i];
+        }
+    }
+
+    public synchronized GradeDistribution copy(){
+        GradeDistribution copy = new GradeDistribution();
+        copy.count = count;
+        copy.sum = sum;
+        copy.sumOfSquares = sumOfSquares;
+        System.arraycopy(buckets, 0, copy.buckets, 0, BUCKET_COUNT);
+        System.arraycopy(noteCounts, 0, copy.noteCounts, 0, noteCounts.length);
+        return copy;
+    }
+
+    public synchronized long getCount(){
+        return count;
+    }
+
+    public synchronized double getMean(){
+        return count == 0 ? 0.0 : sum / count;
+    }
+
+    //population standard deviation
+    public synchronized double getStandardDeviation(){
+        if(count == 0){
+            return 0.0;
+        }
+        double mean = sum / count;
+        return Math.sqrt(Math.max(0.0, sumOfSquares / count - mean * mean));
+    }
+
+    /**
+     * nearest rank quantile, exact up to the bucket width of 0.1 point
+     * @param quantile between 0 and 1, 0.5 is the median
+     */
+    public synchronized double getQuantile(double quantile){
+        if(count == 0){
+            return 0.0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets[i];
+            if(seen >= rank){
+                return (double) i / BUCKETS_PER_POINT;
+            }
+        }
+        return 100.0;
+    }
+
+    public synchronized Map<Note, Long> getNoteCounts(){
+        Map<Note, Long> counts = new EnumMap<>(Note.class);
+        for (Note note : Note.values()){
+            counts.put(note, noteCounts[note.ordinal()]);
+        }
+        return counts;
+    }
+
+    private static int toBucket(double average){
+        int bucket = (int) Math.round(average * BUCKETS_PER_POINT);
+        return Math.min(BUCKET_COUNT - 1, Math.max(0, bucket));
+    }
+}
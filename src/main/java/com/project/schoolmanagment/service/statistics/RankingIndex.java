@@ -0,0 +1,127 @@
+package com.project.schoolmanagment.service.statistics;
+
+import java.util.*;
+
+/**
+ * Order statistics over bounded scores. Scores are bucketed and a Fenwick tree keeps the count per bucket,
+ * so rank and percentile of a member are O(log buckets). Members of each bucket are kept in a sorted map
+ * to answer top N queries in O(log buckets + N).
+ */
+public class RankingIndex {
+
+    private final int bucketsPerPoint;
+    private final int bucketCount;
+    //1 based Fenwick tree over bucket counts
+    private final int[] tree;
+    private final Map<Long, Integer> memberBuckets = new HashMap<>();
+    private final NavigableMap<Integer, Set<Long>> bucketMembers = new TreeMap<>();
+
+    /**
+     * @param maxScore scores are in [0, maxScore]
+     * @param bucketsPerPoint resolution, scores in the same bucket share their rank
+     */
+    public RankingIndex(int maxScore, int bucketsPerPoint) {
+        this.bucketsPerPoint = bucketsPerPoint;
+        this.bucketCount = maxScore * bucketsPerPoint + 1;
+        this.tree = new int[bucketCount + 1];
+    }
+
+    public synchronized void put(Long memberId, double score){
+        remove(memberId);
+        int bucket = toBucket(score);
+        memberBuckets.put(memberId, bucket);
+        bucketMembers.computeIfAbsent(bucket, b -> new HashSet<>()).add(memberId);
+        update(bucket, 1);
+    }
+
+    public synchronized void remove(Long memberId){
+        Integer bucket = memberBuckets.remove(memberId);
+        if(bucket == null){
+            return;
+        }
+        Set<Long> members = bucketMembers.get(bucket);
+        members.remove(memberId);
+        if(members.isEmpty()){
+            bucketMembers.remove(bucket);
+        }
+        update(bucket, -1);
+    }
+
+    public synchronized void clear(){
+        Arrays.fill(tree, 0);
+        memberBuckets.clear();
+        bucketMembers.clear();
+    }
+
+    public synchronized int size(){
+        return memberBuckets.size();
+    }
+
+    public synchronized boolean contains(Long memberId){
+        return memberBuckets.containsKey(memberId);
+    }
+
+    /**
+     * competition ranking, members with the same score share the rank
+     * @return 1 for the best member, 0 if the member is not ranked
+     */
+    public synchronized int rank(Long memberId){
+        Integer bucket = memberBuckets.get(memberId);
+        if(bucket == null){
+            return 0;
+        }
+        return memberBuckets.size() - prefixCount(bucket) + 1;
+    }
+
+    /**
+     * @return percentage of members with a score lower than or equal to the member's score
+     */
+    public synchronized double percentile(Long memberId){
+        Integer bucket = memberBuckets.get(memberId);
+        if(bucket == null){
+            return 0.0;
+        }
+        return 100.0 * prefixCount(bucket) / memberBuckets.size();
+    }
+
+    public synchronized double score(Long memberId){
+        Integer bucket = memberBuckets.get(memberId);
+        return bucket == null ? 0.0 : (double) bucket / bucketsPerPoint;
+    }
+
+    /**
+     * @return at most size member ids, best score first
+     */
+    public synchronized List<Long> top(int size){
+        List<Long> top = new ArrayList<>(Math.max(0, Math.min(size, memberBuckets.size())));
+        for (Set<Long> members : bucketMembers.descendingMap().values()){
+            for (Long memberId : members){
+                if(top.size() >= size){
+                    return top;
+                }
+                top.add(memberId);
+            }
+        }
+        return top;
+    }
+
+    private int toBucket(double score){
+        int bucket = (int) Math.round(score * bucketsPerPoint);
+        return Math.min(bucketCount - 1, Math.max(0, bucket));
+    }
+
+    private void update(int bucket, int delta){
+        for (int i = bucket + 1; i <= bucketCount; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    //number of members in buckets 0..bucket
+    private int prefixCount(int bucket){
+        int count = 0;
+        for (int i = bucket + 1; i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+}
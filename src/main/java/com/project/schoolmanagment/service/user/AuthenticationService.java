@@ -20,6 +20,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.Optional;
@@ -27,6 +28,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class AuthenticationService {
 
@@ -72,6 +74,7 @@ public class AuthenticationService {
         return ResponseEntity.ok(loginResponseBuilder.build());
     }
 
+    @Transactional
     public void updatePassword(PasswordUpdateRequest passwordUpdateRequest, HttpServletRequest request) {
         String userName = (String) request.getAttribute("username");
         User user = userRepository.findByUsername(userName);
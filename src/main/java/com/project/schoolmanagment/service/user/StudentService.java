@@ -2,15 +2,21 @@ package com.project.schoolmanagment.service.user;
 
 import com.project.schoolmanagment.entity.concretes.business.LessonProgram;
 import com.project.schoolmanagment.entity.concretes.user.User;
+import com.project.schoolmanagment.entity.concretes.user.UserRole;
 import com.project.schoolmanagment.entity.enums.RoleType;
+import com.project.schoolmanagment.exception.BadRequestException;
 import com.project.schoolmanagment.payload.mappers.UserMapper;
+import com.project.schoolmanagment.payload.messages.ErrorMessages;
 import com.project.schoolmanagment.payload.messages.SuccessMessages;
 import com.project.schoolmanagment.payload.request.user.ChooseLessonProgramWithId;
 import com.project.schoolmanagment.payload.request.user.StudentRequest;
 import com.project.schoolmanagment.payload.request.user.StudentRequestWithoutPassword;
+import com.project.schoolmanagment.payload.request.user.StudentStatusRequest;
 import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
 import com.project.schoolmanagment.payload.response.user.StudentResponse;
+import com.project.schoolmanagment.repository.business.ScheduleVersionRepository;
 import com.project.schoolmanagment.repository.user.UserRepository;
+import com.project.schoolmanagment.security.service.CurrentUser;
 import com.project.schoolmanagment.service.business.LessonProgramService;
 import com.project.schoolmanagment.service.helper.MethodHelper;
 import com.project.schoolmanagment.service.helper.PageableHelper;
@@ -21,15 +27,19 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.Collections;
 import java.util.Set;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class StudentService {
 
     private final UserRepository userRepository;
+    private final ScheduleVersionRepository scheduleVersionRepository;
     private final MethodHelper methodHelper;
     private final UniquePropertyValidator uniquePropertyValidator;
     private final UserMapper userMapper;
@@ -38,7 +48,9 @@ public class StudentService {
     private final LessonProgramService lessonProgramService;
     private final DateTimeValidator dateTimeValidator;
     private final PageableHelper pageableHelper;
+    private final CurrentUser currentUser;
 
+    @Transactional
     public ResponseMessage<StudentResponse> saveStudent(StudentRequest studentRequest) {
         //check DB to see if the (user) advisor exist
         User advisorTeacher = methodHelper.isUserExist(studentRequest.getAdvisorTeacherId());
@@ -51,7 +63,7 @@ public class StudentService {
                                                 studentRequest.getEmail());
         //mapping to domain entity
         User student = userMapper.mapStudentRequestToUser(studentRequest);
-        student.setAdvisorTeacherId(advisorTeacher.getAdvisorTeacherId());
+        student.setAdvisorTeacherId(advisorTeacher.getId());
         student.setPassword(passwordEncoder.encode(studentRequest.getPassword()));
         student.setUserRole(userRoleService.getUserRole(RoleType.STUDENT));
         student.setActive(true);
@@ -74,10 +86,10 @@ public class StudentService {
         return userRepository.getMaxStudentNumber() + 1;
     }
 
+    @Transactional
     public ResponseEntity<String> updateStudentWithoutPassword(StudentRequestWithoutPassword studentRequestWithoutPassword, HttpServletRequest request) {
-        String userName = (String) request.getAttribute("username");
-        //fetch user information from DB
-        User student = userRepository.findByUsername(userName);
+        //fetch user information from DB by the id the token filter already resolved
+        User student = methodHelper.isUserExist(currentUser.getId());
         //validate props for uniqueness
         uniquePropertyValidator.checkUniqueProperties(student, studentRequestWithoutPassword);
         //ordinary way of mapping
@@ -97,6 +109,7 @@ public class StudentService {
         return ResponseEntity.ok(SuccessMessages.STUDENT_UPDATE);
     }
 
+    @Transactional
     public ResponseMessage<StudentResponse> updateStudentForManagers(Long id, StudentRequest studentRequest) {
         //validate if we have this id in DB
         User student = methodHelper.isUserExist(id);
@@ -104,24 +117,25 @@ public class StudentService {
         methodHelper.checkRole(student, RoleType.STUDENT);
         //validate unique properties
         uniquePropertyValidator.checkUniqueProperties(student, studentRequest);
-        //map DTO to user
-        User studentFromMapper = userMapper.mapStudentRequestToUpdatedUser(studentRequest, id);
-        //mapping the rest of the properties
-        studentFromMapper.setPassword(passwordEncoder.encode(studentRequest.getPassword()));
-        studentFromMapper.setAdvisorTeacherId(studentRequest.getAdvisorTeacherId());
-        //we do not let the user to update student number as we do not have this prop in studentRequest DTO
-        studentFromMapper.setStudentNumber(student.getStudentNumber());
-        studentFromMapper.setUserRole(userRoleService.getUserRole(RoleType.STUDENT));
-        studentFromMapper.setActive(true);
+        //changed on the managed user, student number and lesson programs stay, only the changed columns are written
+        userMapper.mapStudentRequestToUpdatedUser(studentRequest, student);
+        //a new hash of the same password would rewrite the column on every update
+        if(!passwordEncoder.matches(studentRequest.getPassword(), student.getPassword())){
+            student.setPassword(passwordEncoder.encode(studentRequest.getPassword()));
+        }
+        student.setAdvisorTeacherId(studentRequest.getAdvisorTeacherId());
+        student.setActive(true);
 
         return ResponseMessage.<StudentResponse>builder()
-                .object(userMapper.mapUserToStudentResponse(userRepository.save(studentFromMapper)))
+                .object(userMapper.mapUserToStudentResponse(student))
                 .message(SuccessMessages.STUDENT_UPDATE)
                 .httpStatus(HttpStatus.OK)
                 .build();
     }
+    @Transactional
     public ResponseMessage<StudentResponse> addLessonProgram(HttpServletRequest request, ChooseLessonProgramWithId chooseLessonProgramWithId) {
-        User student = methodHelper.isUserExistByUsername((String) request.getAttribute("username"));
+        //lazy reference, the lesson programs below are the first read
+        User student = methodHelper.getUserReference(currentUser.getId());
 
         Set<LessonProgram> lessonProgramSet = lessonProgramService.getLessonProgramById(chooseLessonProgramWithId.getLessonProgramId());
 
@@ -133,6 +147,7 @@ public class StudentService {
         student.setLessonProgramList(lessonProgramsFromUserDb);
 
         User updatedUser = userRepository.save(student);
+        scheduleVersionRepository.bumpUsers(Collections.singleton(currentUser.getId()));
 
         return ResponseMessage.<StudentResponse>builder()
                 .message(SuccessMessages.LESSON_PROGRAM_ADD_TO_STUDENT)
@@ -141,6 +156,7 @@ public class StudentService {
                 .build();
     }
 
+    @Transactional
     public ResponseMessage changeStatusOfStudent(Long id, boolean status) {
         User student = methodHelper.isUserExist(id);
         methodHelper.checkRole(student, RoleType.STUDENT);
@@ -152,4 +168,32 @@ public class StudentService {
                 .httpStatus(HttpStatus.OK)
                 .build();
     }
+
+    /**
+     * one UPDATE for all the selected students, only the ones whose status really changes are counted
+     */
+    @Transactional
+    public ResponseMessage<Integer> changeStatusOfStudents(StudentStatusRequest studentStatusRequest) {
+        boolean byIds = studentStatusRequest.getStudentIds() != null && !studentStatusRequest.getStudentIds().isEmpty();
+        boolean byAdvisor = studentStatusRequest.getAdvisorTeacherId() != null;
+        boolean byEducationTerm = studentStatusRequest.getEducationTermId() != null;
+        if((byIds ? 1 : 0) + (byAdvisor ? 1 : 0) + (byEducationTerm ? 1 : 0) != 1){
+            throw new BadRequestException(ErrorMessages.STUDENT_STATUS_SELECTION_NOT_VALID);
+        }
+        UserRole studentRole = userRoleService.getUserRole(RoleType.STUDENT);
+        boolean status = studentStatusRequest.getStatus();
+        int affectedRows;
+        if(byIds){
+            affectedRows = userRepository.updateStatusByIds(studentStatusRequest.getStudentIds(), studentRole, status);
+        } else if(byAdvisor){
+            affectedRows = userRepository.updateStatusByAdvisor(studentStatusRequest.getAdvisorTeacherId(), studentRole, status);
+        } else {
+            affectedRows = userRepository.updateStatusByEducationTerm(studentStatusRequest.getEducationTermId(), studentRole, status);
+        }
+        return ResponseMessage.<Integer>builder()
+                .message(String.format(SuccessMessages.STUDENT_STATUS_CHANGE, affectedRows, status ? "active" : "passive"))
+                .object(affectedRows)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
 }
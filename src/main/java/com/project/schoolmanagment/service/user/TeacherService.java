@@ -12,6 +12,7 @@ import com.project.schoolmanagment.payload.request.user.TeacherRequest;
 import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
 import com.project.schoolmanagment.payload.response.user.TeacherResponse;
 import com.project.schoolmanagment.payload.response.user.UserResponse;
+import com.project.schoolmanagment.repository.business.ScheduleVersionRepository;
 import com.project.schoolmanagment.repository.user.UserRepository;
 import com.project.schoolmanagment.service.business.LessonProgramService;
 import com.project.schoolmanagment.service.helper.MethodHelper;
@@ -21,17 +22,21 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class TeacherService {
 
     private final UserRepository userRepository;
+    private final ScheduleVersionRepository scheduleVersionRepository;
     private final UserRoleService userRoleService;
     private final LessonProgramService lessonProgramService;
     private final UniquePropertyValidator uniquePropertyValidator;
@@ -40,6 +45,7 @@ public class TeacherService {
     private final MethodHelper methodHelper;
     private final DateTimeValidator dateTimeValidator;
 
+    @Transactional
     public ResponseMessage<TeacherResponse> saveTeacher(TeacherRequest teacherRequest) {
         //validate lesson program set
         Set<LessonProgram> lessonProgramSet = lessonProgramService.getLessonProgramById(teacherRequest.getLessonProgramIdList());
@@ -66,6 +72,7 @@ public class TeacherService {
                 .build();
     }
 
+    @Transactional
     public ResponseMessage<TeacherResponse> updateTeacherForManagers(TeacherRequest teacherRequest, Long userId) {
         //validate if this user exist
         User user = methodHelper.isUserExist(userId);
@@ -74,20 +81,22 @@ public class TeacherService {
         Set<LessonProgram> lessonPrograms = lessonProgramService.getLessonProgramById(teacherRequest.getLessonProgramIdList());
         //validate unique properties
         uniquePropertyValidator.checkUniqueProperties(user, teacherRequest);
-        User updatedTeacher = userMapper.mapTeacherRequestToUser(teacherRequest);
-        //Setting the missing properties
-        updatedTeacher.setId(user.getId());
-        updatedTeacher.setPassword(passwordEncoder.encode(teacherRequest.getPassword()));
-        updatedTeacher.setLessonProgramList(lessonPrograms);
-        updatedTeacher.setUserRole(userRoleService.getUserRole(RoleType.TEACHER));
-        User savedTeacher = userRepository.save(updatedTeacher);
+        //changed on the managed user, only the changed columns and lesson program rows are written
+        userMapper.mapTeacherRequestToUpdatedUser(teacherRequest, user);
+        //a new hash of the same password would rewrite the column on every update
+        if(!passwordEncoder.matches(teacherRequest.getPassword(), user.getPassword())){
+            user.setPassword(passwordEncoder.encode(teacherRequest.getPassword()));
+        }
+        methodHelper.replaceElements(user.getLessonProgramList(), lessonPrograms);
+        scheduleVersionRepository.bumpUsers(Collections.singleton(userId));
         return ResponseMessage.<TeacherResponse>builder()
                 .message(SuccessMessages.TEACHER_UPDATE)
-                .object(userMapper.mapUserToTeacherResponse(savedTeacher))
+                .object(userMapper.mapUserToTeacherResponse(user))
                 .httpStatus(HttpStatus.OK)
                 .build();
     }
 
+    @Transactional
     public ResponseMessage<TeacherResponse> addLessonProgram(ChooseLessonTeacherRequest teacherRequest) {
         //validate if teacher exists
         User teacher = methodHelper.isUserExist(teacherRequest.getTeacherId());
@@ -109,6 +118,7 @@ public class TeacherService {
 
 
         User updatedTeacher = userRepository.save(teacher);
+        scheduleVersionRepository.bumpUsers(Collections.singleton(teacher.getId()));
 
         return ResponseMessage.<TeacherResponse>builder()
                 .message(SuccessMessages.LESSON_PROGRAM_ADD_TO_TEACHER)
@@ -124,6 +134,7 @@ public class TeacherService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public ResponseMessage<UserResponse> deleteAdvisorTeacherById(Long id) {
         //Is user exist
         User teacher = methodHelper.isUserExist(id);
@@ -133,12 +144,8 @@ public class TeacherService {
         methodHelper.checkAdvisor(teacher);
 
         teacher.setIsAdvisor(false);
-        userRepository.save(teacher);
-        List<User> allStudents = userRepository.findByAdvisorTeacherId(id);
-        //We need to set the deleted advisor teacher info from the students
-        if(!allStudents.isEmpty()){
-            allStudents.forEach(student ->student.setAdvisorTeacherId(null));
-        }
+        //flushed together with the flag above, the students are cleared by one UPDATE without loading them
+        userRepository.updateAdvisorTeacherId(id, null);
 
         return ResponseMessage.<UserResponse>builder()
                 .message(SuccessMessages.ADVISOR_TEACHER_DELETE)
@@ -146,4 +153,27 @@ public class TeacherService {
                 .httpStatus(HttpStatus.OK)
                 .build();
     }
+
+    /**
+     * moves every student of an advisor to another advisor with one UPDATE, clears their advisor when
+     * newAdvisorId is null; the advisor itself stays an advisor
+     */
+    @Transactional
+    public ResponseMessage<Integer> reassignAdvisees(Long id, Long newAdvisorId) {
+        User teacher = methodHelper.isUserExist(id);
+        methodHelper.checkRole(teacher, RoleType.TEACHER);
+        if(newAdvisorId != null){
+            User newAdvisor = methodHelper.isUserExist(newAdvisorId);
+            methodHelper.checkRole(newAdvisor, RoleType.TEACHER);
+            methodHelper.checkAdvisor(newAdvisor);
+        }
+        int affectedRows = userRepository.updateAdvisorTeacherId(id, newAdvisorId);
+        return ResponseMessage.<Integer>builder()
+                .message(newAdvisorId == null ?
+                        String.format(SuccessMessages.ADVISOR_TEACHER_STUDENTS_CLEAR, affectedRows) :
+                        String.format(SuccessMessages.ADVISOR_TEACHER_STUDENTS_REASSIGN, affectedRows, newAdvisorId))
+                .object(affectedRows)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
 }
@@ -12,6 +12,7 @@ import com.project.schoolmanagment.payload.response.abstracts.BaseUserResponse;
 import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
 import com.project.schoolmanagment.payload.response.user.UserResponse;
 import com.project.schoolmanagment.repository.user.UserRepository;
+import com.project.schoolmanagment.security.service.CurrentUser;
 import com.project.schoolmanagment.service.helper.MethodHelper;
 import com.project.schoolmanagment.service.helper.PageableHelper;
 import com.project.schoolmanagment.service.validator.UniquePropertyValidator;
@@ -22,6 +23,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.List;
@@ -29,6 +31,7 @@ import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class UserService {
 
@@ -41,7 +44,9 @@ public class UserService {
 
     //This prop. should be used after security dependency usage
     private final PasswordEncoder passwordEncoder;
+    private final CurrentUser currentUser;
 
+    @Transactional
     public ResponseMessage<UserResponse>saveUser(UserRequest userRequest, String userRole){
         // Handle uniqueness exceptions
         uniquePropertyValidator.checkDuplicate(
@@ -119,10 +124,9 @@ public class UserService {
     }
 
     // Normally, we should return String not Response Entity. Response Entity class should be created in controller layer.
+    @Transactional
     public ResponseEntity<String> updateUserForUsers(UserRequestWithoutPassword userRequestWithoutPassword, HttpServletRequest request) {
-        String userName = (String) request.getAttribute("userName");
-
-        User user = userRepository.findByUsername(userName);
+        User user = methodHelper.isUserExist(currentUser.getId());
 
         // We need to check if this user can be changed
         methodHelper.isUserBuiltIn(user);
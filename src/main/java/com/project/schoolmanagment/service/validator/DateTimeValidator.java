@@ -1,13 +1,17 @@
 package com.project.schoolmanagment.service.validator;
 
 import com.project.schoolmanagment.entity.concretes.business.LessonProgram;
+import com.project.schoolmanagment.entity.concretes.business.Meet;
 import com.project.schoolmanagment.exception.BadRequestException;
+import com.project.schoolmanagment.exception.ConflictException;
 import com.project.schoolmanagment.exception.ResourceNotFoundException;
 import com.project.schoolmanagment.payload.messages.ErrorMessages;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 @Component
@@ -57,4 +61,19 @@ public class DateTimeValidator {
             existingLessonProgramStopTimes.add(lessonProgram.getStopTime());
         }
     }
+
+    //validate a new meeting against the existing meetings of a user
+    public void checkMeetingConflicts(List<Meet> meets, LocalDate date, LocalTime startTime, LocalTime stopTime){
+        for (Meet meet : meets) {
+            LocalTime existingStartTime = meet.getStartTime();
+            LocalTime existingStopTime = meet.getStopTime();
+
+            //half open intervals overlap, a meeting may start when the other one stops
+            if (meet.getDate().equals(date)
+                    && startTime.isBefore(existingStopTime) && stopTime.isAfter(existingStartTime)) {
+
+                throw new ConflictException(ErrorMessages.MEET_HOURS_CONFLICT);
+            }
+        }
+    }
 }